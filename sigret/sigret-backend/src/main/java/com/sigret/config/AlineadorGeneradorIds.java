@@ -0,0 +1,72 @@
+package com.sigret.config;
+
+import com.sigret.entities.GeneradorIds;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Mantiene la tabla del generador de ids (GeneradorIds) por delante de los ids ya usados.
+ * Al arrancar (después de que Hibernate actualiza el esquema y antes del DataLoader y de la primera
+ * petición) lleva cada segmento a MAX(id) + ASIGNACION, así una base que venía de IDENTITY o filas
+ * insertadas por fuera de Hibernate no chocan con el próximo bloque de ids.
+ */
+@Component
+@Slf4j
+public class AlineadorGeneradorIds {
+
+    // segmento (pkColumnValue) -> columna id de la tabla del mismo nombre
+    static final Map<String, String> SEGMENTOS = Map.of(
+            "notificaciones", "id_notificacion",
+            "detalle_presupuestos", "id_detalle_presupuesto",
+            "detalle_ordenes_trabajo", "id_detalle_orden_trabajo",
+            "detalle_servicios", "id_detalle_servicio",
+            "contactos", "id_contacto",
+            "direcciones", "id_direccion"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Solo para asegurar que el esquema (incluida la tabla del generador) ya existe
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void alinear() {
+        SEGMENTOS.forEach((tabla, columnaId) -> jdbcTemplate.update(
+                "INSERT INTO " + GeneradorIds.TABLA + " (" + GeneradorIds.COLUMNA_ENTIDAD + ", " + GeneradorIds.COLUMNA_VALOR + ") " +
+                        "SELECT ?, COALESCE(MAX(" + columnaId + "), 0) + ? FROM " + tabla + " " +
+                        "ON DUPLICATE KEY UPDATE " + GeneradorIds.COLUMNA_VALOR + " = GREATEST(" + GeneradorIds.COLUMNA_VALOR +
+                        ", VALUES(" + GeneradorIds.COLUMNA_VALOR + "))",
+                tabla, GeneradorIds.ASIGNACION));
+        log.debug("Generador de ids alineado para {} segmentos", SEGMENTOS.size());
+    }
+
+    /**
+     * Reserva un rango de ids para inserciones por JDBC (ej: carga sintética) sin pisar los bloques
+     * que Hibernate entrega a partir de la misma tabla.
+     * @return el primer id del rango [inicio, inicio + cantidad)
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reservar(String segmento, int cantidad) {
+        Long valor = jdbcTemplate.queryForObject(
+                "SELECT " + GeneradorIds.COLUMNA_VALOR + " FROM " + GeneradorIds.TABLA +
+                        " WHERE " + GeneradorIds.COLUMNA_ENTIDAD + " = ? FOR UPDATE", Long.class, segmento);
+
+        // Con el optimizador pooled el valor guardado es el tope del próximo bloque de Hibernate, [valor - 49, valor].
+        // El rango queda a salvo porque la fila se reescribe: el bloque siguiente empieza después de inicio + cantidad
+        long inicio = valor + 1;
+        jdbcTemplate.update(
+                "UPDATE " + GeneradorIds.TABLA + " SET " + GeneradorIds.COLUMNA_VALOR + " = ? WHERE " + GeneradorIds.COLUMNA_ENTIDAD + " = ?",
+                inicio + cantidad + GeneradorIds.ASIGNACION, segmento);
+        return inicio;
+    }
+}
@@ -0,0 +1,82 @@
+package com.sigret.config;
+
+import com.sigret.enums.EstadoServicio;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "sigret.archivo")
+public class ArchivoProperties {
+
+    private Boolean habilitado = false;
+    private Integer edadMinimaDias = 365;
+    private List<EstadoServicio> estados = new ArrayList<>(List.of(
+            EstadoServicio.FINALIZADO, EstadoServicio.RECHAZADO, EstadoServicio.GARANTIA_RECHAZADA));
+    private Integer tamanioLote = 200;
+    private Integer maximoLotesPorPasada = 500;
+    private Integer diasTrasRestaurar = 30;
+    private String cron = "0 30 3 * * *";
+
+    // Constructors
+    public ArchivoProperties() {}
+
+    // Getters and Setters
+    public Boolean getHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(Boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public Integer getEdadMinimaDias() {
+        return edadMinimaDias;
+    }
+
+    public void setEdadMinimaDias(Integer edadMinimaDias) {
+        this.edadMinimaDias = edadMinimaDias;
+    }
+
+    public List<EstadoServicio> getEstados() {
+        return estados;
+    }
+
+    public void setEstados(List<EstadoServicio> estados) {
+        this.estados = estados;
+    }
+
+    public Integer getTamanioLote() {
+        return tamanioLote;
+    }
+
+    public void setTamanioLote(Integer tamanioLote) {
+        this.tamanioLote = tamanioLote;
+    }
+
+    public Integer getMaximoLotesPorPasada() {
+        return maximoLotesPorPasada;
+    }
+
+    public void setMaximoLotesPorPasada(Integer maximoLotesPorPasada) {
+        this.maximoLotesPorPasada = maximoLotesPorPasada;
+    }
+
+    public Integer getDiasTrasRestaurar() {
+        return diasTrasRestaurar;
+    }
+
+    public void setDiasTrasRestaurar(Integer diasTrasRestaurar) {
+        this.diasTrasRestaurar = diasTrasRestaurar;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+}
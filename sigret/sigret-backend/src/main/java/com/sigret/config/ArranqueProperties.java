@@ -0,0 +1,32 @@
+package com.sigret.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sigret.arranque")
+public class ArranqueProperties {
+
+    private Boolean datosIniciales = true;
+    private Boolean medirPrimeraPeticion = true;
+
+    // Constructors
+    public ArranqueProperties() {}
+
+    // Getters and Setters
+    public Boolean getDatosIniciales() {
+        return datosIniciales;
+    }
+
+    public void setDatosIniciales(Boolean datosIniciales) {
+        this.datosIniciales = datosIniciales;
+    }
+
+    public Boolean getMedirPrimeraPeticion() {
+        return medirPrimeraPeticion;
+    }
+
+    public void setMedirPrimeraPeticion(Boolean medirPrimeraPeticion) {
+        this.medirPrimeraPeticion = medirPrimeraPeticion;
+    }
+}
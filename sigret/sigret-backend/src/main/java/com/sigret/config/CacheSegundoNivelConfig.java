@@ -0,0 +1,115 @@
+package com.sigret.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.sigret.entities.RegionesCache;
+import com.sigret.enums.ModoCacheSegundoNivel;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de segundo nivel de Hibernate (JCache) para las entidades de RegionesCache y las consultas
+ * marcadas como cacheables en los repositorios de catálogos.
+ * LOCAL: Caffeine dentro de la JVM, con límite de entradas y expiración por región. Solo es seguro con
+ * una instancia: con el broker WebSocket en modo RELAY o sigret.pool-conexiones.instancias > 1 el cache
+ * se desactiva.
+ * CLUSTER: proveedor JCache distribuido (Hazelcast, Infinispan, ...) configurado en su propio archivo
+ * (sigret.cache-l2.uri) en modo replicado o de invalidación; las regiones usan READ_WRITE, que funciona
+ * con ambos. La región de timestamps de consultas nunca expira para no devolver resultados viejos.
+ * Las estadísticas por región salen en /actuator/prometheus (hibernate.second.level.cache.*).
+ */
+@Configuration
+@Slf4j
+public class CacheSegundoNivelConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivel(CacheSegundoNivelProperties properties,
+                                                           WebSocketProperties webSocketProperties,
+                                                           PoolConexionesProperties poolConexionesProperties) {
+        return hibernateProperties -> configurar(hibernateProperties, properties, webSocketProperties, poolConexionesProperties);
+    }
+
+    static void configurar(Map<String, Object> hibernateProperties, CacheSegundoNivelProperties properties,
+                           WebSocketProperties webSocketProperties, PoolConexionesProperties poolConexionesProperties) {
+        if (!Boolean.TRUE.equals(properties.getHabilitado())) {
+            desactivar(hibernateProperties);
+            return;
+        }
+        boolean variasInstancias = webSocketProperties.esModoRelay()
+                || (poolConexionesProperties.getInstancias() != null && poolConexionesProperties.getInstancias() > 1);
+        if (properties.getModo() == ModoCacheSegundoNivel.LOCAL && variasInstancias) {
+            log.warn("Cache de segundo nivel desactivado: el modo LOCAL no invalida entre instancias " +
+                    "(usar sigret.cache-l2.modo=CLUSTER con un proveedor JCache distribuido)");
+            desactivar(hibernateProperties);
+            return;
+        }
+
+        hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+        hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, Boolean.TRUE.equals(properties.getConsultas()));
+        hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+
+        if (properties.getModo() == ModoCacheSegundoNivel.CLUSTER) {
+            if (properties.getProveedor() == null || properties.getProveedor().isBlank()) {
+                throw new IllegalStateException("sigret.cache-l2.modo=CLUSTER requiere sigret.cache-l2.proveedor");
+            }
+            hibernateProperties.put(ConfigSettings.PROVIDER, properties.getProveedor());
+            if (properties.getUri() != null && !properties.getUri().isBlank()) {
+                hibernateProperties.put(ConfigSettings.CONFIG_URI, properties.getUri());
+            }
+            log.info("Cache de segundo nivel en modo CLUSTER ({})", properties.getProveedor());
+        } else {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, crearCacheManagerLocal(properties));
+            log.info("Cache de segundo nivel en modo LOCAL ({} regiones de entidades)", RegionesCache.ENTIDADES.size());
+        }
+    }
+
+    static CacheManager crearCacheManagerLocal(CacheSegundoNivelProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), CacheSegundoNivelConfig.class.getClassLoader());
+
+        for (String region : RegionesCache.ENTIDADES) {
+            CacheSegundoNivelProperties.Region propia = properties.getRegiones().get(region);
+            crearRegion(cacheManager, region,
+                    propia != null && propia.getMaximoEntradas() != null ? propia.getMaximoEntradas() : properties.getMaximoEntradas(),
+                    propia != null && propia.getExpiracionSegundos() != null ? propia.getExpiracionSegundos() : properties.getExpiracionSegundos());
+        }
+        crearRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                properties.getMaximoEntradas(), properties.getExpiracionSegundos());
+        // Sin límite ni expiración: si se pierde un timestamp, el cache de consultas podría servir datos viejos
+        crearRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, null, null);
+        return cacheManager;
+    }
+
+    private static void crearRegion(CacheManager cacheManager, String region, Integer maximoEntradas, Long expiracionSegundos) {
+        // Un reinicio en caliente (devtools) reutiliza el mismo CacheManager
+        if (cacheManager.getCache(region) != null) {
+            cacheManager.destroyCache(region);
+        }
+
+        CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+        configuracion.setStoreByValue(false);
+        configuracion.setStatisticsEnabled(true);
+        configuracion.setMaximumSize(maximoEntradas != null ? OptionalLong.of(maximoEntradas) : OptionalLong.empty());
+        configuracion.setExpireAfterWrite(expiracionSegundos != null
+                ? OptionalLong.of(TimeUnit.SECONDS.toNanos(expiracionSegundos))
+                : OptionalLong.empty());
+        cacheManager.createCache(region, configuracion);
+    }
+
+    private static void desactivar(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+        hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+    }
+}
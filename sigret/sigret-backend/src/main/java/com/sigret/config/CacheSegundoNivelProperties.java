@@ -0,0 +1,116 @@
+package com.sigret.config;
+
+import com.sigret.enums.ModoCacheSegundoNivel;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "sigret.cache-l2")
+public class CacheSegundoNivelProperties {
+
+    private Boolean habilitado = true;
+    private Boolean consultas = true;
+    private ModoCacheSegundoNivel modo = ModoCacheSegundoNivel.LOCAL;
+    private Integer maximoEntradas = 10000;
+    private Long expiracionSegundos = 600L;
+    private String proveedor;
+    private String uri;
+    private Map<String, Region> regiones = new HashMap<>();
+
+    // Constructors
+    public CacheSegundoNivelProperties() {}
+
+    // Getters and Setters
+    public Boolean getHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(Boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public Boolean getConsultas() {
+        return consultas;
+    }
+
+    public void setConsultas(Boolean consultas) {
+        this.consultas = consultas;
+    }
+
+    public ModoCacheSegundoNivel getModo() {
+        return modo;
+    }
+
+    public void setModo(ModoCacheSegundoNivel modo) {
+        this.modo = modo;
+    }
+
+    public Integer getMaximoEntradas() {
+        return maximoEntradas;
+    }
+
+    public void setMaximoEntradas(Integer maximoEntradas) {
+        this.maximoEntradas = maximoEntradas;
+    }
+
+    public Long getExpiracionSegundos() {
+        return expiracionSegundos;
+    }
+
+    public void setExpiracionSegundos(Long expiracionSegundos) {
+        this.expiracionSegundos = expiracionSegundos;
+    }
+
+    public String getProveedor() {
+        return proveedor;
+    }
+
+    public void setProveedor(String proveedor) {
+        this.proveedor = proveedor;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public Map<String, Region> getRegiones() {
+        return regiones;
+    }
+
+    public void setRegiones(Map<String, Region> regiones) {
+        this.regiones = regiones;
+    }
+
+    /**
+     * Límites propios de una región (los que no se indiquen toman los generales)
+     */
+    public static class Region {
+
+        private Integer maximoEntradas;
+        private Long expiracionSegundos;
+
+        // Getters and Setters
+        public Integer getMaximoEntradas() {
+            return maximoEntradas;
+        }
+
+        public void setMaximoEntradas(Integer maximoEntradas) {
+            this.maximoEntradas = maximoEntradas;
+        }
+
+        public Long getExpiracionSegundos() {
+            return expiracionSegundos;
+        }
+
+        public void setExpiracionSegundos(Long expiracionSegundos) {
+            this.expiracionSegundos = expiracionSegundos;
+        }
+    }
+}
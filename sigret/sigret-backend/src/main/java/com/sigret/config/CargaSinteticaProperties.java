@@ -0,0 +1,77 @@
+package com.sigret.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sigret.carga-sintetica")
+public class CargaSinteticaProperties {
+
+    private Integer clientes = 20000;
+    private Integer servicios = 100000;
+    private Integer presupuestosPorServicio = 3;
+    private Integer notificaciones = 1000000;
+    private Integer tamanioLote = 2000;
+    private Integer diasHistoria = 730;
+    private Long semilla = 42L;
+
+    // Constructors
+    public CargaSinteticaProperties() {}
+
+    // Getters and Setters
+    public Integer getClientes() {
+        return clientes;
+    }
+
+    public void setClientes(Integer clientes) {
+        this.clientes = clientes;
+    }
+
+    public Integer getServicios() {
+        return servicios;
+    }
+
+    public void setServicios(Integer servicios) {
+        this.servicios = servicios;
+    }
+
+    public Integer getPresupuestosPorServicio() {
+        return presupuestosPorServicio;
+    }
+
+    public void setPresupuestosPorServicio(Integer presupuestosPorServicio) {
+        this.presupuestosPorServicio = presupuestosPorServicio;
+    }
+
+    public Integer getNotificaciones() {
+        return notificaciones;
+    }
+
+    public void setNotificaciones(Integer notificaciones) {
+        this.notificaciones = notificaciones;
+    }
+
+    public Integer getTamanioLote() {
+        return tamanioLote;
+    }
+
+    public void setTamanioLote(Integer tamanioLote) {
+        this.tamanioLote = tamanioLote;
+    }
+
+    public Integer getDiasHistoria() {
+        return diasHistoria;
+    }
+
+    public void setDiasHistoria(Integer diasHistoria) {
+        this.diasHistoria = diasHistoria;
+    }
+
+    public Long getSemilla() {
+        return semilla;
+    }
+
+    public void setSemilla(Long semilla) {
+        this.semilla = semilla;
+    }
+}
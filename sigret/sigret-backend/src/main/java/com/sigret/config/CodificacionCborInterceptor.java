@@ -0,0 +1,127 @@
+package com.sigret.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codificación CBOR opcional para los frames de eventos. El cliente la pide al suscribirse con el header
+ * "formato: cbor" y recibe el mismo evento en binario (content-type application/octet-stream, header
+ * "formato: cbor"), sin los nombres de campo repetidos del texto JSON.
+ * Solo se aplica a sesiones del endpoint nativo /ws: SockJS no transporta frames binarios.
+ * El broker comparte el mismo payload entre todos los suscriptores, así que cada frame se convierte una sola vez.
+ */
+@Component
+@Slf4j
+public class CodificacionCborInterceptor implements ChannelInterceptor, HandshakeInterceptor {
+
+    public static final String HEADER_FORMATO = "formato";
+    public static final String FORMATO_CBOR = "cbor";
+    private static final String ATRIBUTO_TRANSPORTE_BINARIO = "sigret.transporteBinario";
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    // sesión -> suscripciones que pidieron CBOR
+    private final Map<String, Set<String>> suscripcionesCbor = new ConcurrentHashMap<>();
+
+    // Payload JSON (por identidad) -> payload CBOR
+    private final Map<byte[], byte[]> convertidos = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        attributes.put(ATRIBUTO_TRANSPORTE_BINARIO, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        SimpMessageType tipo = accessor.getMessageType();
+        String sesion = accessor.getSessionId();
+        if (tipo == null || sesion == null) {
+            return message;
+        }
+
+        switch (tipo) {
+            case SUBSCRIBE -> {
+                if (FORMATO_CBOR.equalsIgnoreCase(accessor.getFirstNativeHeader(HEADER_FORMATO))
+                        && transporteBinario(accessor) && accessor.getSubscriptionId() != null) {
+                    suscripcionesCbor.computeIfAbsent(sesion, s -> ConcurrentHashMap.newKeySet())
+                            .add(accessor.getSubscriptionId());
+                }
+            }
+            case UNSUBSCRIBE -> {
+                Set<String> deLaSesion = suscripcionesCbor.get(sesion);
+                if (deLaSesion != null) {
+                    deLaSesion.remove(accessor.getSubscriptionId());
+                }
+            }
+            case DISCONNECT -> suscripcionesCbor.remove(sesion);
+            case MESSAGE -> {
+                return pidioCbor(sesion, accessor.getSubscriptionId()) ? aCbor(message, accessor) : message;
+            }
+            default -> { }
+        }
+        return message;
+    }
+
+    private boolean transporteBinario(SimpMessageHeaderAccessor accessor) {
+        Map<String, Object> atributos = accessor.getSessionAttributes();
+        return atributos != null && Boolean.TRUE.equals(atributos.get(ATRIBUTO_TRANSPORTE_BINARIO));
+    }
+
+    private boolean pidioCbor(String sesion, String suscripcion) {
+        Set<String> deLaSesion = suscripcionesCbor.get(sesion);
+        return deLaSesion != null && suscripcion != null && deLaSesion.contains(suscripcion);
+    }
+
+    private Message<?> aCbor(Message<?> message, SimpMessageHeaderAccessor accessor) {
+        if (!(message.getPayload() instanceof byte[] json)
+                || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(accessor.getContentType())) {
+            return message;
+        }
+
+        byte[] cbor = convertidos.get(json);
+        if (cbor == null) {
+            try {
+                JsonNode arbol = jsonMapper.readTree(json);
+                cbor = cborMapper.writeValueAsBytes(arbol);
+            } catch (IOException e) {
+                log.warn("No se pudo convertir el frame a CBOR, se envía en JSON", e);
+                return message;
+            }
+            convertidos.put(json, cbor);
+        }
+
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(HEADER_FORMATO, FORMATO_CBOR);
+        return MessageBuilder.createMessage(cbor, accessor.getMessageHeaders());
+    }
+}
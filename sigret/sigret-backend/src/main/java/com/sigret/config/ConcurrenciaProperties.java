@@ -0,0 +1,32 @@
+package com.sigret.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sigret.concurrencia")
+public class ConcurrenciaProperties {
+
+    private Integer intentosMaximos = 3;
+    private Long esperaBaseMs = 20L;
+
+    // Constructors
+    public ConcurrenciaProperties() {}
+
+    // Getters and Setters
+    public Integer getIntentosMaximos() {
+        return intentosMaximos;
+    }
+
+    public void setIntentosMaximos(Integer intentosMaximos) {
+        this.intentosMaximos = intentosMaximos;
+    }
+
+    public Long getEsperaBaseMs() {
+        return esperaBaseMs;
+    }
+
+    public void setEsperaBaseMs(Long esperaBaseMs) {
+        this.esperaBaseMs = esperaBaseMs;
+    }
+}
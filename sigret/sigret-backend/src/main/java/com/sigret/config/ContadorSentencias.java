@@ -0,0 +1,97 @@
+package com.sigret.config;
+
+import com.sigret.enums.ModoControlSentencias;
+import com.sigret.exception.LimiteSentenciasExcedidoException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * StatementInspector de Hibernate que cuenta las sentencias SQL de la petición en curso.
+ * El contexto se abre/cierra en FiltroControlSentencias; fuera de una petición no cuenta nada.
+ * Los tests pueden abrir su propio contexto con iniciar()/finalizar() o, tras guardarUltimoResumen(true),
+ * leer ultimoResumen() después de un MockMvc.perform() (se ejecuta en el mismo hilo).
+ */
+@Component
+public class ContadorSentencias implements StatementInspector {
+
+    private static final ThreadLocal<Contexto> CONTEXTO = new ThreadLocal<>();
+    private static final ThreadLocal<ResumenSentencias> ULTIMO = new ThreadLocal<>();
+    private static volatile boolean guardarUltimo;
+
+    private static final Pattern LISTA_IN = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern LITERAL_TEXTO = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern LITERAL_NUMERO = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    @Autowired
+    private ControlSentenciasProperties properties;
+
+    public static void iniciar() {
+        CONTEXTO.set(new Contexto());
+    }
+
+    public static ResumenSentencias finalizar() {
+        Contexto contexto = CONTEXTO.get();
+        CONTEXTO.remove();
+        if (contexto == null) {
+            return new ResumenSentencias(0, Map.of());
+        }
+        ResumenSentencias resumen = new ResumenSentencias(contexto.total, contexto.porSentencia);
+        if (guardarUltimo) {
+            ULTIMO.set(resumen);
+        }
+        return resumen;
+    }
+
+    /**
+     * Solo para tests: en producción no se guarda nada, así los hilos del pool no retienen el resumen
+     * de la última petición que atendieron
+     */
+    public static void guardarUltimoResumen(boolean guardar) {
+        guardarUltimo = guardar;
+        if (!guardar) {
+            ULTIMO.remove();
+        }
+    }
+
+    /**
+     * Resumen de la última petición finalizada en este hilo (requiere guardarUltimoResumen(true))
+     */
+    public static ResumenSentencias ultimoResumen() {
+        return ULTIMO.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Contexto contexto = CONTEXTO.get();
+        if (contexto == null) {
+            return sql;
+        }
+
+        contexto.total++;
+        contexto.porSentencia.merge(normalizar(sql), 1, Integer::sum);
+
+        if (properties.getModo() == ModoControlSentencias.FALLAR && contexto.total > properties.getLimite()) {
+            throw new LimiteSentenciasExcedidoException(String.format(
+                    "La petición superó el límite de %d sentencias SQL", properties.getLimite()));
+        }
+        return sql;
+    }
+
+    static String normalizar(String sql) {
+        String normalizada = LITERAL_TEXTO.matcher(sql).replaceAll("?");
+        normalizada = LITERAL_NUMERO.matcher(normalizada).replaceAll("?");
+        normalizada = LISTA_IN.matcher(normalizada).replaceAll("in (?)");
+        return ESPACIOS.matcher(normalizada).replaceAll(" ").trim();
+    }
+
+    private static class Contexto {
+        private int total;
+        private final Map<String, Integer> porSentencia = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,51 @@
+package com.sigret.config;
+
+import com.sigret.enums.ModoControlSentencias;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sigret.sql.control")
+public class ControlSentenciasProperties {
+
+    private Boolean habilitado = true;
+    private Integer limite = 50;
+    private ModoControlSentencias modo = ModoControlSentencias.LOG;
+    private Integer umbralRepeticiones = 5;
+
+    // Constructors
+    public ControlSentenciasProperties() {}
+
+    // Getters and Setters
+    public Boolean getHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(Boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public Integer getLimite() {
+        return limite;
+    }
+
+    public void setLimite(Integer limite) {
+        this.limite = limite;
+    }
+
+    public ModoControlSentencias getModo() {
+        return modo;
+    }
+
+    public void setModo(ModoControlSentencias modo) {
+        this.modo = modo;
+    }
+
+    public Integer getUmbralRepeticiones() {
+        return umbralRepeticiones;
+    }
+
+    public void setUmbralRepeticiones(Integer umbralRepeticiones) {
+        this.umbralRepeticiones = umbralRepeticiones;
+    }
+}
@@ -0,0 +1,51 @@
+package com.sigret.config;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cubeta de tokens: admite ráfagas de hasta "capacidad" peticiones y se recarga de forma continua
+ * a "recargaPorMinuto". El estado son dos números, así que una cubeta por IP o por token es barata.
+ */
+public class CubetaTokens {
+
+    private final double capacidad;
+    private final double tokensPorNano;
+
+    private double disponibles;
+    private long ultimaRecarga;
+
+    public CubetaTokens(int capacidad, int recargaPorMinuto, long ahoraNanos) {
+        this.capacidad = capacidad;
+        this.tokensPorNano = recargaPorMinuto / (double) TimeUnit.MINUTES.toNanos(1);
+        this.disponibles = capacidad;
+        this.ultimaRecarga = ahoraNanos;
+    }
+
+    public synchronized boolean intentarConsumir(long ahoraNanos) {
+        recargar(ahoraNanos);
+        if (disponibles >= 1) {
+            disponibles -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Segundos hasta que haya un token disponible (para el encabezado Retry-After)
+     */
+    public synchronized long segundosHastaDisponible(long ahoraNanos) {
+        recargar(ahoraNanos);
+        if (disponibles >= 1) {
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - disponibles) / tokensPorNano / TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private void recargar(long ahoraNanos) {
+        long transcurrido = ahoraNanos - ultimaRecarga;
+        if (transcurrido > 0) {
+            disponibles = Math.min(capacidad, disponibles + transcurrido * tokensPorNano);
+            ultimaRecarga = ahoraNanos;
+        }
+    }
+}
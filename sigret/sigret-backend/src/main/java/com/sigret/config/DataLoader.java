@@ -6,18 +6,50 @@ import com.sigret.repositories.*;
 import com.sigret.services.OrdenTrabajoService;
 import com.sigret.services.PresupuestoService;
 import com.sigret.services.ServicioService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carga los datos iniciales (catálogos, usuarios admin/tecnico y clientes de ejemplo) una sola vez.
+ * La tabla datos_iniciales_version guarda la versión aplicada: con el marcador al día el arranque no
+ * toca los repositorios. Subir VERSION_DATOS solo tiene efecto en bases nuevas (sin usuarios).
+ */
 @Component
+@Slf4j
 public class DataLoader implements CommandLineRunner {
 
+    static final String TABLA_VERSION = "datos_iniciales_version";
+    static final int VERSION_DATOS = 1;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ArranqueProperties arranqueProperties;
+
     @Autowired
     private TipoDocumentoRepository tipoDocumentoRepository;
 
@@ -86,75 +118,85 @@ public class DataLoader implements CommandLineRunner {
 
     @Override
     public void run(String... args) throws Exception {
-        if (usuarioRepository.count() == 0) {
-            crearDatosIniciales();
+        if (!Boolean.TRUE.equals(arranqueProperties.getDatosIniciales())) {
+            return;
+        }
+
+        // Con el marcador al día el arranque hace una sola consulta en lugar de revisar cada catálogo
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLA_VERSION + " (" +
+                "version INT NOT NULL PRIMARY KEY, fecha_aplicacion DATETIME NOT NULL)");
+        Integer version = jdbcTemplate.queryForObject("SELECT MAX(version) FROM " + TABLA_VERSION, Integer.class);
+        if (version != null && version >= VERSION_DATOS) {
+            log.debug("Datos iniciales en la versión {}, se omite la carga", version);
+            return;
+        }
+
+        long inicio = System.currentTimeMillis();
+        try {
+            transactionTemplate.executeWithoutResult(estado -> {
+                // El INSERT del marcador va primero: una segunda instancia que arranca a la vez queda
+                // bloqueada en la misma clave hasta el commit y luego falla por clave duplicada
+                jdbcTemplate.update("INSERT INTO " + TABLA_VERSION + " (version, fecha_aplicacion) VALUES (?, NOW())",
+                        VERSION_DATOS);
+                if (usuarioRepository.count() == 0) {
+                    crearDatosIniciales();
+                    log.info("Datos iniciales (versión {}) creados en {} ms", VERSION_DATOS, System.currentTimeMillis() - inicio);
+                } else {
+                    // Base anterior al marcador: ya tiene los datos, solo se registra la versión
+                    log.info("Base existente sin marcador de datos iniciales, se registra la versión {}", VERSION_DATOS);
+                }
+            });
+        } catch (DuplicateKeyException e) {
+            log.info("Otra instancia registró los datos iniciales (versión {}), se omite la carga", VERSION_DATOS);
         }
     }
 
     private void crearDatosIniciales() {
-        // Crear tipos de documento
-        TipoDocumento dni = new TipoDocumento();
-        dni.setDescripcion("DNI");
-        tipoDocumentoRepository.save(dni);
-
-        TipoDocumento cuit = new TipoDocumento();
-        cuit.setDescripcion("CUIT");
-        tipoDocumentoRepository.save(cuit);
-
-        TipoDocumento cuil = new TipoDocumento();
-        cuil.setDescripcion("CUIL");
-        tipoDocumentoRepository.save(cuil);
-
-        TipoDocumento pasaporte = new TipoDocumento();
-        pasaporte.setDescripcion("Pasaporte");
-        tipoDocumentoRepository.save(pasaporte);
-
-        // Crear tipos de persona
-        TipoPersona fisica = new TipoPersona();
-        fisica.setDescripcion("Física");
-        tipoPersonaRepository.save(fisica);
-
-        TipoPersona juridica = new TipoPersona();
-        juridica.setDescripcion("Jurídica");
-        tipoPersonaRepository.save(juridica);
-
-        // Crear tipos de empleado
-        TipoEmpleado propietario = new TipoEmpleado();
-        propietario.setDescripcion("Propietario");
-        tipoEmpleadoRepository.save(propietario);
-
-        TipoEmpleado administrativo = new TipoEmpleado();
-        administrativo.setDescripcion("Administrativo");
-        tipoEmpleadoRepository.save(administrativo);
-
-        TipoEmpleado tecnico = new TipoEmpleado();
-        tecnico.setDescripcion("Técnico");
-        tipoEmpleadoRepository.save(tecnico);
-
-        // Crear tipos de contacto
-        TipoContacto email = new TipoContacto();
-        email.setDescripcion("Email");
-        tipoContactoRepository.save(email);
-
-        TipoContacto telefono = new TipoContacto();
-        telefono.setDescripcion("Teléfono");
-        tipoContactoRepository.save(telefono);
-
-        TipoContacto celular = new TipoContacto();
-        celular.setDescripcion("Celular");
-        tipoContactoRepository.save(celular);
-
-        TipoContacto whatsapp = new TipoContacto();
-        whatsapp.setDescripcion("WhatsApp");
-        tipoContactoRepository.save(whatsapp);
-
-        TipoContacto telegram = new TipoContacto();
-        telegram.setDescripcion("Telegram");
-        tipoContactoRepository.save(telegram);
-
-        TipoContacto fax = new TipoContacto();
-        fax.setDescripcion("Fax");
-        tipoContactoRepository.save(fax);
+        // Catálogos independientes: un INSERT multi-fila por tabla (JDBC batch) dentro de la transacción.
+        // Son entidades IDENTITY, así que por JPA cada save() sería un INSERT suelto
+        Map<String, Long> tiposDocumento = insertarCatalogo("tipos_documento", "DNI", "CUIT", "CUIL", "Pasaporte");
+        Map<String, Long> tiposPersona = insertarCatalogo("tipos_persona", "Física", "Jurídica");
+        Map<String, Long> tiposEmpleado = insertarCatalogo("tipos_empleado", "Propietario", "Administrativo", "Técnico");
+        Map<String, Long> tiposContacto = insertarCatalogo("tipos_contacto",
+                "Email", "Teléfono", "Celular", "WhatsApp", "Telegram", "Fax");
+        // Tipos de equipos (electrodomésticos)
+        Map<String, Long> tiposEquipo = insertarCatalogo("tipos_equipo",
+                "Lavarropas", "Heladera", "Freezer", "Cocina", "Microondas", "Lavavajillas",
+                "Secarropas", "Aire Acondicionado", "Calefactor", "Horno", "Anafe", "Campana");
+        Map<String, Long> marcas = insertarCatalogo("marcas",
+                "Whirlpool", "Samsung", "LG", "Drean", "Gafa", "Philco",
+                "Electrolux", "Bosch", "Ariston", "Patrick", "Carrier", "Surrey");
+
+        // Repuestos para lavarropas y heladera
+        Map<String, List<String>> repuestosPorTipo = new LinkedHashMap<>();
+        repuestosPorTipo.put("Lavarropas", List.of("Placa electrónica de control", "Motor de lavado", "Bomba de agua", "Correa de transmisión"));
+        repuestosPorTipo.put("Heladera", List.of("Compresor", "Termostato", "Ventilador", "Gas refrigerante"));
+        Map<String, Long> repuestos = insertarCatalogoHijo("repuestos", "id_tipo_equipo", tiposEquipo, repuestosPorTipo);
+
+        // Modelos por marca
+        Map<String, List<String>> modelosPorMarca = new LinkedHashMap<>();
+        modelosPorMarca.put("Whirlpool", List.of("WLF80AB", "WRM45A", "WCF80A", "WRM54D"));
+        modelosPorMarca.put("Samsung", List.of("WW90T", "RT38K", "DV80T", "AR12TXHQASINEU"));
+        modelosPorMarca.put("LG", List.of("F1403RD", "GR-B429GGUA", "GC-L247SLUV", "S4500VR"));
+        modelosPorMarca.put("Drean", List.of("Next 8.12 Eco", "Next 10.06 Eco", "Concept 5.05G", "UniBlue 8.6"));
+        modelosPorMarca.put("Gafa", List.of("Excellent S 8500", "Maxia Plus 8510", "Platinium S 8550", "G1755AFC"));
+        modelosPorMarca.put("Philco", List.of("WM-PH10", "PHCT25", "FR-PHCE200", "PHCD250"));
+        modelosPorMarca.put("Electrolux", List.of("EWF10843", "TW3350", "DW50X6", "H17D"));
+        modelosPorMarca.put("Bosch", List.of("WAW325X0SN", "KGN56XIDA", "SMV46MX03E", "HBG675BS1"));
+        modelosPorMarca.put("Ariston", List.of("HLB10", "HBB24DAABC", "FA5844C", "LI660A"));
+        modelosPorMarca.put("Patrick", List.of("CPF2900S", "HPK135M10", "HPK190M00", "WM6K"));
+        modelosPorMarca.put("Carrier", List.of("53HVA1201", "53HVH0181", "53QCE0241", "53HVH0241"));
+        modelosPorMarca.put("Surrey", List.of("553IQV1201", "223TQO1231F", "554AIQ1231F", "331TQO1831F"));
+        Map<String, Long> modelos = insertarCatalogoHijo("modelos", "id_marca", marcas, modelosPorMarca);
+
+        // Referencias (sin SELECT) para las entidades que siguen por JPA
+        TipoDocumento dni = tipoDocumentoRepository.getReferenceById(tiposDocumento.get("DNI"));
+        TipoPersona fisica = tipoPersonaRepository.getReferenceById(tiposPersona.get("Física"));
+        TipoEmpleado propietario = tipoEmpleadoRepository.getReferenceById(tiposEmpleado.get("Propietario"));
+        TipoEmpleado tecnico = tipoEmpleadoRepository.getReferenceById(tiposEmpleado.get("Técnico"));
+        TipoContacto email = tipoContactoRepository.getReferenceById(tiposContacto.get("Email"));
+        TipoContacto telefono = tipoContactoRepository.getReferenceById(tiposContacto.get("Teléfono"));
+        TipoContacto celular = tipoContactoRepository.getReferenceById(tiposContacto.get("Celular"));
 
         // Crear persona admin
         Persona personaAdmin = new Persona();
@@ -209,117 +251,30 @@ public class DataLoader implements CommandLineRunner {
         usuarioTecnico.setActivo(true);
         usuarioRepository.save(usuarioTecnico);
 
-        // Crear tipos de equipos (electrodomésticos)
-        TipoEquipo lavarropas = crearTipoEquipo("Lavarropas");
-        TipoEquipo heladera = crearTipoEquipo("Heladera");
-        crearTipoEquipo("Freezer");
-        TipoEquipo cocina = crearTipoEquipo("Cocina");
-        TipoEquipo microondas = crearTipoEquipo("Microondas");
-        crearTipoEquipo("Lavavajillas");
-        TipoEquipo secarropas = crearTipoEquipo("Secarropas");
-        TipoEquipo aireAcondicionado = crearTipoEquipo("Aire Acondicionado");
-        crearTipoEquipo("Calefactor");
-        crearTipoEquipo("Horno");
-        crearTipoEquipo("Anafe");
-        crearTipoEquipo("Campana");
-
-        // Crear repuestos para lavarropas
-        Repuesto placaElectronicaLava = crearRepuesto(lavarropas, "Placa electrónica de control");
-        crearRepuesto(lavarropas, "Motor de lavado");
-        Repuesto bombaAguaLava = crearRepuesto(lavarropas, "Bomba de agua");
-        crearRepuesto(lavarropas, "Correa de transmisión");
-
-        // Crear repuestos para heladera
-        crearRepuesto(heladera, "Compresor");
-        crearRepuesto(heladera, "Termostato");
-        crearRepuesto(heladera, "Ventilador");
-        crearRepuesto(heladera, "Gas refrigerante");
-
-        // Crear marcas
-        Marca whirlpool = crearMarca("Whirlpool");
-        Marca samsung = crearMarca("Samsung");
-        Marca lg = crearMarca("LG");
-        Marca drean = crearMarca("Drean");
-        Marca gafa = crearMarca("Gafa");
-        Marca philco = crearMarca("Philco");
-        Marca electrolux = crearMarca("Electrolux");
-        Marca bosch = crearMarca("Bosch");
-        Marca ariston = crearMarca("Ariston");
-        Marca patrick = crearMarca("Patrick");
-        Marca carrier = crearMarca("Carrier");
-        Marca surrey = crearMarca("Surrey");
-
-        // Crear modelos para Whirlpool
-        Modelo whirlpoolWLF80AB = crearModelo(whirlpool, "WLF80AB");
-        Modelo whirlpoolWRM45A = crearModelo(whirlpool, "WRM45A");
-        crearModelo(whirlpool, "WCF80A");
-        crearModelo(whirlpool, "WRM54D");
-
-        // Crear modelos para Samsung
-        Modelo samsungWW90T = crearModelo(samsung, "WW90T");
-        Modelo samsungRT38K = crearModelo(samsung, "RT38K");
-        Modelo samsungDV80T = crearModelo(samsung, "DV80T");
-        Modelo samsungAR12 = crearModelo(samsung, "AR12TXHQASINEU");
-
-        // Crear modelos para LG
-        Modelo lgF1403RD = crearModelo(lg, "F1403RD");
-        Modelo lgGRB429 = crearModelo(lg, "GR-B429GGUA");
-        Modelo lgGCL247 = crearModelo(lg, "GC-L247SLUV");
-        Modelo lgS4500VR = crearModelo(lg, "S4500VR");
-
-        // Crear modelos para Drean
-        Modelo dreanNext812 = crearModelo(drean, "Next 8.12 Eco");
-        Modelo dreanNext1006 = crearModelo(drean, "Next 10.06 Eco");
-        crearModelo(drean, "Concept 5.05G");
-        crearModelo(drean, "UniBlue 8.6");
-
-        // Crear modelos para Gafa
-        Modelo gafaExcellent = crearModelo(gafa, "Excellent S 8500");
-        Modelo gafaMaxia = crearModelo(gafa, "Maxia Plus 8510");
-        crearModelo(gafa, "Platinium S 8550");
-        crearModelo(gafa, "G1755AFC");
-
-        // Crear modelos para Philco
-        Modelo philcoWMPH10 = crearModelo(philco, "WM-PH10");
-        Modelo philcoPHCT25 = crearModelo(philco, "PHCT25");
-        crearModelo(philco, "FR-PHCE200");
-        Modelo philcoPHCD250 = crearModelo(philco, "PHCD250");
-
-        // Crear modelos para Electrolux
-        crearModelo(electrolux, "EWF10843");
-        crearModelo(electrolux, "TW3350");
-        crearModelo(electrolux, "DW50X6");
-        crearModelo(electrolux, "H17D");
-
-        // Crear modelos para Bosch
-        crearModelo(bosch, "WAW325X0SN");
-        crearModelo(bosch, "KGN56XIDA");
-        crearModelo(bosch, "SMV46MX03E");
-        crearModelo(bosch, "HBG675BS1");
-
-        // Crear modelos para Ariston
-        crearModelo(ariston, "HLB10");
-        crearModelo(ariston, "HBB24DAABC");
-        crearModelo(ariston, "FA5844C");
-        crearModelo(ariston, "LI660A");
-
-        // Crear modelos para Patrick
-        crearModelo(patrick, "CPF2900S");
-        crearModelo(patrick, "HPK135M10");
-        crearModelo(patrick, "HPK190M00");
-        crearModelo(patrick, "WM6K");
-
-        // Crear modelos para Carrier
-        crearModelo(carrier, "53HVA1201");
-        crearModelo(carrier, "53HVH0181");
-        crearModelo(carrier, "53QCE0241");
-        crearModelo(carrier, "53HVH0241");
-
-        // Crear modelos para Surrey
-        crearModelo(surrey, "553IQV1201");
-        crearModelo(surrey, "223TQO1231F");
-        crearModelo(surrey, "554AIQ1231F");
-        crearModelo(surrey, "331TQO1831F");
+        TipoEquipo lavarropas = tipoEquipoRepository.getReferenceById(tiposEquipo.get("Lavarropas"));
+        TipoEquipo heladera = tipoEquipoRepository.getReferenceById(tiposEquipo.get("Heladera"));
+        TipoEquipo cocina = tipoEquipoRepository.getReferenceById(tiposEquipo.get("Cocina"));
+        TipoEquipo microondas = tipoEquipoRepository.getReferenceById(tiposEquipo.get("Microondas"));
+        TipoEquipo secarropas = tipoEquipoRepository.getReferenceById(tiposEquipo.get("Secarropas"));
+        TipoEquipo aireAcondicionado = tipoEquipoRepository.getReferenceById(tiposEquipo.get("Aire Acondicionado"));
+
+        Modelo whirlpoolWLF80AB = modeloRepository.getReferenceById(modelos.get("WLF80AB"));
+        Modelo whirlpoolWRM45A = modeloRepository.getReferenceById(modelos.get("WRM45A"));
+        Modelo samsungWW90T = modeloRepository.getReferenceById(modelos.get("WW90T"));
+        Modelo samsungRT38K = modeloRepository.getReferenceById(modelos.get("RT38K"));
+        Modelo samsungDV80T = modeloRepository.getReferenceById(modelos.get("DV80T"));
+        Modelo samsungAR12 = modeloRepository.getReferenceById(modelos.get("AR12TXHQASINEU"));
+        Modelo lgF1403RD = modeloRepository.getReferenceById(modelos.get("F1403RD"));
+        Modelo lgGRB429 = modeloRepository.getReferenceById(modelos.get("GR-B429GGUA"));
+        Modelo lgGCL247 = modeloRepository.getReferenceById(modelos.get("GC-L247SLUV"));
+        Modelo lgS4500VR = modeloRepository.getReferenceById(modelos.get("S4500VR"));
+        Modelo dreanNext812 = modeloRepository.getReferenceById(modelos.get("Next 8.12 Eco"));
+        Modelo dreanNext1006 = modeloRepository.getReferenceById(modelos.get("Next 10.06 Eco"));
+        Modelo gafaExcellent = modeloRepository.getReferenceById(modelos.get("Excellent S 8500"));
+        Modelo gafaMaxia = modeloRepository.getReferenceById(modelos.get("Maxia Plus 8510"));
+        Modelo philcoWMPH10 = modeloRepository.getReferenceById(modelos.get("WM-PH10"));
+        Modelo philcoPHCT25 = modeloRepository.getReferenceById(modelos.get("PHCT25"));
+        Modelo philcoPHCD250 = modeloRepository.getReferenceById(modelos.get("PHCD250"));
 
         // Crear clientes ficticios con sus equipos
         crearClientesYEquipos(fisica, dni, email, celular, telefono,
@@ -330,7 +285,9 @@ public class DataLoader implements CommandLineRunner {
                             philcoPHCD250, whirlpoolWLF80AB, lgGCL247);
 
         // Crear servicios, presupuestos, órdenes de trabajo y garantías
-        //crearServiciosCompletos(empleadoAdmin, empleadoTecnico, placaElectronicaLava, bombaAguaLava);
+        //crearServiciosCompletos(empleadoAdmin, empleadoTecnico,
+        //        repuestoRepository.getReferenceById(repuestos.get("Placa electrónica de control")),
+        //        repuestoRepository.getReferenceById(repuestos.get("Bomba de agua")));
 
         // System.out.println("===========================================");
         // System.out.println("DATOS INICIALES CREADOS EXITOSAMENTE");
@@ -363,23 +320,57 @@ public class DataLoader implements CommandLineRunner {
 
     }
 
-    private TipoEquipo crearTipoEquipo(String descripcion) {
-        TipoEquipo tipoEquipo = new TipoEquipo();
-        tipoEquipo.setDescripcion(descripcion);
-        return tipoEquipoRepository.save(tipoEquipo);
+    /**
+     * Inserta las descripciones en un único lote JDBC
+     * @return id generado por descripción, en el orden dado
+     */
+    private Map<String, Long> insertarCatalogo(String tabla, String... descripciones) {
+        List<Object[]> filas = new ArrayList<>();
+        for (String descripcion : descripciones) {
+            filas.add(new Object[]{descripcion});
+        }
+        return insertarEnLote("INSERT INTO " + tabla + " (descripcion) VALUES (?)", filas);
     }
 
-    private Marca crearMarca(String descripcion) {
-        Marca marca = new Marca();
-        marca.setDescripcion(descripcion);
-        return marcaRepository.save(marca);
+    /**
+     * Inserta en un único lote los hijos de cada padre (modelos por marca, repuestos por tipo de equipo)
+     * @return id generado por descripción del hijo
+     */
+    private Map<String, Long> insertarCatalogoHijo(String tabla, String columnaPadre, Map<String, Long> padres,
+                                                   Map<String, List<String>> hijosPorPadre) {
+        List<Object[]> filas = new ArrayList<>();
+        hijosPorPadre.forEach((padre, hijos) -> hijos.forEach(hijo -> filas.add(new Object[]{hijo, padres.get(padre)})));
+        return insertarEnLote("INSERT INTO " + tabla + " (descripcion, " + columnaPadre + ") VALUES (?, ?)", filas);
     }
 
-    private Modelo crearModelo(Marca marca, String descripcion) {
-        Modelo modelo = new Modelo();
-        modelo.setMarca(marca);
-        modelo.setDescripcion(descripcion);
-        return modeloRepository.save(modelo);
+    // La primera columna de cada fila es la descripción
+    private Map<String, Long> insertarEnLote(String sql, List<Object[]> filas) {
+        KeyHolder claves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Object[] fila = filas.get(i);
+                        for (int j = 0; j < fila.length; j++) {
+                            ps.setObject(j + 1, fila[j]);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return filas.size();
+                    }
+                }, claves);
+
+        List<Map<String, Object>> generadas = claves.getKeyList();
+        if (generadas.size() != filas.size()) {
+            throw new IllegalStateException("Se esperaban " + filas.size() + " ids generados y se obtuvieron " + generadas.size());
+        }
+        Map<String, Long> ids = new LinkedHashMap<>();
+        for (int i = 0; i < filas.size(); i++) {
+            ids.put((String) filas.get(i)[0], ((Number) generadas.get(i).values().iterator().next()).longValue());
+        }
+        return ids;
     }
 
     private void crearClientesYEquipos(TipoPersona fisica, TipoDocumento dni,
@@ -883,13 +874,6 @@ public class DataLoader implements CommandLineRunner {
 
  */
 
-    private Repuesto crearRepuesto(TipoEquipo tipoEquipo, String descripcion) {
-        Repuesto repuesto = new Repuesto();
-        repuesto.setTipoEquipo(tipoEquipo);
-        repuesto.setDescripcion(descripcion);
-        return repuestoRepository.save(repuesto);
-    }
-
     /*
     private void agregarDetalleOrdenTrabajo(OrdenTrabajo ordenTrabajo, Repuesto repuesto, int cantidad, String comentario) {
         DetalleOrdenTrabajo detalle = new DetalleOrdenTrabajo();
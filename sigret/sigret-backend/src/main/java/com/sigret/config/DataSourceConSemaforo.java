@@ -0,0 +1,98 @@
+package com.sigret.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita cuántos hilos pueden pedir conexión al pool a la vez. Con hilos virtuales la cantidad de
+ * peticiones concurrentes ya no está acotada por el pool de Tomcat, así que miles de hilos
+ * competirían por las pocas conexiones de Hikari; el semáforo (justo, sin pinning) los encola
+ * antes y falla con un error transitorio si la espera supera el máximo configurado.
+ */
+public class DataSourceConSemaforo extends DelegatingDataSource {
+
+    private final Semaphore permisos;
+    private final long esperaMs;
+
+    public DataSourceConSemaforo(DataSource dataSource, int permisos, long esperaMs) {
+        super(dataSource);
+        this.permisos = new Semaphore(permisos, true);
+        this.esperaMs = esperaMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return envolver(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        try {
+            return envolver(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    public int getPermisosDisponibles() {
+        return permisos.availablePermits();
+    }
+
+    public int getHilosEsperando() {
+        return permisos.getQueueLength();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permisos.tryAcquire(esperaMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No hay conexiones disponibles luego de esperar " + esperaMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexión", e);
+        }
+    }
+
+    private Connection envolver(Connection conexion) {
+        AtomicBoolean liberada = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> {
+                    // Identidad del proxy, no de la conexión de Hikari que envuelve
+                    if ("equals".equals(metodo.getName())) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(metodo.getName())) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return metodo.invoke(conexion, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if ("close".equals(metodo.getName()) && liberada.compareAndSet(false, true)) {
+                            permisos.release();
+                        }
+                    }
+                });
+    }
+}
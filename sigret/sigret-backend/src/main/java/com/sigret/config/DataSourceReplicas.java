@@ -0,0 +1,162 @@
+package com.sigret.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataSource de las transacciones de solo lectura: reparte las conexiones entre las réplicas en ronda,
+ * saltea las caídas o con más retraso de replicación que el permitido y, si no queda ninguna, entrega
+ * una conexión del primario. El estado de cada réplica lo actualiza verificar() (ver EnrutadorReplicas).
+ */
+@Slf4j
+public class DataSourceReplicas extends AbstractDataSource {
+
+    private static final int ESPERA_VALIDACION_SEGUNDOS = 2;
+
+    private final DataSource primario;
+    private final List<Replica> replicas;
+    private final long retrasoMaximoSegundos;
+    private final String consultaRetraso;
+    private final AtomicInteger siguiente = new AtomicInteger();
+    private final AtomicLong derivacionesAlPrimario = new AtomicLong();
+
+    public DataSourceReplicas(DataSource primario, List<Replica> replicas, long retrasoMaximoSegundos, String consultaRetraso) {
+        this.primario = primario;
+        this.replicas = List.copyOf(replicas);
+        this.retrasoMaximoSegundos = retrasoMaximoSegundos;
+        this.consultaRetraso = consultaRetraso;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int total = replicas.size();
+        int inicio = total > 0 ? Math.floorMod(siguiente.getAndIncrement(), total) : 0;
+        for (int i = 0; i < total; i++) {
+            Replica replica = replicas.get((inicio + i) % total);
+            if (!replica.isDisponible()) {
+                continue;
+            }
+            try {
+                return replica.getDataSource().getConnection();
+            } catch (SQLException e) {
+                log.warn("Réplica {} sin conexión, se descarta hasta la próxima verificación: {}", replica.getNombre(), e.getMessage());
+                replica.actualizar(false, null);
+            }
+        }
+        derivacionesAlPrimario.incrementAndGet();
+        return primario.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Credenciales explícitas: son las del primario, las réplicas solo conocen las de sigret.replicas.instancias
+        return primario.getConnection(username, password);
+    }
+
+    /**
+     * Mide el retraso de cada réplica y la habilita solo si responde y está dentro del máximo
+     */
+    public void verificar() {
+        for (Replica replica : replicas) {
+            Long retraso = medirRetraso(replica);
+            boolean disponible = retraso != null && retraso <= retrasoMaximoSegundos;
+            if (disponible != replica.isDisponible()) {
+                if (disponible) {
+                    log.info("Réplica {} habilitada (retraso {} s)", replica.getNombre(), retraso);
+                } else {
+                    log.warn("Réplica {} deshabilitada (retraso {} s, máximo {} s); las lecturas van al primario u otra réplica",
+                            replica.getNombre(), retraso, retrasoMaximoSegundos);
+                }
+            }
+            replica.actualizar(disponible, retraso);
+        }
+    }
+
+    /**
+     * @return segundos de retraso, o null si la réplica no responde o no está replicando
+     */
+    Long medirRetraso(Replica replica) {
+        try (Connection conexion = replica.getDataSource().getConnection()) {
+            if (consultaRetraso == null || consultaRetraso.isBlank()) {
+                return conexion.isValid(ESPERA_VALIDACION_SEGUNDOS) ? 0L : null;
+            }
+            try (Statement statement = conexion.createStatement();
+                 ResultSet rs = statement.executeQuery(consultaRetraso)) {
+                if (!rs.next()) {
+                    return null;
+                }
+                ResultSetMetaData metaData = rs.getMetaData();
+                int columna = 1;
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    String nombre = metaData.getColumnLabel(i);
+                    if ("Seconds_Behind_Source".equalsIgnoreCase(nombre) || "Seconds_Behind_Master".equalsIgnoreCase(nombre)) {
+                        columna = i;
+                        break;
+                    }
+                }
+                long retraso = rs.getLong(columna);
+                // NULL = el hilo de replicación está detenido
+                return rs.wasNull() ? null : retraso;
+            }
+        } catch (SQLException e) {
+            log.debug("No se pudo medir el retraso de la réplica {}: {}", replica.getNombre(), e.getMessage());
+            return null;
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public long getDerivacionesAlPrimario() {
+        return derivacionesAlPrimario.get();
+    }
+
+    public long getReplicasDisponibles() {
+        return replicas.stream().filter(Replica::isDisponible).count();
+    }
+
+    public static class Replica {
+
+        private final String nombre;
+        private final DataSource dataSource;
+        private volatile boolean disponible;
+        private volatile Long retrasoSegundos;
+
+        public Replica(String nombre, DataSource dataSource) {
+            this.nombre = nombre;
+            this.dataSource = dataSource;
+        }
+
+        void actualizar(boolean disponible, Long retrasoSegundos) {
+            this.disponible = disponible;
+            this.retrasoSegundos = retrasoSegundos;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isDisponible() {
+            return disponible;
+        }
+
+        public Long getRetrasoSegundos() {
+            return retrasoSegundos;
+        }
+    }
+}
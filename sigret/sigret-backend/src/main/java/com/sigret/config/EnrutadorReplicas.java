@@ -0,0 +1,164 @@
+package com.sigret.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Crea los pools de las réplicas de lectura y mantiene al día su estado: cada
+ * sigret.replicas.intervalo-verificacion-ms mide el retraso de replicación y saca de la ronda
+ * a las réplicas caídas o atrasadas. Las lecturas que no encuentran réplica van al primario
+ * (métrica sigret.replicas.derivaciones.primario).
+ */
+@Component
+@ConditionalOnProperty(name = "sigret.replicas.habilitado", havingValue = "true")
+@Slf4j
+public class EnrutadorReplicas implements MeterBinder, DisposableBean {
+
+    @Autowired
+    private ReplicasProperties properties;
+
+    @Autowired
+    private HilosVirtualesProperties hilosVirtualesProperties;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean hilosVirtuales;
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private volatile DataSourceReplicas dataSourceReplicas;
+
+    /**
+     * Arma el DataSource de lectura sobre las réplicas configuradas, con el primario como respaldo
+     */
+    public synchronized DataSourceReplicas crearDataSourceLectura(DataSource primario) {
+        if (dataSourceReplicas != null) {
+            return dataSourceReplicas;
+        }
+        if (properties.getInstancias().isEmpty()) {
+            throw new IllegalStateException("sigret.replicas.habilitado=true requiere al menos una réplica en sigret.replicas.instancias");
+        }
+
+        HikariConfig configuracionPrimario = configuracionPrimario(primario);
+        List<DataSourceReplicas.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getInstancias().size(); i++) {
+            ReplicasProperties.Instancia instancia = properties.getInstancias().get(i);
+            String nombre = "replica-" + (i + 1);
+            HikariDataSource pool = crearPool(nombre, instancia, configuracionPrimario);
+            pools.add(pool);
+            DataSource dataSource = hilosVirtuales
+                    ? new DataSourceConSemaforo(pool, properties.getTamanioPool(), hilosVirtualesProperties.getEsperaConexionMs())
+                    : pool;
+            replicas.add(new DataSourceReplicas.Replica(nombre, dataSource));
+        }
+
+        dataSourceReplicas = new DataSourceReplicas(primario, replicas,
+                properties.getRetrasoMaximoSegundos(), properties.getConsultaRetraso());
+        dataSourceReplicas.verificar();
+        log.info("Lecturas de solo lectura enrutadas a {} réplica(s), {} disponible(s) al iniciar",
+                replicas.size(), dataSourceReplicas.getReplicasDisponibles());
+        return dataSourceReplicas;
+    }
+
+    /**
+     * Configuración Hikari del primario (spring.datasource.hikari.*), para que las réplicas usen los mismos
+     * timeouts, detección de fugas y propiedades del driver
+     */
+    private HikariConfig configuracionPrimario(DataSource primario) {
+        try {
+            if (primario.isWrapperFor(HikariDataSource.class)) {
+                return primario.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            log.debug("No se pudo leer la configuración del pool primario: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private HikariDataSource crearPool(String nombre, ReplicasProperties.Instancia instancia, HikariConfig primario) {
+        HikariConfig config = new HikariConfig();
+        if (primario != null) {
+            config.setConnectionTimeout(primario.getConnectionTimeout());
+            config.setValidationTimeout(primario.getValidationTimeout());
+            config.setIdleTimeout(primario.getIdleTimeout());
+            config.setMaxLifetime(primario.getMaxLifetime());
+            config.setKeepaliveTime(primario.getKeepaliveTime());
+            config.setLeakDetectionThreshold(primario.getLeakDetectionThreshold());
+            config.setDataSourceProperties(primario.getDataSourceProperties());
+        }
+        config.setPoolName("sigret-" + nombre);
+        config.setJdbcUrl(instancia.getUrl());
+        config.setUsername(instancia.getUsuario());
+        config.setPassword(instancia.getClave());
+        config.setMaximumPoolSize(properties.getTamanioPool());
+        config.setReadOnly(true);
+        // Una réplica caída al arrancar no impide levantar la aplicación: queda fuera de la ronda
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+
+    @Scheduled(fixedDelayString = "${sigret.replicas.intervalo-verificacion-ms:5000}",
+            initialDelayString = "${sigret.replicas.intervalo-verificacion-ms:5000}")
+    public void verificar() {
+        DataSourceReplicas actual = dataSourceReplicas;
+        if (actual != null) {
+            actual.verificar();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("sigret.replicas.disponibles", this, EnrutadorReplicas::replicasDisponibles)
+                .description("Réplicas de lectura en la ronda (responden y están dentro del retraso máximo)")
+                .register(registry);
+        FunctionCounter.builder("sigret.replicas.derivaciones.primario", this, EnrutadorReplicas::derivacionesAlPrimario)
+                .description("Conexiones de solo lectura servidas por el primario por falta de réplica disponible")
+                .register(registry);
+        for (int i = 0; i < properties.getInstancias().size(); i++) {
+            int indice = i;
+            Gauge.builder("sigret.replicas.retraso", this, enrutador -> enrutador.retrasoSegundos(indice))
+                    .description("Retraso de replicación medido en la última verificación (-1 = sin dato)")
+                    .baseUnit("seconds")
+                    .tag("replica", "replica-" + (i + 1))
+                    .register(registry);
+        }
+    }
+
+    private double replicasDisponibles() {
+        DataSourceReplicas actual = dataSourceReplicas;
+        return actual != null ? actual.getReplicasDisponibles() : 0;
+    }
+
+    private double derivacionesAlPrimario() {
+        DataSourceReplicas actual = dataSourceReplicas;
+        return actual != null ? actual.getDerivacionesAlPrimario() : 0;
+    }
+
+    private double retrasoSegundos(int indice) {
+        DataSourceReplicas actual = dataSourceReplicas;
+        if (actual == null) {
+            return -1;
+        }
+        Long retraso = actual.getReplicas().get(indice).getRetrasoSegundos();
+        return retraso != null ? retraso : -1;
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,157 @@
+package com.sigret.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Abre un contexto de conteo de sentencias por petición HTTP, publica el total como métrica
+ * y avisa cuando se supera el límite configurado o aparecen sentencias repetidas (N+1),
+ * indicando la asociación de entidad que las dispara.
+ */
+@Component
+@Slf4j
+public class FiltroControlSentencias extends OncePerRequestFilter {
+
+    // select ... from presupuestos p1_0 [joins] where p1_0.id_servicio=?
+    private static final Pattern CARGA_POR_COLUMNA = Pattern.compile(
+            "(?i)\\bfrom\\s+(\\w+)\\s+(\\w+)\\b.*?\\bwhere\\s+\\2\\.(\\w+)\\s*(=|in\\b)");
+
+    @Autowired
+    private ControlSentenciasProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Lazy
+    private EntityManagerFactory entityManagerFactory;
+
+    private volatile Map<String, Class<?>> entidadesPorTabla;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !Boolean.TRUE.equals(properties.getHabilitado())
+                || uri.startsWith("/actuator") || uri.startsWith("/ws-servicios");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        ContadorSentencias.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ResumenSentencias resumen = ContadorSentencias.finalizar();
+            registrar(request, resumen);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, ResumenSentencias resumen) {
+        DistributionSummary.builder("sigret.sql.sentencias.por.request")
+                .description("Sentencias SQL ejecutadas por petición HTTP")
+                .tag("metodo", request.getMethod())
+                .register(meterRegistry)
+                .record(resumen.getTotal());
+
+        String peticion = request.getMethod() + " " + request.getRequestURI();
+        if (resumen.getTotal() > properties.getLimite()) {
+            log.warn("{} ejecutó {} sentencias SQL (límite {})", peticion, resumen.getTotal(), properties.getLimite());
+        }
+
+        resumen.repetidas(properties.getUmbralRepeticiones()).forEach((sql, veces) -> {
+            meterRegistry.counter("sigret.sql.n_mas_uno", "metodo", request.getMethod()).increment();
+            log.warn("Posible N+1 en {}: {} ejecutada {} veces -> {}", peticion, describirAsociacion(sql), veces, sql);
+        });
+    }
+
+    /**
+     * Traduce una carga repetida por columna a la asociación JPA que la origina:
+     * columna FK -> colección inversa (Servicio.presupuestos); columna PK -> asociaciones *-a-uno perezosas
+     */
+    String describirAsociacion(String sql) {
+        Matcher matcher = CARGA_POR_COLUMNA.matcher(sql);
+        if (!matcher.find()) {
+            return "sentencia";
+        }
+        String tabla = matcher.group(1);
+        String columna = matcher.group(3);
+
+        Class<?> entidad = entidadesPorTabla().get(tabla.toLowerCase());
+        if (entidad == null) {
+            return tabla + "." + columna;
+        }
+
+        for (Field campo : entidad.getDeclaredFields()) {
+            JoinColumn joinColumn = campo.getAnnotation(JoinColumn.class);
+            if (joinColumn != null && joinColumn.name().equalsIgnoreCase(columna)) {
+                String inversa = buscarColeccionInversa(campo.getType(), entidad, campo.getName());
+                return inversa != null ? inversa : entidad.getSimpleName() + "." + campo.getName();
+            }
+        }
+
+        // Carga por clave primaria: proxies *-a-uno inicializados uno por uno
+        List<String> referencias = new ArrayList<>();
+        for (Class<?> otra : entidadesPorTabla().values()) {
+            for (Field campo : otra.getDeclaredFields()) {
+                if (campo.getType().equals(entidad)
+                        && (campo.isAnnotationPresent(ManyToOne.class) || campo.isAnnotationPresent(OneToOne.class))) {
+                    referencias.add(otra.getSimpleName() + "." + campo.getName());
+                }
+            }
+        }
+        return referencias.isEmpty()
+                ? entidad.getSimpleName() + " por " + columna
+                : entidad.getSimpleName() + " vía " + String.join(" / ", referencias);
+    }
+
+    private String buscarColeccionInversa(Class<?> propietaria, Class<?> entidad, String mappedBy) {
+        for (Field campo : propietaria.getDeclaredFields()) {
+            OneToMany oneToMany = campo.getAnnotation(OneToMany.class);
+            if (oneToMany != null && oneToMany.mappedBy().equals(mappedBy)
+                    && campo.getGenericType().getTypeName().contains(entidad.getName())) {
+                return propietaria.getSimpleName() + "." + campo.getName();
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Class<?>> entidadesPorTabla() {
+        if (entidadesPorTabla == null) {
+            Map<String, Class<?>> mapa = new HashMap<>();
+            for (EntityType<?> tipo : entityManagerFactory.getMetamodel().getEntities()) {
+                Table table = tipo.getJavaType().getAnnotation(Table.class);
+                if (table != null) {
+                    mapa.put(table.name().toLowerCase(), tipo.getJavaType());
+                }
+            }
+            entidadesPorTabla = mapa;
+        }
+        return entidadesPorTabla;
+    }
+}
@@ -0,0 +1,169 @@
+package com.sigret.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Limita las peticiones a la API pública de presupuestos (/api/public/presupuestos/**), la única
+ * expuesta a internet sin autenticación: una cubeta de tokens por IP y otra por token de presupuesto.
+ * La de IP frena a un cliente que recorre tokens; la de token, a los escáneres de enlaces de los
+ * correos que repiten el mismo link desde muchas IPs. Al superarse responde 429 con Retry-After,
+ * antes de Spring Security y sin tocar la base.
+ * X-Forwarded-For solo se usa si la conexión viene de un proxy de confianza, y se toma el salto más a
+ * la derecha que no sea un proxy: los de la izquierda los escribe el cliente y no pueden elegir la cubeta.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class FiltroLimitePresupuestoPublico extends OncePerRequestFilter {
+
+    static final String PREFIJO = "/api/public/presupuestos/";
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    @Autowired
+    private PresupuestoPublicoProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, CubetaTokens> cubetasPorIp;
+    private Cache<String, CubetaTokens> cubetasPorToken;
+    private List<IpAddressMatcher> proxiesConfiables;
+
+    @PostConstruct
+    public void inicializar() {
+        proxiesConfiables = properties.getProxiesConfiables().stream()
+                .map(String::trim)
+                .map(IpAddressMatcher::new)
+                .toList();
+        cubetasPorIp = crearCache(properties.getCapacidadPorIp(), properties.getRecargaPorIpPorMinuto());
+        cubetasPorToken = crearCache(properties.getCapacidadPorToken(), properties.getRecargaPorTokenPorMinuto());
+    }
+
+    /**
+     * Una cubeta sin uso durante el tiempo de recarga completa ya está llena: se puede descartar
+     */
+    private Cache<String, CubetaTokens> crearCache(int capacidad, int recargaPorMinuto) {
+        long segundosRecarga = (long) Math.ceil(capacidad * 60.0 / Math.max(1, recargaPorMinuto));
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximoClaves())
+                .expireAfterAccess(Duration.ofSeconds(Math.max(60, segundosRecarga)))
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !Boolean.TRUE.equals(properties.getLimiteHabilitado())
+                || !request.getRequestURI().startsWith(request.getContextPath() + PREFIJO);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        long ahora = System.nanoTime();
+
+        String ip = obtenerIp(request);
+        CubetaTokens cubetaIp = cubetasPorIp.get(ip, clave -> new CubetaTokens(
+                properties.getCapacidadPorIp(), properties.getRecargaPorIpPorMinuto(), ahora));
+        if (!cubetaIp.intentarConsumir(ahora)) {
+            rechazar(request, response, "ip", cubetaIp.segundosHastaDisponible(ahora));
+            return;
+        }
+
+        String token = extraerToken(request.getRequestURI());
+        if (token != null) {
+            CubetaTokens cubetaToken = cubetasPorToken.get(token, clave -> new CubetaTokens(
+                    properties.getCapacidadPorToken(), properties.getRecargaPorTokenPorMinuto(), ahora));
+            if (!cubetaToken.intentarConsumir(ahora)) {
+                rechazar(request, response, "token", cubetaToken.segundosHastaDisponible(ahora));
+                return;
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private void rechazar(HttpServletRequest request, HttpServletResponse response, String limite,
+                          long reintentarEnSegundos) throws IOException {
+        meterRegistry.counter("sigret.presupuesto.publico.limitadas", "limite", limite).increment();
+        log.debug("Límite por {} superado en {} {}", limite, request.getMethod(), request.getRequestURI());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(reintentarEnSegundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"error\":\"Demasiadas solicitudes\"," +
+                "\"message\":\"Se realizaron demasiadas solicitudes. Intente nuevamente en unos segundos.\"}");
+    }
+
+    /**
+     * /api/public/presupuestos/{accion}/{token} -> token
+     */
+    static String extraerToken(String uri) {
+        int inicio = uri.indexOf(PREFIJO);
+        if (inicio < 0) {
+            return null;
+        }
+        String resto = uri.substring(inicio + PREFIJO.length());
+        int barra = resto.indexOf('/');
+        if (barra < 0 || barra == resto.length() - 1) {
+            return null;
+        }
+        String token = resto.substring(barra + 1);
+        // Los tokens son UUID: una clave más larga solo serviría para inflar el mapa
+        return token.length() > 64 ? token.substring(0, 64) : token;
+    }
+
+    String obtenerIp(HttpServletRequest request) {
+        String cliente = request.getRemoteAddr();
+        String reenviada = request.getHeader("X-Forwarded-For");
+        if (!Boolean.TRUE.equals(properties.getUsarXForwardedFor()) || reenviada == null || !esProxyConfiable(cliente)) {
+            return cliente;
+        }
+        // De derecha a izquierda: cada salto lo agregó el proxy que está a su derecha
+        String[] saltos = reenviada.split(",");
+        for (int i = saltos.length - 1; i >= 0; i--) {
+            String salto = saltos[i].trim();
+            if (!esIpLiteral(salto)) {
+                break;
+            }
+            cliente = salto;
+            if (!esProxyConfiable(salto)) {
+                break;
+            }
+        }
+        return cliente;
+    }
+
+    private boolean esProxyConfiable(String ip) {
+        return esIpLiteral(ip) && proxiesConfiables.stream().anyMatch(proxy -> proxy.matches(ip));
+    }
+
+    /**
+     * Evita que un valor del encabezado termine en una resolución DNS
+     */
+    private static boolean esIpLiteral(String valor) {
+        return valor != null && valor.length() <= 45 && (valor.indexOf(':') >= 0 || IPV4.matcher(valor).matches());
+    }
+}
@@ -0,0 +1,93 @@
+package com.sigret.config;
+
+import com.sigret.utilities.AtributosEvento;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filtros de suscripción del lado del servidor. El cliente los indica al suscribirse con los headers
+ * "filtro-estado", "filtro-empleado-id" y "filtro-cliente-id" (varios valores separados por coma), y los
+ * frames que no coinciden con los atributos del evento se descartan antes de salir por el socket.
+ * Un frame sin el atributo filtrado (ej: una eliminación) se entrega igual.
+ * Se registra en el canal de entrada (suscripciones) y en el de salida (frames).
+ */
+@Component
+public class FiltroSuscripcionInterceptor implements ChannelInterceptor {
+
+    public static final String HEADER_ATRIBUTOS = "atributos";
+
+    private static final Map<String, String> HEADERS_FILTRO = Map.of(
+            "filtro-estado", AtributosEvento.ESTADO,
+            "filtro-empleado-id", AtributosEvento.EMPLEADO_ID,
+            "filtro-cliente-id", AtributosEvento.CLIENTE_ID
+    );
+
+    // sesión -> suscripción -> filtros
+    private final Map<String, Map<String, Map<String, Set<String>>>> filtros = new ConcurrentHashMap<>();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        SimpMessageType tipo = accessor.getMessageType();
+        String sesion = accessor.getSessionId();
+        if (tipo == null || sesion == null) {
+            return message;
+        }
+
+        switch (tipo) {
+            case SUBSCRIBE -> registrar(accessor, sesion);
+            case UNSUBSCRIBE -> {
+                Map<String, Map<String, Set<String>>> deLaSesion = filtros.get(sesion);
+                if (deLaSesion != null && accessor.getSubscriptionId() != null) {
+                    deLaSesion.remove(accessor.getSubscriptionId());
+                }
+            }
+            case DISCONNECT -> filtros.remove(sesion);
+            case MESSAGE -> {
+                return coincide(accessor, sesion) ? message : null;
+            }
+            default -> { }
+        }
+        return message;
+    }
+
+    private void registrar(SimpMessageHeaderAccessor accessor, String sesion) {
+        Map<String, Set<String>> filtro = new ConcurrentHashMap<>();
+        HEADERS_FILTRO.forEach((header, atributo) -> {
+            String valor = accessor.getFirstNativeHeader(header);
+            if (valor != null && !AtributosEvento.separarValores(valor).isEmpty()) {
+                filtro.put(atributo, AtributosEvento.separarValores(valor));
+            }
+        });
+        if (!filtro.isEmpty() && accessor.getSubscriptionId() != null) {
+            filtros.computeIfAbsent(sesion, s -> new ConcurrentHashMap<>()).put(accessor.getSubscriptionId(), filtro);
+        }
+    }
+
+    private boolean coincide(SimpMessageHeaderAccessor accessor, String sesion) {
+        Map<String, Map<String, Set<String>>> deLaSesion = filtros.get(sesion);
+        Map<String, Set<String>> filtro = deLaSesion != null && accessor.getSubscriptionId() != null
+                ? deLaSesion.get(accessor.getSubscriptionId())
+                : null;
+        if (filtro == null) {
+            return true;
+        }
+
+        Map<String, Set<String>> atributos = AtributosEvento.parsear(accessor.getFirstNativeHeader(HEADER_ATRIBUTOS));
+        for (Map.Entry<String, Set<String>> condicion : filtro.entrySet()) {
+            Set<String> valores = atributos.get(condicion.getKey());
+            if (valores != null && valores.stream().noneMatch(condicion.getValue()::contains)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
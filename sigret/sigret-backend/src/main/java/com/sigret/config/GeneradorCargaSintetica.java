@@ -0,0 +1,269 @@
+package com.sigret.config;
+
+import com.sigret.enums.EstadoPresupuesto;
+import com.sigret.enums.EstadoServicio;
+import com.sigret.enums.TipoIngreso;
+import com.sigret.enums.TipoReferencia;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Generador de datos sintéticos a escala de producción (perfil "carga").
+ * Inserta clientes, equipos, servicios, presupuestos y notificaciones con JDBC batch
+ * sobre los catálogos creados por el DataLoader. Los números de servicio/presupuesto
+ * usan los prefijos SCS/PCS para no interferir con la numeración real.
+ */
+@Component
+@Profile("carga")
+@Slf4j
+public class GeneradorCargaSintetica {
+
+    private static final String PREFIJO_SERVICIO = "SCS";
+    private static final String PREFIJO_PRESUPUESTO = "PCS";
+
+    private static final String[] NOMBRES = {"Juan", "María", "Carlos", "Lucía", "Jorge", "Ana", "Martín", "Sofía", "Diego", "Paula"};
+    private static final String[] APELLIDOS = {"González", "Rodríguez", "Fernández", "López", "Martínez", "Pérez", "Gómez", "Díaz", "Sosa", "Romero"};
+    private static final String[] FALLAS = {"No enciende", "Hace ruido al funcionar", "Pierde agua", "No calienta", "Se apaga solo", "No centrifuga"};
+    private static final String[] COLORES = {"Blanco", "Negro", "Gris", "Plateado", "Rojo"};
+
+    // Distribución aproximada de estados de un taller en régimen
+    private static final EstadoServicio[] ESTADOS_SERVICIO = {
+            EstadoServicio.FINALIZADO, EstadoServicio.FINALIZADO, EstadoServicio.FINALIZADO, EstadoServicio.FINALIZADO,
+            EstadoServicio.FINALIZADO, EstadoServicio.TERMINADO, EstadoServicio.EN_REPARACION, EstadoServicio.APROBADO,
+            EstadoServicio.PRESUPUESTADO, EstadoServicio.RECIBIDO, EstadoServicio.RECHAZADO
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CargaSinteticaProperties properties;
+
+    @Autowired
+    private AlineadorGeneradorIds alineadorGeneradorIds;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void generar() {
+        // Una sola transacción: si falla a mitad no quedan servicios SCS sueltos que hagan
+        // omitir la generación en el siguiente arranque con un dataset incompleto
+        transactionTemplate.executeWithoutResult(estado -> insertarCarga());
+    }
+
+    private void insertarCarga() {
+        Integer existentes = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM servicios WHERE numero_servicio LIKE ?", Integer.class, PREFIJO_SERVICIO + "%");
+        if (existentes != null && existentes > 0) {
+            log.info("Carga sintética ya presente ({} servicios), se omite la generación", existentes);
+            return;
+        }
+
+        List<Long> tiposPersona = jdbcTemplate.queryForList("SELECT id_tipo_persona FROM tipos_persona", Long.class);
+        List<Long> tiposDocumento = jdbcTemplate.queryForList("SELECT id_tipo_documento FROM tipos_documento", Long.class);
+        List<Long> tiposEquipo = jdbcTemplate.queryForList("SELECT id_tipo_equipo FROM tipos_equipo", Long.class);
+        List<Long> marcas = jdbcTemplate.queryForList("SELECT id_marca FROM marcas", Long.class);
+        List<Long> empleados = jdbcTemplate.queryForList("SELECT id_empleado FROM empleados WHERE activo = true", Long.class);
+        List<Long> usuarios = jdbcTemplate.queryForList("SELECT id_usuario FROM usuarios WHERE activo = true", Long.class);
+
+        if (tiposPersona.isEmpty() || tiposDocumento.isEmpty() || tiposEquipo.isEmpty()
+                || marcas.isEmpty() || empleados.isEmpty() || usuarios.isEmpty()) {
+            log.warn("Faltan catálogos base (ejecutar primero el DataLoader), se omite la carga sintética");
+            return;
+        }
+
+        long inicio = System.currentTimeMillis();
+        Random random = new Random(properties.getSemilla());
+        LocalDate hoy = LocalDate.now();
+
+        int totalClientes = properties.getClientes();
+        int totalServicios = properties.getServicios();
+        int presupuestosPorServicio = properties.getPresupuestosPorServicio();
+
+        long basePersona = siguienteId("personas", "id_persona");
+        long baseCliente = siguienteId("clientes", "id_cliente");
+        long baseEquipo = siguienteId("equipos", "id_equipo");
+        long baseClienteEquipo = siguienteId("cliente_equipos", "id_cliente_equipo");
+        long baseServicio = siguienteId("servicios", "id_servicio");
+        long basePresupuesto = siguienteId("presupuestos", "id_presupuesto");
+
+        // Personas y clientes (un equipo por cliente para simplificar la relación servicio-equipo)
+        insertarEnLotes("personas",
+                "INSERT INTO personas (id_persona, id_tipo_persona, nombre, apellido, id_tipo_documento, documento, sexo) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                totalClientes, i -> new Object[]{
+                        basePersona + i,
+                        elegir(tiposPersona, random),
+                        NOMBRES[random.nextInt(NOMBRES.length)],
+                        APELLIDOS[random.nextInt(APELLIDOS.length)],
+                        elegir(tiposDocumento, random),
+                        String.format("CS%09d", basePersona + i),
+                        random.nextBoolean() ? "M" : "F"
+                });
+
+        insertarEnLotes("clientes",
+                "INSERT INTO clientes (id_cliente, id_persona, activo) VALUES (?, ?, ?)",
+                totalClientes, i -> new Object[]{baseCliente + i, basePersona + i, true});
+
+        insertarEnLotes("equipos",
+                "INSERT INTO equipos (id_equipo, id_tipo_equipo, id_marca, num_serie, color) VALUES (?, ?, ?, ?, ?)",
+                totalClientes, i -> new Object[]{
+                        baseEquipo + i,
+                        elegir(tiposEquipo, random),
+                        elegir(marcas, random),
+                        String.format("NS-CS-%08d", i),
+                        COLORES[random.nextInt(COLORES.length)]
+                });
+
+        insertarEnLotes("cliente_equipos",
+                "INSERT INTO cliente_equipos (id_cliente_equipo, id_cliente, id_equipo, fecha_alta, activo) VALUES (?, ?, ?, ?, ?)",
+                totalClientes, i -> new Object[]{
+                        baseClienteEquipo + i, baseCliente + i, baseEquipo + i,
+                        Date.valueOf(hoy.minusDays(random.nextInt(properties.getDiasHistoria()))), true
+                });
+
+        // Servicios: se guarda estado y fecha para generar presupuestos coherentes
+        EstadoServicio[] estados = new EstadoServicio[totalServicios];
+        LocalDateTime[] fechas = new LocalDateTime[totalServicios];
+
+        insertarEnLotes("servicios",
+                "INSERT INTO servicios (id_servicio, numero_servicio, id_cliente, id_equipo, id_empleado_recepcion, tipo_ingreso, " +
+                        "falla_reportada, es_garantia, abona_visita, monto_visita, estado, fecha_creacion, fecha_recepcion, " +
+                        "fecha_devolucion_real, activo) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                totalServicios, i -> {
+                    int cliente = random.nextInt(totalClientes);
+                    EstadoServicio estado = ESTADOS_SERVICIO[random.nextInt(ESTADOS_SERVICIO.length)];
+                    LocalDateTime fecha = hoy.minusDays(random.nextInt(properties.getDiasHistoria()))
+                            .atTime(8 + random.nextInt(10), random.nextInt(60));
+                    estados[i] = estado;
+                    fechas[i] = fecha;
+                    boolean abonaVisita = random.nextInt(4) == 0;
+                    return new Object[]{
+                            baseServicio + i,
+                            String.format("%s%09d", PREFIJO_SERVICIO, baseServicio + i),
+                            baseCliente + cliente,
+                            baseEquipo + cliente,
+                            elegir(empleados, random),
+                            random.nextBoolean() ? TipoIngreso.CLIENTE_TRAE.name() : TipoIngreso.EMPRESA_BUSCA.name(),
+                            FALLAS[random.nextInt(FALLAS.length)],
+                            false,
+                            abonaVisita,
+                            abonaVisita ? new BigDecimal("5000.00") : BigDecimal.ZERO,
+                            estado.name(),
+                            Timestamp.valueOf(fecha),
+                            Date.valueOf(fecha.toLocalDate()),
+                            estado == EstadoServicio.FINALIZADO ? Date.valueOf(fecha.toLocalDate().plusDays(7 + random.nextInt(20))) : null,
+                            true
+                    };
+                });
+
+        // Presupuestos: los anteriores quedan vencidos/rechazados, el último refleja el estado del servicio
+        insertarEnLotes("presupuestos",
+                "INSERT INTO presupuestos (id_presupuesto, numero_presupuesto, id_servicio, id_empleado, diagnostico, " +
+                        "monto_repuestos_original, mano_obra, monto_total_original, mostrar_original, mostrar_alternativo, " +
+                        "estado, fecha_creacion, fecha_vencimiento) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                totalServicios * presupuestosPorServicio, i -> {
+                    int servicio = i / presupuestosPorServicio;
+                    boolean ultimo = (i % presupuestosPorServicio) == presupuestosPorServicio - 1;
+                    EstadoPresupuesto estado = ultimo
+                            ? estadoPresupuestoPara(estados[servicio])
+                            : (random.nextBoolean() ? EstadoPresupuesto.VENCIDO : EstadoPresupuesto.RECHAZADO);
+                    BigDecimal repuestos = BigDecimal.valueOf(1000 + random.nextInt(90000));
+                    BigDecimal manoObra = BigDecimal.valueOf(5000 + random.nextInt(40000));
+                    LocalDateTime fecha = fechas[servicio].plusDays(1 + (i % presupuestosPorServicio));
+                    return new Object[]{
+                            basePresupuesto + i,
+                            String.format("%s%09d", PREFIJO_PRESUPUESTO, basePresupuesto + i),
+                            baseServicio + servicio,
+                            elegir(empleados, random),
+                            "Diagnóstico generado para pruebas de carga",
+                            repuestos,
+                            manoObra,
+                            repuestos.add(manoObra),
+                            true,
+                            false,
+                            estado.name(),
+                            Timestamp.valueOf(fecha),
+                            Date.valueOf(fecha.toLocalDate().plusDays(15))
+                    };
+                });
+
+        // Las notificaciones usan el generador de ids por tabla: el rango se reserva ahí
+        long baseNotificacion = alineadorGeneradorIds.reservar("notificaciones", properties.getNotificaciones());
+        insertarEnLotes("notificaciones",
+                "INSERT INTO notificaciones (id_notificacion, mensaje, tipo, leida, fecha_creacion, id_usuario, referencia_id, " +
+                        "tipo_referencia, icono, severidad) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                properties.getNotificaciones(), i -> {
+                    int servicio = random.nextInt(totalServicios);
+                    return new Object[]{
+                            baseNotificacion + i,
+                            "Servicio " + PREFIJO_SERVICIO + String.format("%09d", baseServicio + servicio) + " cambió de estado",
+                            "SERVICIO_ESTADO",
+                            random.nextInt(100) < 85,
+                            Timestamp.valueOf(fechas[servicio].plusHours(random.nextInt(72))),
+                            elegir(usuarios, random),
+                            baseServicio + servicio,
+                            TipoReferencia.SERVICIO.name(),
+                            "pi pi-sync",
+                            "info"
+                    };
+                });
+
+        log.info("Carga sintética completada en {} ms: {} clientes, {} servicios, {} presupuestos, {} notificaciones",
+                System.currentTimeMillis() - inicio, totalClientes, totalServicios,
+                totalServicios * presupuestosPorServicio, properties.getNotificaciones());
+    }
+
+    private void insertarEnLotes(String tabla, String sql, int total, IntFunction<Object[]> fila) {
+        int tamanioLote = properties.getTamanioLote();
+        long inicio = System.currentTimeMillis();
+        List<Object[]> lote = new ArrayList<>(tamanioLote);
+
+        for (int i = 0; i < total; i++) {
+            lote.add(fila.apply(i));
+            if (lote.size() == tamanioLote) {
+                jdbcTemplate.batchUpdate(sql, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, lote);
+        }
+
+        log.info("Carga sintética: {} filas en {} ({} ms)", total, tabla, System.currentTimeMillis() - inicio);
+    }
+
+    private long siguienteId(String tabla, String columnaId) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(" + columnaId + ") FROM " + tabla, Long.class);
+        return (max != null ? max : 0L) + 1;
+    }
+
+    private EstadoPresupuesto estadoPresupuestoPara(EstadoServicio estadoServicio) {
+        return switch (estadoServicio) {
+            case RECIBIDO -> EstadoPresupuesto.PENDIENTE;
+            case PRESUPUESTADO -> EstadoPresupuesto.ENVIADO;
+            case RECHAZADO -> EstadoPresupuesto.RECHAZADO;
+            default -> EstadoPresupuesto.APROBADO;
+        };
+    }
+
+    private static Long elegir(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.sigret.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Modo hilos virtuales, opcional (spring.threads.virtual.enabled=true). Spring Boot ya ejecuta sobre hilos
+ * virtuales las peticiones de Tomcat, los métodos @Async y las tareas @Scheduled; acá se agrega
+ * lo que el modo necesita para ser seguro: un semáforo delante de Hikari y, si se pide con
+ * sigret.hilos-virtuales.diagnostico-pinning=true, el diagnóstico de pinning por JFR.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class HilosVirtualesConfig {
+
+    /**
+     * Orden del post-procesador del semáforo: tiene que envolver al HikariDataSource antes que
+     * cualquier otro envoltorio del DataSource (ver ReplicasConfig)
+     */
+    public static final int ORDEN_SEMAFORO = 0;
+
+    @Bean
+    public static SemaforoDataSourcePostProcessor semaforoDataSource(ObjectProvider<HilosVirtualesProperties> propertiesProvider) {
+        return new SemaforoDataSourcePostProcessor(propertiesProvider);
+    }
+
+    @Bean
+    public MeterBinder metricasSemaforoDataSource(DataSource dataSource) {
+        return registry -> {
+            DataSource actual = dataSource;
+            while (!(actual instanceof DataSourceConSemaforo) && actual instanceof DelegatingDataSource delegado) {
+                actual = delegado.getTargetDataSource();
+            }
+            if (actual instanceof DataSourceConSemaforo semaforo) {
+                Gauge.builder("sigret.datasource.semaforo.esperando", semaforo, DataSourceConSemaforo::getHilosEsperando)
+                        .description("Hilos esperando permiso para pedir una conexión JDBC")
+                        .register(registry);
+                Gauge.builder("sigret.datasource.semaforo.disponibles", semaforo, DataSourceConSemaforo::getPermisosDisponibles)
+                        .description("Permisos de conexión libres")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sigret.hilos-virtuales.diagnostico-pinning", havingValue = "true")
+    public MonitorPinningHilosVirtuales monitorPinningHilosVirtuales(HilosVirtualesProperties properties,
+                                                                      MeterRegistry meterRegistry) {
+        return new MonitorPinningHilosVirtuales(properties.getUmbralPinningMs(), meterRegistry);
+    }
+
+    static class SemaforoDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<HilosVirtualesProperties> propertiesProvider;
+
+        SemaforoDataSourcePostProcessor(ObjectProvider<HilosVirtualesProperties> propertiesProvider) {
+            this.propertiesProvider = propertiesProvider;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikari)) {
+                return bean;
+            }
+            HilosVirtualesProperties properties = propertiesProvider.getObject();
+            int permisos = properties.getPermisosConexion() != null
+                    ? properties.getPermisosConexion()
+                    : hikari.getMaximumPoolSize();
+            log.info("Hilos virtuales: semáforo de {} permisos delante del pool '{}'", permisos, beanName);
+            return new DataSourceConSemaforo(hikari, permisos, properties.getEsperaConexionMs());
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDEN_SEMAFORO;
+        }
+    }
+}
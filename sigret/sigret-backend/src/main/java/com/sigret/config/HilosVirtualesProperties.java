@@ -0,0 +1,50 @@
+package com.sigret.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sigret.hilos-virtuales")
+public class HilosVirtualesProperties {
+
+    private Integer permisosConexion;
+    private Long esperaConexionMs = 30000L;
+    private Boolean diagnosticoPinning = false;
+    private Long umbralPinningMs = 20L;
+
+    // Constructors
+    public HilosVirtualesProperties() {}
+
+    // Getters and Setters
+    public Integer getPermisosConexion() {
+        return permisosConexion;
+    }
+
+    public void setPermisosConexion(Integer permisosConexion) {
+        this.permisosConexion = permisosConexion;
+    }
+
+    public Long getEsperaConexionMs() {
+        return esperaConexionMs;
+    }
+
+    public void setEsperaConexionMs(Long esperaConexionMs) {
+        this.esperaConexionMs = esperaConexionMs;
+    }
+
+    public Boolean getDiagnosticoPinning() {
+        return diagnosticoPinning;
+    }
+
+    public void setDiagnosticoPinning(Boolean diagnosticoPinning) {
+        this.diagnosticoPinning = diagnosticoPinning;
+    }
+
+    public Long getUmbralPinningMs() {
+        return umbralPinningMs;
+    }
+
+    public void setUmbralPinningMs(Long umbralPinningMs) {
+        this.umbralPinningMs = umbralPinningMs;
+    }
+}
@@ -0,0 +1,81 @@
+package com.sigret.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mide el tiempo hasta la primera petición atendida, contado desde el inicio de la JVM: incluye la
+ * carga de clases (lo que acorta el archivo CDS), el refresco del contexto (lo que acorta AOT), los
+ * CommandLineRunner (DataLoader) y la inicialización perezosa que paga la primera petición.
+ * Spring Boot ya publica application.started.time y application.ready.time; esto agrega
+ * sigret.arranque.primera.peticion. Las peticiones a /actuator (sondas) no cuentan.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class MedicionArranque extends OncePerRequestFilter {
+
+    private final AtomicBoolean medida = new AtomicBoolean();
+
+    private volatile long listoMs = -1;
+    private volatile long primeraPeticionMs = -1;
+
+    @Autowired
+    private ArranqueProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void contextoListo() {
+        listoMs = desdeInicioJvm();
+        TimeGauge.builder("sigret.arranque.primera.peticion", this, TimeUnit.MILLISECONDS,
+                        medicion -> medicion.primeraPeticionMs < 0 ? Double.NaN : medicion.primeraPeticionMs)
+                .description("Tiempo desde el inicio de la JVM hasta la primera petición atendida")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return medida.get() || !Boolean.TRUE.equals(properties.getMedirPrimeraPeticion())
+                || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (medida.compareAndSet(false, true)) {
+                primeraPeticionMs = desdeInicioJvm();
+                log.info("Primera petición ({} {}) atendida a los {} ms del inicio de la JVM " +
+                                "(contexto listo a los {} ms, la petición tardó {} ms)",
+                        request.getMethod(), request.getRequestURI(), primeraPeticionMs, listoMs,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+            }
+        }
+    }
+
+    private static long desdeInicioJvm() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
@@ -0,0 +1,26 @@
+package com.sigret.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita @Timed sobre los servicios (PDF, email, notificaciones, WebSocket) y registra
+ * el contador de sentencias SQL por petición en Hibernate.
+ * Las métricas quedan publicadas bajo el prefijo "sigret" en /actuator/prometheus.
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer inspectorSentencias(ContadorSentencias contadorSentencias) {
+        return hibernateProperties -> hibernateProperties.put("hibernate.session_factory.statement_inspector", contadorSentencias);
+    }
+}
@@ -0,0 +1,70 @@
+package com.sigret.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Escucha el evento JFR jdk.VirtualThreadPinned: un hilo virtual que se bloquea dentro de un bloque
+ * synchronized (driver JDBC, iText, etc.) retiene su hilo portador. Cada aparición se registra con
+ * el origen y la pila para poder ubicar la sección sincronizada.
+ */
+@Slf4j
+public class MonitorPinningHilosVirtuales implements InitializingBean, DisposableBean {
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final int FRAMES_A_MOSTRAR = 8;
+
+    private final long umbralMs;
+    private final MeterRegistry meterRegistry;
+    private RecordingStream stream;
+
+    public MonitorPinningHilosVirtuales(long umbralMs, MeterRegistry meterRegistry) {
+        this.umbralMs = umbralMs;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(Duration.ofMillis(umbralMs)).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+        log.info("Diagnóstico de pinning de hilos virtuales activo (umbral {} ms)", umbralMs);
+    }
+
+    private void registrar(RecordedEvent evento) {
+        List<RecordedFrame> frames = evento.getStackTrace() != null ? evento.getStackTrace().getFrames() : List.of();
+
+        String origen = frames.stream()
+                .map(frame -> frame.getMethod().getType().getName())
+                .filter(clase -> !clase.startsWith("java.") && !clase.startsWith("jdk.") && !clase.startsWith("sun."))
+                .findFirst()
+                .orElse("desconocido");
+
+        meterRegistry.counter("sigret.hilos_virtuales.pinning", "origen", origen).increment();
+
+        String pila = frames.stream()
+                .limit(FRAMES_A_MOSTRAR)
+                .map(frame -> "    at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+        log.warn("Hilo virtual fijado a su portador durante {} ms (origen {}):\n{}",
+                evento.getDuration().toMillis(), origen, pila);
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.sigret.config;
+
+import jakarta.persistence.Entity;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Metadatos de alcanzabilidad para la imagen nativa (mvn -Pnative native:compile).
+ * Spring AOT ya cubre beans, repositorios, entidades JPA y los tipos de @RequestBody/@ResponseBody
+ * declarados; acá se agrega lo que se resuelve por reflexión o por nombre en tiempo de ejecución.
+ * En la JVM estos hints no tienen efecto.
+ */
+@Configuration
+@ImportRuntimeHints(NativoConfig.HintsNativos.class)
+public class NativoConfig {
+
+    // Serializados por Jackson (respuestas con ResponseEntity<?>, eventos del outbox y del WebSocket, springdoc)
+    static final String[] PAQUETES_JSON = {"com.sigret.dtos", "com.sigret.eventos", "com.sigret.entities"};
+
+    // jjwt-api crea la implementación por nombre (io.jsonwebtoken.lang.Classes.newInstance)
+    static final String[] CLASES_JJWT = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    static final String[] RECURSOS = {
+            "logos/*",                                  // PDF y emails
+            "com/itextpdf/io/font/**",                  // métricas AFM de las fuentes estándar (Helvetica) y cmaps
+            "META-INF/services/io.jsonwebtoken.*",      // serializador JSON de jjwt
+            "META-INF/resources/webjars/swagger-ui/**"  // springdoc
+    };
+
+    static class HintsNativos implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            BindingReflectionHintsRegistrar binding = new BindingReflectionHintsRegistrar();
+            for (String paquete : PAQUETES_JSON) {
+                for (Class<?> tipo : clases(paquete, classLoader)) {
+                    binding.registerReflectionHints(hints.reflection(), tipo);
+                }
+            }
+
+            // FiltroControlSentencias recorre los campos de las entidades para describir los N+1
+            for (Class<?> entidad : clases("com.sigret.entities", classLoader)) {
+                if (entidad.isAnnotationPresent(Entity.class)) {
+                    hints.reflection().registerType(entidad, MemberCategory.DECLARED_FIELDS);
+                }
+            }
+
+            for (String clase : CLASES_JJWT) {
+                hints.reflection().registerTypeIfPresent(classLoader, clase,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+
+            for (String recurso : RECURSOS) {
+                hints.resources().registerPattern(recurso);
+            }
+        }
+
+        /**
+         * Todas las clases del paquete (incluidas enums y clases anidadas); se ejecuta al procesar AOT
+         */
+        static List<Class<?>> clases(String paquete, ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider escaner = new ClassPathScanningCandidateComponentProvider(false) {
+                @Override
+                protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                    return true;
+                }
+            };
+            escaner.setResourceLoader(new DefaultResourceLoader(classLoader));
+            escaner.addIncludeFilter((lector, fabrica) -> true);
+
+            List<Class<?>> clases = new ArrayList<>();
+            for (BeanDefinition definicion : escaner.findCandidateComponents(paquete)) {
+                clases.add(ClassUtils.resolveClassName(definicion.getBeanClassName(), classLoader));
+            }
+            return clases;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.sigret.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Valida al arrancar la configuración del pool Hikari (spring.datasource.hikari.*) antes de que se abra
+ * la primera conexión: Hikari corrige o ignora en silencio varios valores inválidos (detección de fugas
+ * con umbral mayor a max-lifetime, connection-timeout menor a 250 ms, ...) y un pool mayor que lo que
+ * admite el servidor solo falla bajo carga. Con sigret.pool-conexiones.validacion-estricta=false los
+ * problemas se registran como advertencias.
+ * Las métricas del pool (hikaricp.connections.pending, .acquire, .usage, .timeout) las publica Spring Boot.
+ */
+@Configuration
+@Slf4j
+public class PoolConexionesConfig {
+
+    /**
+     * Antes del semáforo de hilos virtuales, mientras el bean todavía es el HikariDataSource
+     */
+    public static final int ORDEN_VALIDACION = HilosVirtualesConfig.ORDEN_SEMAFORO - 10;
+
+    private static final long CONNECTION_TIMEOUT_MINIMO_MS = 250;
+    private static final long MAX_LIFETIME_MINIMO_MS = 30000;
+    private static final long UMBRAL_FUGAS_MINIMO_MS = 2000;
+
+    @Bean
+    public static ValidacionPoolPostProcessor validacionPoolConexiones(ObjectProvider<PoolConexionesProperties> propertiesProvider,
+                                                                       ObjectProvider<HilosVirtualesProperties> hilosVirtualesProvider,
+                                                                       Environment environment) {
+        return new ValidacionPoolPostProcessor(propertiesProvider, hilosVirtualesProvider, environment);
+    }
+
+    /**
+     * @param permisosSemaforo permisos del semáforo de hilos virtuales, o null si no hay semáforo
+     * @return descripción de cada problema encontrado; vacía si la configuración es válida
+     */
+    static List<String> validar(HikariConfig hikari, PoolConexionesProperties properties, Integer permisosSemaforo) {
+        List<String> problemas = new ArrayList<>();
+        int maximo = hikari.getMaximumPoolSize();
+
+        if (hikari.getMinimumIdle() > maximo) {
+            problemas.add("minimum-idle (" + hikari.getMinimumIdle() + ") es mayor que maximum-pool-size (" + maximo + ")");
+        }
+        if (hikari.getConnectionTimeout() == 0 || hikari.getConnectionTimeout() < CONNECTION_TIMEOUT_MINIMO_MS) {
+            problemas.add("connection-timeout (" + hikari.getConnectionTimeout() + " ms) debe ser al menos "
+                    + CONNECTION_TIMEOUT_MINIMO_MS + " ms y no infinito: sin tope, una ráfaga deja peticiones colgadas");
+        }
+        if (hikari.getMaxLifetime() != 0 && hikari.getMaxLifetime() < MAX_LIFETIME_MINIMO_MS) {
+            problemas.add("max-lifetime (" + hikari.getMaxLifetime() + " ms) es menor que " + MAX_LIFETIME_MINIMO_MS + " ms");
+        }
+        if (hikari.getKeepaliveTime() > 0 && hikari.getMaxLifetime() > 0 && hikari.getKeepaliveTime() >= hikari.getMaxLifetime()) {
+            problemas.add("keepalive-time (" + hikari.getKeepaliveTime() + " ms) debe ser menor que max-lifetime ("
+                    + hikari.getMaxLifetime() + " ms)");
+        }
+        long umbralFugas = hikari.getLeakDetectionThreshold();
+        if (umbralFugas > 0 && (umbralFugas < UMBRAL_FUGAS_MINIMO_MS
+                || (hikari.getMaxLifetime() > 0 && umbralFugas >= hikari.getMaxLifetime()))) {
+            problemas.add("leak-detection-threshold (" + umbralFugas + " ms) debe estar entre " + UMBRAL_FUGAS_MINIMO_MS
+                    + " ms y max-lifetime; fuera de ese rango Hikari desactiva la detección de fugas");
+        }
+        long conexionesTotales = (long) maximo * properties.getInstancias();
+        if (conexionesTotales > properties.getConexionesMaximasServidor()) {
+            problemas.add(properties.getInstancias() + " instancia(s) x maximum-pool-size " + maximo + " = " + conexionesTotales
+                    + " conexiones, más que las " + properties.getConexionesMaximasServidor() + " que admite el servidor (max_connections)");
+        }
+        if (permisosSemaforo != null && permisosSemaforo > maximo) {
+            problemas.add("sigret.hilos-virtuales.permisos-conexion (" + permisosSemaforo + ") es mayor que maximum-pool-size ("
+                    + maximo + "): los hilos sobrantes esperarían dentro de Hikari en vez de en el semáforo");
+        }
+        if (hikari.getJdbcUrl() != null && hikari.getJdbcUrl().startsWith("jdbc:mysql:")
+                && !"true".equalsIgnoreCase(hikari.getDataSourceProperties().getProperty("cachePrepStmts"))) {
+            problemas.add("cachePrepStmts no está activo en data-source-properties: cada sentencia se vuelve a preparar");
+        }
+        return problemas;
+    }
+
+    static class ValidacionPoolPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<PoolConexionesProperties> propertiesProvider;
+        private final ObjectProvider<HilosVirtualesProperties> hilosVirtualesProvider;
+        private final Environment environment;
+
+        ValidacionPoolPostProcessor(ObjectProvider<PoolConexionesProperties> propertiesProvider,
+                                    ObjectProvider<HilosVirtualesProperties> hilosVirtualesProvider,
+                                    Environment environment) {
+            this.propertiesProvider = propertiesProvider;
+            this.hilosVirtualesProvider = hilosVirtualesProvider;
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikari)) {
+                return bean;
+            }
+            PoolConexionesProperties properties = propertiesProvider.getObject();
+            Integer permisos = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                    ? hilosVirtualesProvider.getObject().getPermisosConexion()
+                    : null;
+
+            List<String> problemas = validar(hikari, properties, permisos);
+            if (problemas.isEmpty()) {
+                log.info("Pool '{}': {} conexiones, connection-timeout {} ms, max-lifetime {} ms, detección de fugas {}",
+                        hikari.getPoolName(), hikari.getMaximumPoolSize(), hikari.getConnectionTimeout(), hikari.getMaxLifetime(),
+                        hikari.getLeakDetectionThreshold() > 0 ? hikari.getLeakDetectionThreshold() + " ms" : "desactivada");
+                return bean;
+            }
+            String detalle = "Configuración del pool '" + beanName + "' inválida:\n - " + String.join("\n - ", problemas);
+            if (Boolean.TRUE.equals(properties.getValidacionEstricta())) {
+                throw new IllegalStateException(detalle);
+            }
+            log.warn(detalle);
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDEN_VALIDACION;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.sigret.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sigret.pool-conexiones")
+public class PoolConexionesProperties {
+
+    private Boolean validacionEstricta = true;
+    private Integer conexionesMaximasServidor = 151;
+    private Integer instancias = 1;
+
+    // Constructors
+    public PoolConexionesProperties() {}
+
+    // Getters and Setters
+    public Boolean getValidacionEstricta() {
+        return validacionEstricta;
+    }
+
+    public void setValidacionEstricta(Boolean validacionEstricta) {
+        this.validacionEstricta = validacionEstricta;
+    }
+
+    public Integer getConexionesMaximasServidor() {
+        return conexionesMaximasServidor;
+    }
+
+    public void setConexionesMaximasServidor(Integer conexionesMaximasServidor) {
+        this.conexionesMaximasServidor = conexionesMaximasServidor;
+    }
+
+    public Integer getInstancias() {
+        return instancias;
+    }
+
+    public void setInstancias(Integer instancias) {
+        this.instancias = instancias;
+    }
+}
@@ -0,0 +1,107 @@
+package com.sigret.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "sigret.presupuesto-publico")
+public class PresupuestoPublicoProperties {
+
+    private Boolean limiteHabilitado = true;
+    private Integer capacidadPorIp = 30;
+    private Integer recargaPorIpPorMinuto = 30;
+    private Integer capacidadPorToken = 10;
+    private Integer recargaPorTokenPorMinuto = 6;
+    private Boolean usarXForwardedFor = false;
+    private List<String> proxiesConfiables = new ArrayList<>(List.of("127.0.0.1", "::1"));
+    private Integer maximoClaves = 100000;
+    private Integer cacheSegundos = 60;
+    private Integer cacheMaximo = 10000;
+
+    // Constructors
+    public PresupuestoPublicoProperties() {}
+
+    // Getters and Setters
+    public Boolean getLimiteHabilitado() {
+        return limiteHabilitado;
+    }
+
+    public void setLimiteHabilitado(Boolean limiteHabilitado) {
+        this.limiteHabilitado = limiteHabilitado;
+    }
+
+    public Integer getCapacidadPorIp() {
+        return capacidadPorIp;
+    }
+
+    public void setCapacidadPorIp(Integer capacidadPorIp) {
+        this.capacidadPorIp = capacidadPorIp;
+    }
+
+    public Integer getRecargaPorIpPorMinuto() {
+        return recargaPorIpPorMinuto;
+    }
+
+    public void setRecargaPorIpPorMinuto(Integer recargaPorIpPorMinuto) {
+        this.recargaPorIpPorMinuto = recargaPorIpPorMinuto;
+    }
+
+    public Integer getCapacidadPorToken() {
+        return capacidadPorToken;
+    }
+
+    public void setCapacidadPorToken(Integer capacidadPorToken) {
+        this.capacidadPorToken = capacidadPorToken;
+    }
+
+    public Integer getRecargaPorTokenPorMinuto() {
+        return recargaPorTokenPorMinuto;
+    }
+
+    public void setRecargaPorTokenPorMinuto(Integer recargaPorTokenPorMinuto) {
+        this.recargaPorTokenPorMinuto = recargaPorTokenPorMinuto;
+    }
+
+    public Boolean getUsarXForwardedFor() {
+        return usarXForwardedFor;
+    }
+
+    public void setUsarXForwardedFor(Boolean usarXForwardedFor) {
+        this.usarXForwardedFor = usarXForwardedFor;
+    }
+
+    public List<String> getProxiesConfiables() {
+        return proxiesConfiables;
+    }
+
+    public void setProxiesConfiables(List<String> proxiesConfiables) {
+        this.proxiesConfiables = proxiesConfiables;
+    }
+
+    public Integer getMaximoClaves() {
+        return maximoClaves;
+    }
+
+    public void setMaximoClaves(Integer maximoClaves) {
+        this.maximoClaves = maximoClaves;
+    }
+
+    public Integer getCacheSegundos() {
+        return cacheSegundos;
+    }
+
+    public void setCacheSegundos(Integer cacheSegundos) {
+        this.cacheSegundos = cacheSegundos;
+    }
+
+    public Integer getCacheMaximo() {
+        return cacheMaximo;
+    }
+
+    public void setCacheMaximo(Integer cacheMaximo) {
+        this.cacheMaximo = cacheMaximo;
+    }
+}
@@ -0,0 +1,121 @@
+package com.sigret.config;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Enrutamiento lectura/escritura (sigret.replicas.habilitado=true). El DataSource de la aplicación pasa
+ * a ser un LazyConnectionDataSourceProxy: las transacciones @Transactional(readOnly = true) (dashboard,
+ * listados, PDF) marcan la conexión como de solo lectura antes de usarla y el proxy la pide a
+ * DataSourceReplicas; el resto sigue yendo al primario.
+ * Las lecturas pueden ver datos con hasta sigret.replicas.retraso-maximo-segundos de atraso; para que ese
+ * atraso no quede guardado en la caché de segundo nivel, esas transacciones la leen pero no la cargan.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sigret.replicas.habilitado", havingValue = "true")
+@Slf4j
+public class ReplicasConfig {
+
+    /**
+     * Después del semáforo de hilos virtuales, que necesita ver el HikariDataSource original
+     */
+    public static final int ORDEN_ENRUTAMIENTO = HilosVirtualesConfig.ORDEN_SEMAFORO + 10;
+
+    @Bean
+    public static EnrutamientoLecturaPostProcessor enrutamientoLectura(ObjectProvider<EnrutadorReplicas> enrutadorProvider) {
+        return new EnrutamientoLecturaPostProcessor(enrutadorProvider);
+    }
+
+    @Bean
+    public static DialectoLecturaPostProcessor dialectoLectura() {
+        return new DialectoLecturaPostProcessor();
+    }
+
+    static class EnrutamientoLecturaPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<EnrutadorReplicas> enrutadorProvider;
+
+        EnrutamientoLecturaPostProcessor(ObjectProvider<EnrutadorReplicas> enrutadorProvider) {
+            this.enrutadorProvider = enrutadorProvider;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource primario) || bean instanceof LazyConnectionDataSourceProxy) {
+                return bean;
+            }
+            LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primario);
+            proxy.setReadOnlyDataSource(enrutadorProvider.getObject().crearDataSourceLectura(primario));
+            log.info("DataSource '{}': transacciones de solo lectura enrutadas a las réplicas", beanName);
+            return proxy;
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDEN_ENRUTAMIENTO;
+        }
+    }
+
+    /**
+     * Instala el dialecto antes de que el EntityManagerFactory tome el del HibernateJpaVendorAdapter
+     */
+    static class DialectoLecturaPostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            if (bean instanceof AbstractEntityManagerFactoryBean factory) {
+                factory.setJpaDialect(new DialectoLecturaSinCache());
+            }
+            return bean;
+        }
+    }
+
+    /**
+     * En las transacciones de solo lectura la sesión pasa a CacheMode.GET: usa lo que ya esté en la caché
+     * de entidades/consultas pero no guarda lo leído de una réplica atrasada. Al terminar se restaura el modo
+     * anterior (con open-in-view la misma sesión atiende otras transacciones del request).
+     */
+    static class DialectoLecturaSinCache extends HibernateJpaDialect {
+
+        @Override
+        public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+                throws SQLException {
+            Object datos = super.beginTransaction(entityManager, definition);
+            if (!definition.isReadOnly()) {
+                return datos;
+            }
+            Session session = entityManager.unwrap(Session.class);
+            CacheMode anterior = session.getCacheMode();
+            session.setCacheMode(CacheMode.GET);
+            return new LecturaSinCache(datos, session, anterior);
+        }
+
+        @Override
+        public void cleanupTransaction(Object transactionData) {
+            if (transactionData instanceof LecturaSinCache lectura) {
+                lectura.session().setCacheMode(lectura.anterior());
+                super.cleanupTransaction(lectura.datos());
+                return;
+            }
+            super.cleanupTransaction(transactionData);
+        }
+
+        record LecturaSinCache(Object datos, Session session, CacheMode anterior) {
+        }
+    }
+}
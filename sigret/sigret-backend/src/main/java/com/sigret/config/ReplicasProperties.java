@@ -0,0 +1,106 @@
+package com.sigret.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "sigret.replicas")
+public class ReplicasProperties {
+
+    private Boolean habilitado = false;
+    private List<Instancia> instancias = new ArrayList<>();
+    private Long retrasoMaximoSegundos = 5L;
+    private Long intervaloVerificacionMs = 5000L;
+    private String consultaRetraso = "SHOW REPLICA STATUS";
+    private Integer tamanioPool = 10;
+
+    // Constructors
+    public ReplicasProperties() {}
+
+    // Getters and Setters
+    public Boolean getHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(Boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public List<Instancia> getInstancias() {
+        return instancias;
+    }
+
+    public void setInstancias(List<Instancia> instancias) {
+        this.instancias = instancias;
+    }
+
+    public Long getRetrasoMaximoSegundos() {
+        return retrasoMaximoSegundos;
+    }
+
+    public void setRetrasoMaximoSegundos(Long retrasoMaximoSegundos) {
+        this.retrasoMaximoSegundos = retrasoMaximoSegundos;
+    }
+
+    public Long getIntervaloVerificacionMs() {
+        return intervaloVerificacionMs;
+    }
+
+    public void setIntervaloVerificacionMs(Long intervaloVerificacionMs) {
+        this.intervaloVerificacionMs = intervaloVerificacionMs;
+    }
+
+    public String getConsultaRetraso() {
+        return consultaRetraso;
+    }
+
+    public void setConsultaRetraso(String consultaRetraso) {
+        this.consultaRetraso = consultaRetraso;
+    }
+
+    public Integer getTamanioPool() {
+        return tamanioPool;
+    }
+
+    public void setTamanioPool(Integer tamanioPool) {
+        this.tamanioPool = tamanioPool;
+    }
+
+    /**
+     * Réplica de lectura (MySQL con replicación desde el primario, o cualquier base JDBC para pruebas)
+     */
+    public static class Instancia {
+
+        private String url;
+        private String usuario;
+        private String clave;
+
+        // Getters and Setters
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsuario() {
+            return usuario;
+        }
+
+        public void setUsuario(String usuario) {
+            this.usuario = usuario;
+        }
+
+        public String getClave() {
+            return clave;
+        }
+
+        public void setClave(String clave) {
+            this.clave = clave;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.sigret.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sentencias SQL ejecutadas durante una petición, agrupadas por sentencia normalizada.
+ */
+@Getter
+@AllArgsConstructor
+public class ResumenSentencias {
+
+    private final int total;
+    private final Map<String, Integer> porSentencia;
+
+    /**
+     * Sentencias repetidas al menos {@code umbral} veces (candidatas a N+1)
+     */
+    public Map<String, Integer> repetidas(int umbral) {
+        Map<String, Integer> repetidas = new LinkedHashMap<>();
+        porSentencia.forEach((sql, veces) -> {
+            if (veces >= umbral) {
+                repetidas.put(sql, veces);
+            }
+        });
+        return repetidas;
+    }
+}
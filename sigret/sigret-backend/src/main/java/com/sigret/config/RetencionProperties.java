@@ -0,0 +1,97 @@
+package com.sigret.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "sigret.retencion")
+public class RetencionProperties {
+
+    private Boolean habilitado = true;
+    private String cron = "0 0 2 * * *";
+    private Integer tamanioLote = 1000;
+    private Long pausaEntreLotesMs = 50L;
+    private Integer maximoLotesPorPasada = 1000;
+    private Map<String, Politica> politicas = new HashMap<>();
+
+    // Constructors
+    public RetencionProperties() {}
+
+    // Getters and Setters
+    public Boolean getHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(Boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public Integer getTamanioLote() {
+        return tamanioLote;
+    }
+
+    public void setTamanioLote(Integer tamanioLote) {
+        this.tamanioLote = tamanioLote;
+    }
+
+    public Long getPausaEntreLotesMs() {
+        return pausaEntreLotesMs;
+    }
+
+    public void setPausaEntreLotesMs(Long pausaEntreLotesMs) {
+        this.pausaEntreLotesMs = pausaEntreLotesMs;
+    }
+
+    public Integer getMaximoLotesPorPasada() {
+        return maximoLotesPorPasada;
+    }
+
+    public void setMaximoLotesPorPasada(Integer maximoLotesPorPasada) {
+        this.maximoLotesPorPasada = maximoLotesPorPasada;
+    }
+
+    public Map<String, Politica> getPoliticas() {
+        return politicas;
+    }
+
+    public void setPoliticas(Map<String, Politica> politicas) {
+        this.politicas = politicas;
+    }
+
+    /**
+     * Ajustes de una política de RetencionServiceImpl.POLITICAS; los valores nulos toman los de la política
+     */
+    public static class Politica {
+
+        private Boolean habilitada;
+        private Integer diasRetencion;
+
+        // Getters and Setters
+        public Boolean getHabilitada() {
+            return habilitada;
+        }
+
+        public void setHabilitada(Boolean habilitada) {
+            this.habilitada = habilitada;
+        }
+
+        public Integer getDiasRetencion() {
+            return diasRetencion;
+        }
+
+        public void setDiasRetencion(Integer diasRetencion) {
+            this.diasRetencion = diasRetencion;
+        }
+    }
+}
@@ -72,6 +72,8 @@ public class SecurityConfig {
 
                         // Endpoints para Actuator (opcional)
                         .requestMatchers("/actuator/health").permitAll()
+                        // Scrape de Prometheus: actuator solo escucha en management.server.port, nunca en el puerto público
+                        .requestMatchers("/actuator/prometheus").permitAll()
 
                         // Endpoints de documentación Swagger/OpenAPI
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
@@ -85,6 +87,7 @@ public class SecurityConfig {
 
                         // WebSocket endpoint (la autenticación se maneja en el interceptor)
                         .requestMatchers("/ws-servicios/**").permitAll()
+                        .requestMatchers("/ws").permitAll()
 
                         // Endpoints específicos por rol
                         .requestMatchers("/api/admin/**").hasRole("PROPIETARIO")
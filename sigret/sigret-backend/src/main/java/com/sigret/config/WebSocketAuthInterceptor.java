@@ -1,6 +1,8 @@
 package com.sigret.config;
 
+import com.sigret.security.PrincipalJwt;
 import com.sigret.utilities.JwtUtil;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -13,75 +15,93 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
+@Slf4j
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
+    public static final String ATRIBUTO_PRINCIPAL = "sigret.principalJwt";
+    private static final int MAX_TOKENS_VERIFICADOS = 10000;
+
     @Autowired
     private JwtUtil jwtUtil;
 
+    // Tokens ya verificados: en una ola de reconexiones (ej: después de un deploy) cada cliente vuelve
+    // con el mismo token y no hace falta verificar la firma otra vez hasta que expire
+    private final Map<String, PrincipalJwt> tokensVerificados = new ConcurrentHashMap<>();
+
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
 
         if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
-            // Intentar obtener el token de diferentes lugares
-            String token = null;
-
-            // 1. Intentar desde el header 'Authorization'
-            List<String> authorizationHeaders = accessor.getNativeHeader("Authorization");
-            if (authorizationHeaders != null && !authorizationHeaders.isEmpty()) {
-                String bearerToken = authorizationHeaders.get(0);
-                if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-                    token = bearerToken.substring(7);
-                }
+            String token = extraerToken(accessor);
+            PrincipalJwt principal = token != null ? resolverPrincipal(token) : null;
+
+            if (principal == null) {
+                log.warn("WebSocket: token JWT inválido o no presente (sesión {})", accessor.getSessionId());
+                throw new IllegalArgumentException("Token JWT inválido o no presente");
             }
 
-            // 2. Si no está en Authorization, intentar desde query parameter 'token'
-            if (token == null) {
-                List<String> tokenHeaders = accessor.getNativeHeader("token");
-                if (tokenHeaders != null && !tokenHeaders.isEmpty()) {
-                    token = tokenHeaders.get(0);
-                }
+            // Agregar el rol con prefijo ROLE_ si no lo tiene
+            List<SimpleGrantedAuthority> authorities = principal.getRol() == null
+                    ? List.of()
+                    : List.of(new SimpleGrantedAuthority(principal.getRol().startsWith("ROLE_")
+                            ? principal.getRol() : "ROLE_" + principal.getRol()));
+
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(principal, null, authorities);
+
+            // El usuario queda asociado a la sesión: los frames siguientes no vuelven a leer el token
+            accessor.setUser(authentication);
+            accessor.setHeader("username", principal.getUsername());
+            accessor.setHeader("rol", principal.getRol());
+            accessor.setHeader("empleadoId", principal.getEmpleadoId());
+            if (accessor.getSessionAttributes() != null) {
+                accessor.getSessionAttributes().put(ATRIBUTO_PRINCIPAL, principal);
             }
 
-            // Validar el token
-            if (token != null && jwtUtil.validateToken(token)) {
-                String username = jwtUtil.getUsernameFromToken(token);
-                String rol = jwtUtil.getRolFromToken(token);
-                Long empleadoId = jwtUtil.getEmpleadoIdFromToken(token);
-
-                // Crear lista de autoridades
-                List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-                if (rol != null) {
-                    // Agregar el rol con prefijo ROLE_ si no lo tiene
-                    String roleWithPrefix = rol.startsWith("ROLE_") ? rol : "ROLE_" + rol;
-                    authorities.add(new SimpleGrantedAuthority(roleWithPrefix));
-                }
+            SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                // Crear el token de autenticación
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(username, null, authorities);
+            log.debug("WebSocket autenticado: usuario {} con rol {} (sesión {})",
+                    principal.getUsername(), principal.getRol(), accessor.getSessionId());
+        }
 
-                // Agregar información adicional al accessor para uso posterior
-                accessor.setUser(authentication);
-                accessor.setHeader("username", username);
-                accessor.setHeader("rol", rol);
-                accessor.setHeader("empleadoId", empleadoId);
+        return message;
+    }
 
-                // Establecer en el contexto de seguridad
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+    private String extraerToken(StompHeaderAccessor accessor) {
+        // 1. Header 'Authorization'
+        String bearerToken = accessor.getFirstNativeHeader("Authorization");
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        // 2. Header 'token'
+        return accessor.getFirstNativeHeader("token");
+    }
 
-                System.out.println("WebSocket autenticado exitosamente para usuario: " + username + " con rol: " + rol);
-            } else {
-                // Token inválido o no presente
-                System.err.println("WebSocket: Token JWT inválido o no presente");
-                throw new IllegalArgumentException("Token JWT inválido o no presente");
+    private PrincipalJwt resolverPrincipal(String token) {
+        PrincipalJwt cacheado = tokensVerificados.get(token);
+        if (cacheado != null) {
+            if (!cacheado.expirado()) {
+                return cacheado;
             }
+            tokensVerificados.remove(token);
         }
 
-        return message;
+        PrincipalJwt principal = jwtUtil.extraerPrincipal(token).orElse(null);
+        if (principal != null) {
+            if (tokensVerificados.size() >= MAX_TOKENS_VERIFICADOS) {
+                tokensVerificados.values().removeIf(PrincipalJwt::expirado);
+                if (tokensVerificados.size() >= MAX_TOKENS_VERIFICADOS) {
+                    tokensVerificados.clear();
+                }
+            }
+            tokensVerificados.put(token, principal);
+        }
+        return principal;
     }
 }
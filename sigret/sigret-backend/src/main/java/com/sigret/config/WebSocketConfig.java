@@ -1,31 +1,79 @@
 package com.sigret.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Autowired
     private WebSocketAuthInterceptor webSocketAuthInterceptor;
 
+    @Autowired
+    private WebSocketReplayInterceptor webSocketReplayInterceptor;
+
+    @Autowired
+    private FiltroSuscripcionInterceptor filtroSuscripcionInterceptor;
+
+    @Autowired
+    private CodificacionCborInterceptor codificacionCborInterceptor;
+
+    @Autowired
+    private WebSocketProperties webSocketProperties;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Habilitar un broker simple de mensajes con topics específicos
-        config.enableSimpleBroker("/topic/servicios", "/topic/presupuestos", "/topic/ordenes-trabajo", "/topic/notificaciones");
+        if (webSocketProperties.esModoRelay()) {
+            configurarRelay(config);
+        } else {
+            // Habilitar un broker simple de mensajes con topics específicos (solo sirve con una instancia)
+            config.enableSimpleBroker("/topic/servicios", "/topic/presupuestos", "/topic/ordenes-trabajo", "/queue");
+        }
         // Prefijo para mensajes destinados al servidor
         config.setApplicationDestinationPrefixes("/app");
+        // Destinos por usuario: /user/{username}/queue/... se resuelve a las sesiones de ese usuario
+        config.setUserDestinationPrefix("/user");
+    }
+
+    /**
+     * Con un broker externo cada instancia reenvía sus suscripciones al broker, así un evento publicado
+     * por cualquier nodo llega a los clientes de todos. Los destinos de usuario que no se resuelven en
+     * el nodo local se difunden al resto, y el registro de sesiones de usuario se comparte entre nodos.
+     */
+    private void configurarRelay(MessageBrokerRegistry config) {
+        WebSocketProperties.Relay relay = webSocketProperties.getRelay();
+        StompBrokerRelayRegistration registro = config.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(relay.getHost())
+                .setRelayPort(relay.getPuerto())
+                .setClientLogin(relay.getUsuario())
+                .setClientPasscode(relay.getClave())
+                .setSystemLogin(relay.getUsuario())
+                .setSystemPasscode(relay.getClave())
+                .setUserDestinationBroadcast("/topic/sigret.usuarios.no-resueltos")
+                .setUserRegistryBroadcast("/topic/sigret.usuarios.registro");
+        if (relay.getVirtualHost() != null) {
+            registro.setVirtualHost(relay.getVirtualHost());
+        }
+        log.info("WebSocket en modo relay contra {}:{}", relay.getHost(), relay.getPuerto());
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
-        // Endpoint WebSocket con SockJS fallback
+        // Endpoint WebSocket nativo: no necesita afinidad de sesión en el balanceador y admite frames binarios (CBOR)
+        registry.addEndpoint("/ws")
+                .setAllowedOriginPatterns("*")
+                .addInterceptors(codificacionCborInterceptor);
+
+        // Endpoint WebSocket con SockJS fallback (los transportes HTTP requieren afinidad por JSESSIONID)
         registry.addEndpoint("/ws-servicios")
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
@@ -33,7 +81,14 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        // Registrar el interceptor de autenticación JWT
-        registration.interceptors(webSocketAuthInterceptor);
+        // Registrar el interceptor de autenticación JWT, los filtros de suscripción, el formato y el replay de eventos perdidos
+        registration.interceptors(webSocketAuthInterceptor, filtroSuscripcionInterceptor, codificacionCborInterceptor,
+                webSocketReplayInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Descarta los frames que no coinciden con el filtro y convierte a CBOR los que lo pidieron
+        registration.interceptors(filtroSuscripcionInterceptor, codificacionCborInterceptor);
     }
 }
@@ -0,0 +1,153 @@
+package com.sigret.config;
+
+import com.sigret.enums.ModoBrokerWebSocket;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sigret.websocket")
+public class WebSocketProperties {
+
+    private Long ventanaCoalescenciaMs = 150L;
+    private Integer capacidadReplay = 500;
+    private Integer canalHilos = 8;
+    private Integer canalCola = 1000;
+    private Integer limiteTiempoEnvioMs = 10000;
+    private Integer limiteBufferEnvioKb = 512;
+    private Integer limiteTamanioMensajeKb = 64;
+    private ModoBrokerWebSocket modoBroker = ModoBrokerWebSocket.SIMPLE;
+    private Relay relay = new Relay();
+
+    // Constructors
+    public WebSocketProperties() {}
+
+    // Getters and Setters
+    public Long getVentanaCoalescenciaMs() {
+        return ventanaCoalescenciaMs;
+    }
+
+    public void setVentanaCoalescenciaMs(Long ventanaCoalescenciaMs) {
+        this.ventanaCoalescenciaMs = ventanaCoalescenciaMs;
+    }
+
+    public Integer getCapacidadReplay() {
+        return capacidadReplay;
+    }
+
+    public void setCapacidadReplay(Integer capacidadReplay) {
+        this.capacidadReplay = capacidadReplay;
+    }
+
+    public Integer getCanalHilos() {
+        return canalHilos;
+    }
+
+    public void setCanalHilos(Integer canalHilos) {
+        this.canalHilos = canalHilos;
+    }
+
+    public Integer getCanalCola() {
+        return canalCola;
+    }
+
+    public void setCanalCola(Integer canalCola) {
+        this.canalCola = canalCola;
+    }
+
+    public Integer getLimiteTiempoEnvioMs() {
+        return limiteTiempoEnvioMs;
+    }
+
+    public void setLimiteTiempoEnvioMs(Integer limiteTiempoEnvioMs) {
+        this.limiteTiempoEnvioMs = limiteTiempoEnvioMs;
+    }
+
+    public Integer getLimiteBufferEnvioKb() {
+        return limiteBufferEnvioKb;
+    }
+
+    public void setLimiteBufferEnvioKb(Integer limiteBufferEnvioKb) {
+        this.limiteBufferEnvioKb = limiteBufferEnvioKb;
+    }
+
+    public Integer getLimiteTamanioMensajeKb() {
+        return limiteTamanioMensajeKb;
+    }
+
+    public void setLimiteTamanioMensajeKb(Integer limiteTamanioMensajeKb) {
+        this.limiteTamanioMensajeKb = limiteTamanioMensajeKb;
+    }
+
+    public ModoBrokerWebSocket getModoBroker() {
+        return modoBroker;
+    }
+
+    public void setModoBroker(ModoBrokerWebSocket modoBroker) {
+        this.modoBroker = modoBroker;
+    }
+
+    public Relay getRelay() {
+        return relay;
+    }
+
+    public void setRelay(Relay relay) {
+        this.relay = relay;
+    }
+
+    public boolean esModoRelay() {
+        return modoBroker == ModoBrokerWebSocket.RELAY;
+    }
+
+    /**
+     * Broker STOMP externo (RabbitMQ con rabbitmq_stomp, ActiveMQ/Artemis)
+     */
+    public static class Relay {
+
+        private String host = "localhost";
+        private Integer puerto = 61613;
+        private String usuario = "guest";
+        private String clave = "guest";
+        private String virtualHost;
+
+        // Getters and Setters
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public Integer getPuerto() {
+            return puerto;
+        }
+
+        public void setPuerto(Integer puerto) {
+            this.puerto = puerto;
+        }
+
+        public String getUsuario() {
+            return usuario;
+        }
+
+        public void setUsuario(String usuario) {
+            this.usuario = usuario;
+        }
+
+        public String getClave() {
+            return clave;
+        }
+
+        public void setClave(String clave) {
+            this.clave = clave;
+        }
+
+        public String getVirtualHost() {
+            return virtualHost;
+        }
+
+        public void setVirtualHost(String virtualHost) {
+            this.virtualHost = virtualHost;
+        }
+    }
+}
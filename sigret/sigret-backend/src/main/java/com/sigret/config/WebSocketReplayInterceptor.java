@@ -0,0 +1,94 @@
+package com.sigret.config;
+
+import com.sigret.services.impl.BufferEventosRecientes;
+import com.sigret.services.impl.BufferEventosRecientes.EventoReciente;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reenvía los eventos perdidos a un cliente que se suscribe con el header "desde-seq" (la última
+ * secuencia que recibió). Se ejecuta después de que el broker registró la suscripción, así que un
+ * evento en vuelo puede llegar dos veces: el cliente descarta las secuencias que ya procesó.
+ */
+@Component
+@Slf4j
+public class WebSocketReplayInterceptor implements ExecutorChannelInterceptor {
+
+    public static final String HEADER_SEQ = "seq";
+    public static final String HEADER_DESDE_SEQ = "desde-seq";
+    private static final String RESINCRONIZAR = "{\"tipo\":\"RESINCRONIZAR\"}";
+
+    @Autowired
+    private BufferEventosRecientes bufferEventosRecientes;
+
+    @Autowired
+    @Lazy
+    @Qualifier("clientOutboundChannel")
+    private MessageChannel clientOutboundChannel;
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (ex != null || !(handler instanceof AbstractBrokerMessageHandler)) {
+            return;
+        }
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        String desde = accessor.getFirstNativeHeader(HEADER_DESDE_SEQ);
+        if (!StompCommand.SUBSCRIBE.equals(accessor.getCommand()) || desde == null
+                || !bufferEventosRecientes.admite(accessor.getDestination())) {
+            return;
+        }
+
+        long seq;
+        try {
+            seq = Long.parseLong(desde);
+        } catch (NumberFormatException e) {
+            return;
+        }
+
+        Optional<List<EventoReciente>> perdidos = bufferEventosRecientes.desde(accessor.getDestination(), seq);
+        if (perdidos.isPresent()) {
+            perdidos.get().forEach(evento -> enviar(accessor, evento.getPayload(), evento.getSeq(), evento.getAtributos()));
+            log.debug("Replay de {} eventos en {} para la sesión {}",
+                    perdidos.get().size(), accessor.getDestination(), accessor.getSessionId());
+        } else {
+            enviar(accessor, RESINCRONIZAR, null, null);
+        }
+    }
+
+    private void enviar(StompHeaderAccessor suscripcion, String payload, Long seq, String atributos) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(suscripcion.getSessionId());
+        accessor.setSubscriptionId(suscripcion.getSubscriptionId());
+        accessor.setDestination(suscripcion.getDestination());
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (seq != null) {
+            accessor.setNativeHeader(HEADER_SEQ, String.valueOf(seq));
+        }
+        if (atributos != null) {
+            // El filtro de la suscripción se aplica también al replay (ver FiltroSuscripcionInterceptor)
+            accessor.setNativeHeader(FiltroSuscripcionInterceptor.HEADER_ATRIBUTOS, atributos);
+        }
+        accessor.setLeaveMutable(true);
+        clientOutboundChannel.send(MessageBuilder.createMessage(
+                payload.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders()));
+    }
+}
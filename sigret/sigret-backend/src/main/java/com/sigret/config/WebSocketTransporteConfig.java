@@ -0,0 +1,123 @@
+package com.sigret.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Protección del broker frente a clientes lentos:
+ * - los canales de entrada y salida usan executors propios con cola acotada; cuando la cola se llena
+ *   el hilo que publica ejecuta la tarea (contrapresión) en lugar de descartar mensajes
+ * - el canal de salida tiene varios hilos, así que se preserva el orden de publicación por sesión:
+ *   el cliente descarta los frames con seq menor a la última vista, un frame adelantado haría perder otro
+ * - cada sesión tiene un límite de tiempo de envío y de buffer: si un cliente no consume a tiempo
+ *   se cierra su sesión (SESSION_NOT_RELIABLE) y el resto sigue recibiendo sin demoras.
+ *   El cliente se reconecta y recupera lo perdido con el replay.
+ */
+@Configuration
+@Slf4j
+public class WebSocketTransporteConfig implements WebSocketMessageBrokerConfigurer, InitializingBean, DisposableBean {
+
+    @Autowired
+    private WebSocketProperties webSocketProperties;
+
+    private ThreadPoolTaskExecutor canalEntrada;
+    private ThreadPoolTaskExecutor canalSalida;
+    private Counter sesionesExpulsadas;
+
+    @Override
+    public void afterPropertiesSet() {
+        canalEntrada = crearExecutor("ws-entrada-");
+        canalSalida = crearExecutor("ws-salida-");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.executor(canalEntrada);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.executor(canalSalida);
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(webSocketProperties.getLimiteTiempoEnvioMs())
+                .setSendBufferSizeLimit(webSocketProperties.getLimiteBufferEnvioKb() * 1024)
+                .setMessageSizeLimit(webSocketProperties.getLimiteTamanioMensajeKb() * 1024)
+                .addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+                    @Override
+                    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                        if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                            log.warn("Sesión WebSocket {} cerrada por consumidor lento", session.getId());
+                            if (sesionesExpulsadas != null) {
+                                sesionesExpulsadas.increment();
+                            }
+                        }
+                        super.afterConnectionClosed(session, closeStatus);
+                    }
+                });
+    }
+
+    @Bean
+    public MeterBinder metricasCanalesWebSocket() {
+        return registry -> {
+            registrarExecutor(registry, "entrada", canalEntrada);
+            registrarExecutor(registry, "salida", canalSalida);
+            sesionesExpulsadas = Counter.builder("sigret.websocket.sesiones.expulsadas")
+                    .description("Sesiones cerradas por superar el tiempo o el buffer de envío")
+                    .register(registry);
+        };
+    }
+
+    @Override
+    public void destroy() {
+        canalEntrada.shutdown();
+        canalSalida.shutdown();
+    }
+
+    private ThreadPoolTaskExecutor crearExecutor(String prefijo) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(webSocketProperties.getCanalHilos());
+        executor.setMaxPoolSize(webSocketProperties.getCanalHilos());
+        executor.setQueueCapacity(webSocketProperties.getCanalCola());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix(prefijo);
+        executor.initialize();
+        return executor;
+    }
+
+    private void registrarExecutor(MeterRegistry registry, String canal, ThreadPoolTaskExecutor executor) {
+        Gauge.builder("sigret.websocket.canal.cola", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Mensajes esperando en la cola del canal")
+                .tag("canal", canal)
+                .register(registry);
+        Gauge.builder("sigret.websocket.canal.activos", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Hilos del canal procesando mensajes")
+                .tag("canal", canal)
+                .register(registry);
+    }
+}
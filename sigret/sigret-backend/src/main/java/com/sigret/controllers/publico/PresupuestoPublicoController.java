@@ -1,10 +1,9 @@
 package com.sigret.controllers.publico;
 
-import com.sigret.dtos.presupuesto.DetallePresupuestoDto;
 import com.sigret.dtos.presupuesto.PresupuestoPublicoDto;
-import com.sigret.entities.DetallePresupuesto;
 import com.sigret.entities.Presupuesto;
 import com.sigret.entities.PresupuestoToken;
+import com.sigret.services.PresupuestoPublicoService;
 import com.sigret.services.PresupuestoService;
 import com.sigret.services.PresupuestoTokenService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,9 +19,7 @@ import org.springframework.web.bind.annotation.*;
 import com.sigret.enums.EstadoPresupuesto;
 import java.time.LocalDate;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/public/presupuestos")
@@ -33,6 +30,7 @@ public class PresupuestoPublicoController {
 
     private final PresupuestoTokenService tokenService;
     private final PresupuestoService presupuestoService;
+    private final PresupuestoPublicoService presupuestoPublicoService;
 
     @GetMapping("/token/{token}")
     @Operation(summary = "Obtener presupuesto por token", description = "Obtiene los datos públicos de un presupuesto usando el token del email")
@@ -44,10 +42,7 @@ public class PresupuestoPublicoController {
     public ResponseEntity<PresupuestoPublicoDto> obtenerPresupuestoPorToken(
             @Parameter(description = "Token del presupuesto") @PathVariable String token) {
 
-        PresupuestoToken presupuestoToken = tokenService.validarToken(token);
-        Presupuesto presupuesto = presupuestoToken.getPresupuesto();
-
-        PresupuestoPublicoDto dto = convertirAPresupuestoPublicoDto(presupuesto);
+        PresupuestoPublicoDto dto = presupuestoPublicoService.obtenerPorToken(token);
 
         return ResponseEntity.ok(dto);
     }
@@ -57,7 +52,8 @@ public class PresupuestoPublicoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Presupuesto aprobado exitosamente"),
             @ApiResponse(responseCode = "400", description = "Token inválido, expirado o acción incorrecta"),
-            @ApiResponse(responseCode = "404", description = "Presupuesto no encontrado")
+            @ApiResponse(responseCode = "404", description = "Presupuesto no encontrado"),
+            @ApiResponse(responseCode = "409", description = "El presupuesto ya fue respondido con la otra opción")
     })
     public ResponseEntity<Map<String, String>> aprobarPresupuesto(
             @Parameter(description = "Token de aprobación") @PathVariable String token,
@@ -96,6 +92,7 @@ public class PresupuestoPublicoController {
         presupuestoService.aprobarPresupuesto(presupuestoId, precioFinal);
         tokenService.marcarTokenComoUsado(token, ip);
         tokenService.invalidarTokensAnteriores(presupuestoId);
+        presupuestoPublicoService.invalidar(presupuestoId);
 
         Map<String, String> response = new HashMap<>();
         response.put("message", "Presupuesto aprobado exitosamente");
@@ -109,7 +106,8 @@ public class PresupuestoPublicoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Presupuesto rechazado exitosamente"),
             @ApiResponse(responseCode = "400", description = "Token inválido, expirado o acción incorrecta"),
-            @ApiResponse(responseCode = "404", description = "Presupuesto no encontrado")
+            @ApiResponse(responseCode = "404", description = "Presupuesto no encontrado"),
+            @ApiResponse(responseCode = "409", description = "El presupuesto ya fue respondido con la otra opción")
     })
     public ResponseEntity<Map<String, String>> rechazarPresupuesto(
             @Parameter(description = "Token de rechazo") @PathVariable String token,
@@ -136,6 +134,7 @@ public class PresupuestoPublicoController {
         presupuestoService.rechazarPresupuesto(presupuestoId);
         tokenService.marcarTokenComoUsado(token, ip);
         tokenService.invalidarTokensAnteriores(presupuestoId);
+        presupuestoPublicoService.invalidar(presupuestoId);
 
         Map<String, String> response = new HashMap<>();
         response.put("message", "Presupuesto rechazado exitosamente");
@@ -144,42 +143,6 @@ public class PresupuestoPublicoController {
         return ResponseEntity.ok(response);
     }
 
-    private PresupuestoPublicoDto convertirAPresupuestoPublicoDto(Presupuesto presupuesto) {
-        PresupuestoPublicoDto dto = new PresupuestoPublicoDto();
-        dto.setNumeroPresupuesto(presupuesto.getNumeroPresupuesto());
-        dto.setNombreCliente(presupuesto.getServicio().getCliente().getNombreCompleto());
-        dto.setEquipoDescripcion(presupuesto.getServicio().getEquipo().getDescripcionCompleta());
-        dto.setFallaReportada(presupuesto.getServicio().getFallaReportada());
-        dto.setDiagnostico(presupuesto.getDiagnostico());
-        dto.setMontoTotalOriginal(presupuesto.getMontoTotalOriginal());
-        dto.setMontoTotalAlternativo(presupuesto.getMontoTotalAlternativo());
-        dto.setManoObra(presupuesto.getManoObra());
-        dto.setMostrarOriginal(presupuesto.getMostrarOriginal());
-        dto.setMostrarAlternativo(presupuesto.getMostrarAlternativo());
-        dto.setEstado(presupuesto.getEstado().name());
-        dto.setFechaCreacion(presupuesto.getFechaCreacion().toLocalDate());
-        dto.setFechaVencimiento(presupuesto.getFechaVencimiento());
-        dto.setVencido(presupuesto.getEstado() == EstadoPresupuesto.VENCIDO ||
-                (presupuesto.getFechaVencimiento() != null && presupuesto.getFechaVencimiento().isBefore(LocalDate.now())));
-
-        List<DetallePresupuestoDto> detallesDto = presupuesto.getDetallePresupuestos().stream()
-                .map(this::convertirADetalleDto)
-                .collect(Collectors.toList());
-        dto.setDetalles(detallesDto);
-
-        return dto;
-    }
-
-    private DetallePresupuestoDto convertirADetalleDto(DetallePresupuesto detalle) {
-        DetallePresupuestoDto dto = new DetallePresupuestoDto();
-        dto.setId(detalle.getId());
-        dto.setItem(detalle.getItem());
-        dto.setCantidad(detalle.getCantidad());
-        dto.setPrecioOriginal(detalle.getPrecioOriginal());
-        dto.setPrecioAlternativo(detalle.getPrecioAlternativo());
-        return dto;
-    }
-
     private String obtenerIpCliente(HttpServletRequest request) {
         String ip = request.getHeader("X-Forwarded-For");
         if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
@@ -14,6 +14,9 @@ import lombok.Setter;
 @AllArgsConstructor
 public class ContactoCreateDto {
 
+    // Id opcional: al actualizar un cliente/empleado identifica el contacto existente a modificar
+    private Long id;
+
     // PersonaId es opcional cuando se usa desde Empleado/Cliente (se establece automáticamente)
     // Es obligatorio solo cuando se usa el endpoint directo de contactos
     private Long personaId;
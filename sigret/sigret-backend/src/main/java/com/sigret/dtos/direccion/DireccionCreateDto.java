@@ -12,6 +12,9 @@ import lombok.Setter;
 @AllArgsConstructor
 public class DireccionCreateDto {
 
+    // Id opcional: al actualizar un cliente/empleado identifica la dirección existente a modificar
+    private Long id;
+
     // PersonaId es opcional cuando se usa desde Empleado/Cliente (se establece automáticamente)
     // Es obligatorio solo cuando se usa el endpoint directo de direcciones
     private Long personaId;
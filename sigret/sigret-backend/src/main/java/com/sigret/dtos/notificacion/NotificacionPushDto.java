@@ -0,0 +1,21 @@
+package com.sigret.dtos.notificacion;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificacionPushDto {
+    private String tipo = "NOTIFICACION";
+    private NotificacionDto notificacion;
+    private Long noLeidas;
+
+    public NotificacionPushDto(NotificacionDto notificacion, Long noLeidas) {
+        this.notificacion = notificacion;
+        this.noLeidas = noLeidas;
+    }
+}
@@ -28,4 +28,8 @@ public class OrdenTrabajoListDto {
     private LocalDate fechaFin;
     private BigDecimal montoTotalFinal;
     private Boolean esSinCosto;
+
+    // Para los filtros de suscripción WebSocket
+    private Long clienteId;
+    private Long empleadoId;
 }
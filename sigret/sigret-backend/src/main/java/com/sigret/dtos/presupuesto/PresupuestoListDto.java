@@ -32,4 +32,8 @@ public class PresupuestoListDto {
     private EstadoPresupuesto estado;
     private LocalDateTime fechaCreacion;
     private Boolean tieneOrdenTrabajo;
+
+    // Para los filtros de suscripción WebSocket
+    private Long clienteId;
+    private Long empleadoId;
 }
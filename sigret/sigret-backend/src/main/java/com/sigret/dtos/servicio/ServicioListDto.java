@@ -19,6 +19,7 @@ public class ServicioListDto {
 
     private Long id;
     private String numeroServicio;
+    private Long clienteId;
     private String clienteNombre;
     private String clienteDocumento;
     private String equipoDescripcion;
@@ -15,7 +15,9 @@ import lombok.Setter;
 @AllArgsConstructor
 public class Contacto {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids_contactos")
+    @TableGenerator(name = "ids_contactos", table = GeneradorIds.TABLA, pkColumnName = GeneradorIds.COLUMNA_ENTIDAD,
+            valueColumnName = GeneradorIds.COLUMNA_VALOR, pkColumnValue = "contactos", allocationSize = GeneradorIds.ASIGNACION)
     @Column(name = "id_contacto")
     private Long id;
 
@@ -17,7 +17,9 @@ import lombok.Setter;
 public class DetalleOrdenTrabajo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids_detalle_ordenes_trabajo")
+    @TableGenerator(name = "ids_detalle_ordenes_trabajo", table = GeneradorIds.TABLA, pkColumnName = GeneradorIds.COLUMNA_ENTIDAD,
+            valueColumnName = GeneradorIds.COLUMNA_VALOR, pkColumnValue = "detalle_ordenes_trabajo", allocationSize = GeneradorIds.ASIGNACION)
     @Column(name = "id_detalle_orden_trabajo")
     private Long id;
 
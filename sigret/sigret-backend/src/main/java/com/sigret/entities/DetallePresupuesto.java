@@ -19,7 +19,9 @@ import java.math.BigDecimal;
 public class DetallePresupuesto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids_detalle_presupuestos")
+    @TableGenerator(name = "ids_detalle_presupuestos", table = GeneradorIds.TABLA, pkColumnName = GeneradorIds.COLUMNA_ENTIDAD,
+            valueColumnName = GeneradorIds.COLUMNA_VALOR, pkColumnValue = "detalle_presupuestos", allocationSize = GeneradorIds.ASIGNACION)
     @Column(name = "id_detalle_presupuesto")
     private Long id;
 
@@ -19,7 +19,9 @@ import lombok.Setter;
 public class DetalleServicio {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids_detalle_servicios")
+    @TableGenerator(name = "ids_detalle_servicios", table = GeneradorIds.TABLA, pkColumnName = GeneradorIds.COLUMNA_ENTIDAD,
+            valueColumnName = GeneradorIds.COLUMNA_VALOR, pkColumnValue = "detalle_servicios", allocationSize = GeneradorIds.ASIGNACION)
     @Column(name = "id_detalle_servicio")
     private Long id;
 
@@ -13,7 +13,9 @@ import lombok.Setter;
 @NoArgsConstructor
 public class Direccion {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids_direcciones")
+    @TableGenerator(name = "ids_direcciones", table = GeneradorIds.TABLA, pkColumnName = GeneradorIds.COLUMNA_ENTIDAD,
+            valueColumnName = GeneradorIds.COLUMNA_VALOR, pkColumnValue = "direcciones", allocationSize = GeneradorIds.ASIGNACION)
     @Column(name = "id_direccion")
     private Long id;
 
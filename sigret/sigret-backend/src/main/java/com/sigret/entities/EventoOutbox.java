@@ -0,0 +1,66 @@
+package com.sigret.entities;
+
+import com.sigret.enums.TipoReferencia;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento WebSocket pendiente de publicar. Se escribe en la misma transacción que el cambio
+ * de negocio y lo publica OutboxService después del commit, en orden de id.
+ */
+@Entity
+@Table(name = "eventos_outbox", indexes = {
+    @Index(name = "idx_outbox_pendientes", columnList = "publicado, id_evento"),
+    @Index(name = "idx_outbox_agregado", columnList = "tipo_agregado, agregado_id"),
+    @Index(name = "idx_outbox_destino_secuencia", columnList = "destino, secuencia")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_evento")
+    private Long id;
+
+    @Column(name = "destino", length = 100, nullable = false)
+    private String destino;
+
+    @Column(name = "tipo_evento", length = 50, nullable = false)
+    private String tipoEvento;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_agregado", length = 30)
+    private TipoReferencia tipoAgregado;
+
+    @Column(name = "agregado_id")
+    private Long agregadoId;
+
+    @Column(name = "atributos", length = 255)
+    private String atributos; // para filtros de suscripción (ver AtributosEvento)
+
+    @Column(name = "payload", columnDefinition = "LONGTEXT", nullable = false)
+    private String payload; // JSON del evento
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion = LocalDateTime.now();
+
+    @Column(name = "publicado", nullable = false)
+    private Boolean publicado = false;
+
+    @Column(name = "fecha_publicacion")
+    private LocalDateTime fechaPublicacion;
+
+    @Column(name = "intentos", nullable = false)
+    private Integer intentos = 0;
+
+    @Column(name = "secuencia")
+    private Long secuencia; // seq del frame en que se publicó, solo en los topics con replay
+}
@@ -0,0 +1,21 @@
+package com.sigret.entities;
+
+/**
+ * Parámetros del generador de ids por tabla (optimizador pooled) de las entidades de alto volumen.
+ * Con IDENTITY Hibernate necesita el id de cada fila en el momento del INSERT y no puede agruparlos en
+ * lotes JDBC; con este generador reserva bloques de ASIGNACION ids con una sola lectura y los INSERT de
+ * un saveAll o de un cascade viajan juntos (hibernate.jdbc.batch_size).
+ * La tabla se alinea con los ids existentes al arrancar (ver AlineadorGeneradorIds).
+ */
+public final class GeneradorIds {
+
+    public static final String TABLA = "generador_ids";
+    public static final String COLUMNA_ENTIDAD = "entidad";
+    public static final String COLUMNA_VALOR = "proximo_valor";
+
+    // Debe coincidir con hibernate.jdbc.batch_size para que un bloque de ids llene un lote
+    public static final int ASIGNACION = 50;
+
+    private GeneradorIds() {
+    }
+}
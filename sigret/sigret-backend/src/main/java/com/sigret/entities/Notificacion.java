@@ -22,7 +22,9 @@ import java.time.LocalDateTime;
 public class Notificacion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids_notificaciones")
+    @TableGenerator(name = "ids_notificaciones", table = GeneradorIds.TABLA, pkColumnName = GeneradorIds.COLUMNA_ENTIDAD,
+            valueColumnName = GeneradorIds.COLUMNA_VALOR, pkColumnValue = "notificaciones", allocationSize = GeneradorIds.ASIGNACION)
     @Column(name = "id_notificacion")
     private Long id;
 
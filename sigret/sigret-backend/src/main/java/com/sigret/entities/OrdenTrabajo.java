@@ -27,6 +27,11 @@ public class OrdenTrabajo {
     @Column(name = "id_orden_trabajo")
     private Long id;
 
+    // Control optimista de concurrencia; el default llena las filas existentes al agregar la columna
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long version;
+
     @Column(name = "numero_orden_trabajo", unique = true, nullable = false, length = 20)
     private String numeroOrdenTrabajo;
 
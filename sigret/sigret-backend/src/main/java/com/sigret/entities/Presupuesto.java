@@ -28,6 +28,11 @@ public class Presupuesto {
     @Column(name = "id_presupuesto")
     private Long id;
 
+    // Control optimista de concurrencia; el default llena las filas existentes al agregar la columna
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long version;
+
     @Column(name = "numero_presupuesto", unique = true, nullable = false, length = 20)
     private String numeroPresupuesto;
 
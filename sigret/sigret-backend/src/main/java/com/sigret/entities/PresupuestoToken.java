@@ -9,7 +9,9 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "presupuesto_tokens")
+@Table(name = "presupuesto_tokens", indexes = {
+    @Index(name = "idx_token_usado_expiracion", columnList = "usado, fecha_expiracion")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,27 @@
+package com.sigret.entities;
+
+import java.util.List;
+
+/**
+ * Regiones del cache de segundo nivel de Hibernate (ver CacheSegundoNivelConfig).
+ * Solo entidades de lectura frecuente y escritura rara: catálogos, repuestos y empleados, que se
+ * cargan una y otra vez como asociaciones lazy al mapear servicios, presupuestos y órdenes.
+ */
+public final class RegionesCache {
+
+    public static final String MARCAS = "marcas";
+    public static final String MODELOS = "modelos";
+    public static final String TIPOS_EQUIPO = "tipos_equipo";
+    public static final String TIPOS_DOCUMENTO = "tipos_documento";
+    public static final String TIPOS_PERSONA = "tipos_persona";
+    public static final String TIPOS_EMPLEADO = "tipos_empleado";
+    public static final String TIPOS_CONTACTO = "tipos_contacto";
+    public static final String REPUESTOS = "repuestos";
+    public static final String EMPLEADOS = "empleados";
+
+    public static final List<String> ENTIDADES = List.of(
+            MARCAS, MODELOS, TIPOS_EQUIPO, TIPOS_DOCUMENTO, TIPOS_PERSONA, TIPOS_EMPLEADO, TIPOS_CONTACTO, REPUESTOS, EMPLEADOS);
+
+    private RegionesCache() {
+    }
+}
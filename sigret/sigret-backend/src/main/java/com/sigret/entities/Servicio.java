@@ -17,7 +17,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "servicios")
+@Table(name = "servicios", indexes = {
+    @Index(name = "idx_servicios_estado_fecha", columnList = "estado, fecha_creacion")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,6 +30,11 @@ public class Servicio {
     @Column(name = "id_servicio")
     private Long id;
 
+    // Control optimista de concurrencia; el default llena las filas existentes al agregar la columna
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long version;
+
     @NotBlank(message = "El número de servicio es obligatorio")
     @Size(max = 20, message = "El número de servicio no puede exceder 20 caracteres")
     @Column(name = "numero_servicio", nullable = false, unique = true, length = 20)
@@ -0,0 +1,6 @@
+package com.sigret.enums;
+
+public enum ModoBrokerWebSocket {
+    SIMPLE,
+    RELAY
+}
@@ -0,0 +1,6 @@
+package com.sigret.enums;
+
+public enum ModoControlSentencias {
+    LOG,
+    FALLAR
+}
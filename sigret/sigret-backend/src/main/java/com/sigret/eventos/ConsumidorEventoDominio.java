@@ -0,0 +1,17 @@
+package com.sigret.eventos;
+
+/**
+ * Consumidor del BusEventosDominio. Cada consumidor tiene sus propios carriles, así que uno lento
+ * (ej: el envío de emails) no demora a los demás.
+ */
+public interface ConsumidorEventoDominio {
+
+    /**
+     * Nombre corto, se usa para nombrar los hilos de sus carriles
+     */
+    String getNombre();
+
+    boolean admite(EventoDominio evento);
+
+    void consumir(EventoDominio evento);
+}
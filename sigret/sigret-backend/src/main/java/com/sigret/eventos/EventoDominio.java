@@ -0,0 +1,14 @@
+package com.sigret.eventos;
+
+import com.sigret.enums.TipoReferencia;
+
+/**
+ * Evento de dominio publicado en el BusEventosDominio. El bus usa el agregado para elegir el carril,
+ * así que los eventos de una misma entidad se consumen en el orden en que se publicaron.
+ */
+public interface EventoDominio {
+
+    TipoReferencia getTipoAgregado();
+
+    Long getAgregadoId();
+}
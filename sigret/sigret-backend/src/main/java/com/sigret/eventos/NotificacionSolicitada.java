@@ -0,0 +1,30 @@
+package com.sigret.eventos;
+
+import com.sigret.enums.TipoReferencia;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Mensaje para la campana de notificaciones de todos los usuarios activos
+ */
+@Getter
+@AllArgsConstructor
+public class NotificacionSolicitada implements EventoDominio {
+
+    private final String mensaje;
+    private final String tipo;
+    private final Long referenciaId;
+    private final TipoReferencia tipoReferencia;
+    private final String icono;
+    private final String severidad;
+
+    @Override
+    public TipoReferencia getTipoAgregado() {
+        return tipoReferencia;
+    }
+
+    @Override
+    public Long getAgregadoId() {
+        return referenciaId;
+    }
+}
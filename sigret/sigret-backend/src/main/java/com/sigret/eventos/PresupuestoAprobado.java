@@ -0,0 +1,26 @@
+package com.sigret.eventos;
+
+import com.sigret.enums.TipoConfirmacion;
+import com.sigret.enums.TipoReferencia;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PresupuestoAprobado implements EventoDominio {
+
+    private final Long presupuestoId;
+    private final Long servicioId;
+    private final String numeroServicio;
+    private final TipoConfirmacion tipoConfirmado; // null si se aprobó desde el sistema
+
+    @Override
+    public TipoReferencia getTipoAgregado() {
+        return TipoReferencia.PRESUPUESTO;
+    }
+
+    @Override
+    public Long getAgregadoId() {
+        return presupuestoId;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sigret.eventos;
+
+import com.sigret.enums.TipoReferencia;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PresupuestoRechazado implements EventoDominio {
+
+    private final Long presupuestoId;
+    private final Long servicioId;
+    private final String numeroServicio;
+
+    @Override
+    public TipoReferencia getTipoAgregado() {
+        return TipoReferencia.PRESUPUESTO;
+    }
+
+    @Override
+    public Long getAgregadoId() {
+        return presupuestoId;
+    }
+}
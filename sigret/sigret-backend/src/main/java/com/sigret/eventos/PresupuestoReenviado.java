@@ -0,0 +1,29 @@
+package com.sigret.eventos;
+
+import com.sigret.enums.TipoReferencia;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * El presupuesto se actualizó y hay que volver a enviárselo al cliente por email
+ */
+@Getter
+@AllArgsConstructor
+public class PresupuestoReenviado implements EventoDominio {
+
+    private final Long presupuestoId;
+    private final String numeroServicio;
+    private final Boolean mostrarOriginal;
+    private final Boolean mostrarAlternativo;
+    private final String mensajeAdicional;
+
+    @Override
+    public TipoReferencia getTipoAgregado() {
+        return TipoReferencia.PRESUPUESTO;
+    }
+
+    @Override
+    public Long getAgregadoId() {
+        return presupuestoId;
+    }
+}
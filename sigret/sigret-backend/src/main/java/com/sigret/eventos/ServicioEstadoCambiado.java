@@ -0,0 +1,26 @@
+package com.sigret.eventos;
+
+import com.sigret.enums.EstadoServicio;
+import com.sigret.enums.TipoReferencia;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ServicioEstadoCambiado implements EventoDominio {
+
+    private final Long servicioId;
+    private final String numeroServicio;
+    private final EstadoServicio estadoAnterior;
+    private final EstadoServicio estadoNuevo;
+
+    @Override
+    public TipoReferencia getTipoAgregado() {
+        return TipoReferencia.SERVICIO;
+    }
+
+    @Override
+    public Long getAgregadoId() {
+        return servicioId;
+    }
+}
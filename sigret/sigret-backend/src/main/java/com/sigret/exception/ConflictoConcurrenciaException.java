@@ -0,0 +1,11 @@
+package com.sigret.exception;
+
+public class ConflictoConcurrenciaException extends RuntimeException {
+    public ConflictoConcurrenciaException(String message) {
+        super(message);
+    }
+
+    public ConflictoConcurrenciaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,5 +1,6 @@
 package com.sigret.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -198,6 +199,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(ConflictoConcurrenciaException.class)
+    public ResponseEntity<Map<String, String>> handleConflictoConcurrencia(ConflictoConcurrenciaException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Conflicto de concurrencia");
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Conflicto de concurrencia");
+        error.put("message", "El registro fue modificado por otra operación al mismo tiempo. Recargue e intente nuevamente.");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException e) {
         Map<String, String> error = new HashMap<>();
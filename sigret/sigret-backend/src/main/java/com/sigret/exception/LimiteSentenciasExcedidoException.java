@@ -0,0 +1,7 @@
+package com.sigret.exception;
+
+public class LimiteSentenciasExcedidoException extends RuntimeException {
+    public LimiteSentenciasExcedidoException(String message) {
+        super(message);
+    }
+}
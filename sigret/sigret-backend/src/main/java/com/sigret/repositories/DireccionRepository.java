@@ -2,6 +2,9 @@ package com.sigret.repositories;
 
 import com.sigret.entities.Direccion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -49,5 +52,12 @@ public interface DireccionRepository extends JpaRepository<Direccion, Long> {
      * Verifica si existe una dirección con un Place ID específico
      */
     boolean existsByPlaceId(String placeId);
-}
 
+    /**
+     * Desmarca en un solo UPDATE las direcciones principales de una persona, salvo la indicada (puede ser null)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Direccion d SET d.esPrincipal = false WHERE d.persona.id = :personaId AND d.esPrincipal = true " +
+           "AND (:exceptoId IS NULL OR d.id <> :exceptoId)")
+    int desmarcarPrincipales(@Param("personaId") Long personaId, @Param("exceptoId") Long exceptoId);
+}
@@ -0,0 +1,38 @@
+package com.sigret.repositories;
+
+import com.sigret.entities.EventoOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    @Query("SELECT e FROM EventoOutbox e WHERE e.publicado = false ORDER BY e.id ASC")
+    List<EventoOutbox> findPendientes(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventoOutbox e SET e.publicado = true, e.fechaPublicacion = :fecha WHERE e.id IN :ids")
+    void marcarPublicados(@Param("ids") List<Long> ids, @Param("fecha") LocalDateTime fecha);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventoOutbox e SET e.intentos = e.intentos + 1 WHERE e.id = :id")
+    void incrementarIntentos(@Param("id") Long id);
+
+    @Query("SELECT MAX(e.secuencia) FROM EventoOutbox e WHERE e.destino = :destino")
+    Long findUltimaSecuencia(@Param("destino") String destino);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventoOutbox e SET e.secuencia = :secuencia WHERE e.id IN :ids")
+    void asignarSecuencia(@Param("ids") List<Long> ids, @Param("secuencia") Long secuencia);
+}
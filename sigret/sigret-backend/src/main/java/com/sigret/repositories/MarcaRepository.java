@@ -1,8 +1,11 @@
 package com.sigret.repositories;
 
 import com.sigret.entities.Marca;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +14,10 @@ import java.util.List;
 @Repository
 public interface MarcaRepository extends JpaRepository<Marca, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Marca> findAll();
+
     boolean existsByDescripcion(String descripcion);
 
     @Query("SELECT m FROM Marca m WHERE m.descripcion LIKE %:termino%")
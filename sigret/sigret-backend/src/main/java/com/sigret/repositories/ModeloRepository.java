@@ -1,8 +1,11 @@
 package com.sigret.repositories;
 
 import com.sigret.entities.Modelo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,8 +14,13 @@ import java.util.List;
 @Repository
 public interface ModeloRepository extends JpaRepository<Modelo, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Modelo> findAll();
+
     boolean existsByDescripcionAndMarcaId(String descripcion, Long marcaId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Modelo> findByMarcaId(Long marcaId);
 
     @Query("SELECT m FROM Modelo m WHERE m.descripcion LIKE %:termino%")
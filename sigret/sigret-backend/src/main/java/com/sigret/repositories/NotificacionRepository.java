@@ -16,6 +16,10 @@ public interface NotificacionRepository extends JpaRepository<Notificacion, Long
 
     Long countByUsuarioIdAndLeidaFalse(Long usuarioId);
 
+    @Query("SELECT n.usuario.id, COUNT(n) FROM Notificacion n " +
+           "WHERE n.usuario.id IN :usuarioIds AND n.leida = false GROUP BY n.usuario.id")
+    List<Object[]> contarNoLeidasPorUsuario(@Param("usuarioIds") List<Long> usuarioIds);
+
     @Modifying
     @Query("UPDATE Notificacion n SET n.leida = true WHERE n.usuario.id = :usuarioId AND n.leida = false")
     void marcarTodasComoLeidasPorUsuario(@Param("usuarioId") Long usuarioId);
@@ -1,13 +1,21 @@
 package com.sigret.repositories;
 
 import com.sigret.entities.TipoContacto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TipoContactoRepository extends JpaRepository<TipoContacto, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TipoContacto> findAll();
     
     /**
      * Busca un tipo de contacto por su descripción
@@ -1,9 +1,17 @@
 package com.sigret.repositories;
 
 import com.sigret.entities.TipoEquipo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface TipoEquipoRepository extends JpaRepository<TipoEquipo, Long> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TipoEquipo> findAll();
 }
@@ -1,13 +1,21 @@
 package com.sigret.repositories;
 
 import com.sigret.entities.TipoPersona;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TipoPersonaRepository extends JpaRepository<TipoPersona, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TipoPersona> findAll();
     
     // Buscar por descripción
     Optional<TipoPersona> findByDescripcionIgnoreCase(String descripcion);
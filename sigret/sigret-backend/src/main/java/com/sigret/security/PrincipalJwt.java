@@ -0,0 +1,35 @@
+package com.sigret.security;
+
+import lombok.Getter;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * Datos del usuario extraídos de un JWT ya verificado. Inmutable: se comparte entre la sesión
+ * WebSocket y la caché de tokens del interceptor.
+ */
+@Getter
+public final class PrincipalJwt implements Principal {
+
+    private final String username;
+    private final String rol;
+    private final Long empleadoId;
+    private final Instant expiracion;
+
+    public PrincipalJwt(String username, String rol, Long empleadoId, Instant expiracion) {
+        this.username = username;
+        this.rol = rol;
+        this.empleadoId = empleadoId;
+        this.expiracion = expiracion;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public boolean expirado() {
+        return expiracion != null && expiracion.isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,23 @@
+package com.sigret.services;
+
+public interface ArchivoServicioService {
+
+    /**
+     * Mueve a las tablas *_historico los servicios cerrados (sigret.archivo.estados) más viejos que la
+     * edad mínima, junto con sus detalles, presupuestos, tokens y órdenes de trabajo, en lotes
+     * @return cantidad de servicios archivados
+     */
+    int archivarServiciosCerrados();
+
+    /**
+     * Devuelve un servicio archivado (y su grafo) a las tablas activas, en una transacción propia.
+     * Si es una garantía cuyo servicio original también está archivado, restaura primero el original.
+     * @return true si el servicio estaba archivado y se restauró
+     */
+    boolean restaurar(Long servicioId);
+
+    /**
+     * Igual que restaurar(), buscando el servicio archivado por su número
+     */
+    boolean restaurarPorNumero(String numeroServicio);
+}
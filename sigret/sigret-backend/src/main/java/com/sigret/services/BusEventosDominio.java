@@ -0,0 +1,14 @@
+package com.sigret.services;
+
+import com.sigret.eventos.EventoDominio;
+
+public interface BusEventosDominio {
+
+    /**
+     * Publica un evento de dominio. Los consumidores lo reciben de forma asíncrona una vez confirmada
+     * la transacción actual (si la transacción se revierte, el evento se descarta; si no hay
+     * transacción, se despacha de inmediato)
+     * @param evento evento a publicar
+     */
+    void publicar(EventoDominio evento);
+}
@@ -1,10 +1,7 @@
 package com.sigret.services;
 
-import com.sigret.dtos.contacto.ContactoCreateDto;
 import com.sigret.dtos.contacto.ContactoListDto;
-import com.sigret.dtos.direccion.DireccionCreateDto;
 import com.sigret.dtos.direccion.DireccionListDto;
-import com.sigret.dtos.direccion.GooglePlacesDto;
 import com.sigret.dtos.empleado.EmpleadoCreateDto;
 import com.sigret.dtos.empleado.EmpleadoListDto;
 import com.sigret.dtos.empleado.EmpleadoResponseDto;
@@ -12,10 +9,9 @@ import com.sigret.dtos.empleado.EmpleadoUpdateDto;
 import com.sigret.entities.*;
 import com.sigret.exception.DocumentoAlreadyExistsException;
 import com.sigret.exception.EmpleadoNotFoundException;
-import com.sigret.exception.TipoContactoNotFoundException;
 import com.sigret.exception.UsernameAlreadyExistsException;
 import com.sigret.repositories.*;
-import com.sigret.utilities.GooglePlacesParser;
+import com.sigret.services.impl.SincronizadorDatosPersona;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -26,7 +22,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -61,7 +56,7 @@ public class EmpleadoService {
     private ContactoRepository contactoRepository;
 
     @Autowired
-    private TipoContactoRepository tipoContactoRepository;
+    private SincronizadorDatosPersona sincronizadorDatosPersona;
 
     /**
      * Crear un nuevo empleado y automáticamente crear su usuario
@@ -131,12 +126,12 @@ public class EmpleadoService {
 
         // Crear contactos si fueron proporcionados
         if (empleadoCreateDto.getContactos() != null && !empleadoCreateDto.getContactos().isEmpty()) {
-            crearContactos(persona, empleadoCreateDto.getContactos());
+            sincronizadorDatosPersona.sincronizarContactos(persona, empleadoCreateDto.getContactos());
         }
 
         // Crear direcciones si fueron proporcionadas
         if (empleadoCreateDto.getDirecciones() != null && !empleadoCreateDto.getDirecciones().isEmpty()) {
-            crearDirecciones(persona, empleadoCreateDto.getDirecciones());
+            sincronizadorDatosPersona.sincronizarDirecciones(persona, empleadoCreateDto.getDirecciones());
         }
 
         return convertirAEmpleadoResponseDto(empleado);
@@ -247,12 +242,12 @@ public class EmpleadoService {
 
         // Actualizar contactos si fueron proporcionados
         if (empleadoUpdateDto.getContactos() != null) {
-            actualizarContactos(persona, empleadoUpdateDto.getContactos());
+            sincronizadorDatosPersona.sincronizarContactos(persona, empleadoUpdateDto.getContactos());
         }
 
         // Actualizar direcciones si fueron proporcionadas
         if (empleadoUpdateDto.getDirecciones() != null) {
-            actualizarDirecciones(persona, empleadoUpdateDto.getDirecciones());
+            sincronizadorDatosPersona.sincronizarDirecciones(persona, empleadoUpdateDto.getDirecciones());
         }
 
         return convertirAEmpleadoResponseDto(empleado);
@@ -304,121 +299,6 @@ public class EmpleadoService {
         empleadoRepository.deleteById(id);
     }
 
-    /**
-     * Crear contactos para una persona
-     */
-    private void crearContactos(Persona persona, List<ContactoCreateDto> contactosDto) {
-        for (ContactoCreateDto contactoDto : contactosDto) {
-            // Buscar TipoContacto por ID
-            TipoContacto tipoContacto = tipoContactoRepository.findById(contactoDto.getTipoContactoId())
-                    .orElseThrow(() -> new TipoContactoNotFoundException("Tipo de contacto no encontrado con ID: " + contactoDto.getTipoContactoId()));
-
-            Contacto contacto = new Contacto();
-            contacto.setPersona(persona);
-            contacto.setTipoContacto(tipoContacto);
-            contacto.setDescripcion(contactoDto.getDescripcion());
-
-            contactoRepository.save(contacto);
-        }
-    }
-
-    /**
-     * Actualizar contactos de una persona (reemplaza todos los existentes)
-     */
-    private void actualizarContactos(Persona persona, List<ContactoCreateDto> contactosDto) {
-        // Eliminar todos los contactos existentes
-        List<Contacto> contactosExistentes = contactoRepository.findByPersonaId(persona.getId());
-        contactoRepository.deleteAll(contactosExistentes);
-
-        // Crear los nuevos contactos
-        if (contactosDto != null && !contactosDto.isEmpty()) {
-            crearContactos(persona, contactosDto);
-        }
-    }
-
-    /**
-     * Crear direcciones para una persona
-     */
-    private void crearDirecciones(Persona persona, List<DireccionCreateDto> direccionesDto) {
-        for (DireccionCreateDto direccionDto : direccionesDto) {
-            Direccion direccion = new Direccion();
-            direccion.setPersona(persona);
-            
-            // Procesar Google Places si está disponible
-            if (direccionDto.getGooglePlacesData() != null) {
-                procesarGooglePlacesData(direccion, direccionDto.getGooglePlacesData());
-            }
-            
-            // Establecer campos individuales (sobrescriben Google Places)
-            if (direccionDto.getPlaceId() != null) direccion.setPlaceId(direccionDto.getPlaceId());
-            if (direccionDto.getLatitud() != null) direccion.setLatitud(direccionDto.getLatitud());
-            if (direccionDto.getLongitud() != null) direccion.setLongitud(direccionDto.getLongitud());
-            if (direccionDto.getDireccionFormateada() != null) direccion.setDireccionFormateada(direccionDto.getDireccionFormateada());
-            if (direccionDto.getCalle() != null) direccion.setCalle(direccionDto.getCalle());
-            if (direccionDto.getNumero() != null) direccion.setNumero(direccionDto.getNumero());
-            if (direccionDto.getPiso() != null) direccion.setPiso(direccionDto.getPiso());
-            if (direccionDto.getDepartamento() != null) direccion.setDepartamento(direccionDto.getDepartamento());
-            if (direccionDto.getBarrio() != null) direccion.setBarrio(direccionDto.getBarrio());
-            if (direccionDto.getCiudad() != null) direccion.setCiudad(direccionDto.getCiudad());
-            if (direccionDto.getProvincia() != null) direccion.setProvincia(direccionDto.getProvincia());
-            if (direccionDto.getCodigoPostal() != null) direccion.setCodigoPostal(direccionDto.getCodigoPostal());
-            if (direccionDto.getPais() != null) direccion.setPais(direccionDto.getPais());
-            if (direccionDto.getObservaciones() != null) direccion.setObservaciones(direccionDto.getObservaciones());
-            
-            direccion.setEsPrincipal(direccionDto.getEsPrincipal() != null ? direccionDto.getEsPrincipal() : false);
-            
-            // Si es principal, desmarcar otras direcciones
-            if (direccion.getEsPrincipal()) {
-                List<Direccion> direccionesExistentes = direccionRepository.findByPersonaId(persona.getId());
-                direccionesExistentes.forEach(d -> d.setEsPrincipal(false));
-                direccionRepository.saveAll(direccionesExistentes);
-            }
-            
-            direccionRepository.save(direccion);
-        }
-    }
-
-    /**
-     * Actualizar direcciones de una persona (reemplaza todas las existentes)
-     */
-    private void actualizarDirecciones(Persona persona, List<DireccionCreateDto> direccionesDto) {
-        // Eliminar todas las direcciones existentes
-        List<Direccion> direccionesExistentes = direccionRepository.findByPersonaId(persona.getId());
-        direccionRepository.deleteAll(direccionesExistentes);
-        
-        // Crear las nuevas direcciones
-        if (direccionesDto != null && !direccionesDto.isEmpty()) {
-            crearDirecciones(persona, direccionesDto);
-        }
-    }
-
-    /**
-     * Procesa los datos de Google Places y los asigna a la dirección
-     */
-    private void procesarGooglePlacesData(Direccion direccion, GooglePlacesDto googlePlacesData) {
-        if (googlePlacesData.getPlaceId() != null) {
-            direccion.setPlaceId(googlePlacesData.getPlaceId());
-        }
-        if (googlePlacesData.getFormattedAddress() != null) {
-            direccion.setDireccionFormateada(googlePlacesData.getFormattedAddress());
-        }
-        
-        Double[] coordinates = GooglePlacesParser.extractCoordinates(googlePlacesData);
-        if (coordinates != null) {
-            direccion.setLatitud(coordinates[0]);
-            direccion.setLongitud(coordinates[1]);
-        }
-        
-        Map<String, String> components = GooglePlacesParser.extractAddressComponents(googlePlacesData);
-        if (components.containsKey("calle")) direccion.setCalle(components.get("calle"));
-        if (components.containsKey("numero")) direccion.setNumero(components.get("numero"));
-        if (components.containsKey("barrio")) direccion.setBarrio(components.get("barrio"));
-        if (components.containsKey("ciudad")) direccion.setCiudad(components.get("ciudad"));
-        if (components.containsKey("provincia")) direccion.setProvincia(components.get("provincia"));
-        if (components.containsKey("pais")) direccion.setPais(components.get("pais"));
-        if (components.containsKey("codigoPostal")) direccion.setCodigoPostal(components.get("codigoPostal"));
-    }
-
     /**
      * Convertir lista de direcciones a DTOs
      */
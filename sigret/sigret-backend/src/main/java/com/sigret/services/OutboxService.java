@@ -0,0 +1,30 @@
+package com.sigret.services;
+
+import com.sigret.enums.TipoReferencia;
+
+public interface OutboxService {
+
+    /**
+     * Registra un evento para publicar en el destino STOMP indicado una vez confirmada
+     * la transacción actual (si no hay transacción, se publica de inmediato)
+     * @param destino destino STOMP (ej: /topic/servicios)
+     * @param tipoEvento tipo de evento (CREADO, ESTADO_CAMBIADO, ...)
+     * @param tipoAgregado tipo de entidad a la que refiere el evento
+     * @param agregadoId id de la entidad
+     * @param evento objeto a serializar como JSON
+     */
+    void registrar(String destino, String tipoEvento, TipoReferencia tipoAgregado, Long agregadoId, Object evento);
+
+    /**
+     * Igual que registrar(), con los atributos que usan los filtros de suscripción
+     * @param atributos atributos formateados con AtributosEvento (puede ser null)
+     */
+    void registrar(String destino, String tipoEvento, TipoReferencia tipoAgregado, Long agregadoId, Object evento,
+                   String atributos);
+
+    /**
+     * Publica los eventos pendientes en orden, por lotes
+     * @return cantidad de eventos publicados
+     */
+    int publicarPendientes();
+}
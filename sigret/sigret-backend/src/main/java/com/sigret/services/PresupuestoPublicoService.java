@@ -0,0 +1,16 @@
+package com.sigret.services;
+
+import com.sigret.dtos.presupuesto.PresupuestoPublicoDto;
+
+public interface PresupuestoPublicoService {
+
+    /**
+     * Vista pública del presupuesto asociado al token; lanza RuntimeException si el token no es válido
+     */
+    PresupuestoPublicoDto obtenerPorToken(String token);
+
+    /**
+     * Descarta las vistas en cache de todos los tokens del presupuesto
+     */
+    void invalidar(Long presupuestoId);
+}
@@ -0,0 +1,25 @@
+package com.sigret.services;
+
+import java.util.Map;
+
+public interface RetencionService {
+
+    String NOTIFICACIONES_LEIDAS = "notificaciones-leidas";
+    String NOTIFICACIONES = "notificaciones";
+    String PRESUPUESTO_TOKENS_EXPIRADOS = "presupuesto-tokens-expirados";
+    String PRESUPUESTO_TOKENS_USADOS = "presupuesto-tokens-usados";
+    String EVENTOS_OUTBOX_PUBLICADOS = "eventos-outbox-publicados";
+
+    /**
+     * Aplica todas las políticas de retención habilitadas
+     * @return filas borradas por política
+     */
+    Map<String, Long> purgarTodo();
+
+    /**
+     * Borra las filas vencidas según la política, en lotes acotados (DELETE ... LIMIT) confirmados uno a uno
+     * @param politica nombre de la política (ej: notificaciones-leidas)
+     * @return filas borradas
+     */
+    long purgar(String politica);
+}
@@ -6,27 +6,34 @@ import com.sigret.dtos.presupuesto.PresupuestoEventDto;
 import com.sigret.dtos.ordenTrabajo.OrdenTrabajoEventDto;
 import com.sigret.enums.EstadoServicio;
 import com.sigret.enums.TipoReferencia;
+import com.sigret.eventos.NotificacionSolicitada;
+import com.sigret.utilities.AtributosEvento;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-
+/**
+ * Los eventos no se envían directamente al broker: se registran en el outbox dentro de la
+ * transacción del llamador y se publican después del commit (ver OutboxService).
+ * Las notificaciones de la campana se persisten de forma asíncrona a través del BusEventosDominio.
+ */
 @Service
 public class WebSocketNotificationService {
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private OutboxService outboxService;
 
     @Autowired
-    private NotificacionService notificacionService;
+    private BusEventosDominio busEventosDominio;
 
     /**
      * Notifica la creación de un nuevo servicio
      */
+    @Timed(value = "sigret.websocket.broadcast", extraTags = {"evento", "servicio_creado"})
     public void notificarServicioCreado(ServicioListDto servicio) {
         ServicioEventDto evento = new ServicioEventDto("CREADO", servicio);
-        messagingTemplate.convertAndSend("/topic/servicios", evento);
+        outboxService.registrar("/topic/servicios", "CREADO", TipoReferencia.SERVICIO, servicio.getId(), evento,
+                atributos(servicio, null));
 
         persistirYNotificar(
                 "Nuevo servicio creado: " + servicio.getNumeroServicio(),
@@ -37,9 +44,11 @@ public class WebSocketNotificationService {
     /**
      * Notifica la actualización de un servicio
      */
+    @Timed(value = "sigret.websocket.broadcast", extraTags = {"evento", "servicio_actualizado"})
     public void notificarServicioActualizado(ServicioListDto servicio) {
         ServicioEventDto evento = new ServicioEventDto("ACTUALIZADO", servicio);
-        messagingTemplate.convertAndSend("/topic/servicios", evento);
+        outboxService.registrar("/topic/servicios", "ACTUALIZADO", TipoReferencia.SERVICIO, servicio.getId(), evento,
+                atributos(servicio, null));
 
         persistirYNotificar(
                 "Servicio actualizado: " + servicio.getNumeroServicio(),
@@ -50,9 +59,11 @@ public class WebSocketNotificationService {
     /**
      * Notifica el cambio de estado de un servicio
      */
+    @Timed(value = "sigret.websocket.broadcast", extraTags = {"evento", "servicio_estado"})
     public void notificarCambioEstado(ServicioListDto servicio, EstadoServicio estadoAnterior) {
         ServicioEventDto evento = new ServicioEventDto("ESTADO_CAMBIADO", servicio, estadoAnterior);
-        messagingTemplate.convertAndSend("/topic/servicios", evento);
+        outboxService.registrar("/topic/servicios", "ESTADO_CAMBIADO", TipoReferencia.SERVICIO, servicio.getId(), evento,
+                atributos(servicio, estadoAnterior));
 
         String mensaje = String.format("Servicio %s cambió de %s a %s",
                 servicio.getNumeroServicio(),
@@ -67,11 +78,12 @@ public class WebSocketNotificationService {
     /**
      * Notifica la eliminación de un servicio
      */
+    @Timed(value = "sigret.websocket.broadcast", extraTags = {"evento", "servicio_eliminado"})
     public void notificarServicioEliminado(Long servicioId) {
         ServicioEventDto evento = new ServicioEventDto();
         evento.setTipo("ELIMINADO");
         evento.setServicioId(servicioId);
-        messagingTemplate.convertAndSend("/topic/servicios", evento);
+        outboxService.registrar("/topic/servicios", "ELIMINADO", TipoReferencia.SERVICIO, servicioId, evento);
 
         persistirYNotificar(
                 "Servicio eliminado (ID: " + servicioId + ")",
@@ -82,8 +94,10 @@ public class WebSocketNotificationService {
     /**
      * Notifica eventos de presupuesto
      */
+    @Timed(value = "sigret.websocket.broadcast", extraTags = {"evento", "presupuesto"})
     public void notificarPresupuesto(PresupuestoEventDto evento) {
-        messagingTemplate.convertAndSend("/topic/presupuestos", evento);
+        outboxService.registrar("/topic/presupuestos", evento.getTipoEvento(), TipoReferencia.PRESUPUESTO,
+                evento.getPresupuestoId(), evento, atributos(evento));
 
         String accion = switch (evento.getTipoEvento()) {
             case "CREADO" -> "creado";
@@ -106,8 +120,10 @@ public class WebSocketNotificationService {
     /**
      * Notifica eventos de orden de trabajo
      */
+    @Timed(value = "sigret.websocket.broadcast", extraTags = {"evento", "orden_trabajo"})
     public void notificarOrdenTrabajo(OrdenTrabajoEventDto evento) {
-        messagingTemplate.convertAndSend("/topic/ordenes-trabajo", evento);
+        outboxService.registrar("/topic/ordenes-trabajo", evento.getTipoEvento(), TipoReferencia.ORDEN_TRABAJO,
+                evento.getOrdenTrabajoId(), evento, atributos(evento));
 
         String accion = switch (evento.getTipoEvento()) {
             case "CREADO" -> "creada";
@@ -129,9 +145,42 @@ public class WebSocketNotificationService {
 
     private void persistirYNotificar(String mensaje, String tipo, Long referenciaId,
                                      TipoReferencia tipoReferencia, String icono, String severidad) {
-        notificacionService.crearNotificacionParaTodos(mensaje, tipo, referenciaId, tipoReferencia, icono, severidad);
-        // Enviar señal de refresh al frontend
-        messagingTemplate.convertAndSend("/topic/notificaciones", Map.of("tipo", "NUEVA_NOTIFICACION"));
+        // Cada usuario recibe su notificación y contador por /user/queue/notificaciones (ver ConsumidorNotificaciones)
+        busEventosDominio.publicar(new NotificacionSolicitada(mensaje, tipo, referenciaId, tipoReferencia, icono, severidad));
+    }
+
+    /**
+     * Atributos para los filtros de suscripción. En los cambios de estado se incluye también el estado
+     * anterior, para que quien filtra por él se entere de que la entidad salió de su lista.
+     */
+    private String atributos(ServicioListDto servicio, EstadoServicio estadoAnterior) {
+        return new AtributosEvento()
+                .con(AtributosEvento.ESTADO, servicio.getEstado(), estadoAnterior)
+                .con(AtributosEvento.EMPLEADO_ID, servicio.getTecnicoAsignadoId(), servicio.getTecnicoEvaluacionId())
+                .con(AtributosEvento.CLIENTE_ID, servicio.getClienteId())
+                .formatear();
+    }
+
+    private String atributos(PresupuestoEventDto evento) {
+        AtributosEvento atributos = new AtributosEvento()
+                .con(AtributosEvento.ESTADO, evento.getEstadoNuevo(), evento.getEstadoAnterior());
+        if (evento.getPresupuesto() != null) {
+            atributos.con(AtributosEvento.ESTADO, evento.getPresupuesto().getEstado())
+                    .con(AtributosEvento.EMPLEADO_ID, evento.getPresupuesto().getEmpleadoId())
+                    .con(AtributosEvento.CLIENTE_ID, evento.getPresupuesto().getClienteId());
+        }
+        return atributos.formatear();
+    }
+
+    private String atributos(OrdenTrabajoEventDto evento) {
+        AtributosEvento atributos = new AtributosEvento()
+                .con(AtributosEvento.ESTADO, evento.getEstadoNuevo(), evento.getEstadoAnterior());
+        if (evento.getOrdenTrabajo() != null) {
+            atributos.con(AtributosEvento.ESTADO, evento.getOrdenTrabajo().getEstado())
+                    .con(AtributosEvento.EMPLEADO_ID, evento.getOrdenTrabajo().getEmpleadoId())
+                    .con(AtributosEvento.CLIENTE_ID, evento.getOrdenTrabajo().getClienteId());
+        }
+        return atributos.formatear();
     }
 
     private String formatearEstado(String estado) {
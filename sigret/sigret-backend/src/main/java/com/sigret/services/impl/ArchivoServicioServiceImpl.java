@@ -0,0 +1,266 @@
+package com.sigret.services.impl;
+
+import com.sigret.config.ArchivoProperties;
+import com.sigret.services.ArchivoServicioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Archivo de servicios cerrados. Las tablas activas (servicios y su grafo) solo conservan el trabajo
+ * en curso y el reciente; lo cerrado y viejo pasa a tablas *_historico con el mismo esquema pero sin
+ * claves foráneas, así los índices de las tablas activas siguen entrando en memoria.
+ * Las búsquedas históricas (por número, garantías sobre un servicio archivado) restauran el servicio
+ * a las tablas activas, de modo que el resto del código no distingue entre ambos casos; un servicio
+ * restaurado no vuelve a archivarse hasta pasados sigret.archivo.dias-tras-restaurar.
+ * Nunca se archiva nada del año en curso: los números SRV/GTA/PRE/OT se calculan con el máximo del año.
+ */
+@Service
+@Slf4j
+public class ArchivoServicioServiceImpl implements ArchivoServicioService {
+
+    static final String SUFIJO_HISTORICO = "_historico";
+    static final String TABLA_RESTAURACIONES = "archivo_restauraciones";
+
+    // Tablas del grafo de un servicio, de hijas a padres. %1$s = sufijo de la tabla origen, %2$s = ids de servicios
+    static final Map<String, String> TABLAS = crearTablas();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ArchivoProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Solo para asegurar que el esquema de las tablas activas ya existe
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // tabla -> columnas de la tabla activa, en el orden del INSERT ... SELECT
+    private final Map<String, String> columnas = new LinkedHashMap<>();
+
+    private static Map<String, String> crearTablas() {
+        Map<String, String> tablas = new LinkedHashMap<>();
+        tablas.put("detalle_ordenes_trabajo",
+                "id_orden_trabajo IN (SELECT id_orden_trabajo FROM ordenes_trabajo%1$s WHERE id_servicio IN (%2$s))");
+        tablas.put("ordenes_trabajo", "id_servicio IN (%2$s)");
+        tablas.put("presupuesto_tokens",
+                "id_presupuesto IN (SELECT id_presupuesto FROM presupuestos%1$s WHERE id_servicio IN (%2$s))");
+        tablas.put("detalle_presupuestos",
+                "id_presupuesto IN (SELECT id_presupuesto FROM presupuestos%1$s WHERE id_servicio IN (%2$s))");
+        tablas.put("presupuestos", "id_servicio IN (%2$s)");
+        tablas.put("detalle_servicios", "id_servicio IN (%2$s)");
+        tablas.put("servicios", "id_servicio IN (%2$s)");
+        return Collections.unmodifiableMap(tablas);
+    }
+
+    /**
+     * Crea las tablas *_historico que falten y les agrega las columnas nuevas de las tablas activas
+     * (ddl-auto: update solo actualiza las tablas mapeadas)
+     */
+    @PostConstruct
+    public void prepararTablas() {
+        for (String tabla : TABLAS.keySet()) {
+            String historico = tabla + SUFIJO_HISTORICO;
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + historico + " LIKE " + tabla);
+
+            List<Map<String, Object>> activas = jdbcTemplate.queryForList(
+                    "SELECT COLUMN_NAME, COLUMN_TYPE, COLUMN_DEFAULT, EXTRA FROM information_schema.COLUMNS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? ORDER BY ORDINAL_POSITION", tabla);
+            List<String> existentes = jdbcTemplate.queryForList(
+                    "SELECT COLUMN_NAME FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+                    String.class, historico);
+
+            List<String> nombres = new ArrayList<>();
+            for (Map<String, Object> columna : activas) {
+                String nombre = (String) columna.get("COLUMN_NAME");
+                nombres.add("`" + nombre + "`");
+                if (existentes.stream().noneMatch(nombre::equalsIgnoreCase)) {
+                    jdbcTemplate.execute("ALTER TABLE " + historico + " ADD COLUMN `" + nombre + "` " + columna.get("COLUMN_TYPE") + " NULL" +
+                            valorPorDefecto(columna));
+                    log.info("Archivo: columna {} agregada a {}", nombre, historico);
+                }
+            }
+            columnas.put(tabla, String.join(", ", nombres));
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLA_RESTAURACIONES +
+                " (id_servicio BIGINT PRIMARY KEY, fecha_restauracion DATETIME(6) NOT NULL)");
+    }
+
+    /**
+     * Copia el default literal de la columna activa para que las filas ya archivadas no queden en NULL
+     * (p. ej. version, NOT NULL en la tabla activa: sin el default la restauración fallaría)
+     */
+    static String valorPorDefecto(Map<String, Object> columna) {
+        Object porDefecto = columna.get("COLUMN_DEFAULT");
+        String extra = String.valueOf(columna.get("EXTRA"));
+        if (porDefecto == null || extra.contains("DEFAULT_GENERATED")) {
+            return "";
+        }
+        return " DEFAULT '" + porDefecto.toString().replace("'", "''") + "'";
+    }
+
+    @Scheduled(cron = "${sigret.archivo.cron:0 30 3 * * *}")
+    public void archivarProgramado() {
+        if (Boolean.TRUE.equals(properties.getHabilitado())) {
+            archivarServiciosCerrados();
+        }
+    }
+
+    @Override
+    public int archivarServiciosCerrados() {
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime corte = calcularCorte(ahora, properties.getEdadMinimaDias());
+        LocalDateTime limiteRestauracion = ahora.minusDays(properties.getDiasTrasRestaurar());
+        long inicio = System.nanoTime();
+
+        int archivados = 0;
+        for (int lote = 0; lote < properties.getMaximoLotesPorPasada(); lote++) {
+            Integer cantidad;
+            try {
+                cantidad = transactionTemplate.execute(estado -> archivarLote(corte, limiteRestauracion));
+            } catch (DataAccessException e) {
+                // Por ejemplo, una garantía creada sobre un servicio del lote mientras se movía: se reintenta en la próxima pasada
+                log.warn("Archivo: lote descartado, se reintenta en la próxima pasada: {}", e.getMessage());
+                break;
+            }
+            if (cantidad == null || cantidad == 0) {
+                break;
+            }
+            archivados += cantidad;
+        }
+
+        meterRegistry.counter("sigret.archivo.servicios", "operacion", "archivado").increment(archivados);
+        if (archivados > 0) {
+            log.info("Archivo: {} servicios cerrados antes de {} movidos a las tablas históricas en {} ms",
+                    archivados, corte.toLocalDate(), (System.nanoTime() - inicio) / 1_000_000);
+        }
+        return archivados;
+    }
+
+    /**
+     * Selecciona y mueve un lote. Un servicio al que todavía apunta una garantía activa no se archiva:
+     * la garantía sale primero y el original en un lote siguiente. Tampoco uno con presupuestos u órdenes
+     * posteriores al corte, que tienen numeración del año en curso.
+     * SKIP LOCKED: otra instancia que archiva a la vez toma lotes distintos.
+     */
+    private int archivarLote(LocalDateTime corte, LocalDateTime limiteRestauracion) {
+        List<Object> parametros = new ArrayList<>();
+        properties.getEstados().forEach(estado -> parametros.add(estado.name()));
+        parametros.add(Timestamp.valueOf(corte));
+        parametros.add(Timestamp.valueOf(corte));
+        parametros.add(Timestamp.valueOf(corte));
+        parametros.add(Timestamp.valueOf(limiteRestauracion));
+        parametros.add(properties.getTamanioLote());
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT s.id_servicio FROM servicios s " +
+                "WHERE s.estado IN (" + marcadores(properties.getEstados().size()) + ") AND s.fecha_creacion < ? " +
+                "AND NOT EXISTS (SELECT 1 FROM presupuestos p WHERE p.id_servicio = s.id_servicio AND p.fecha_creacion >= ?) " +
+                "AND NOT EXISTS (SELECT 1 FROM ordenes_trabajo o WHERE o.id_servicio = s.id_servicio AND o.fecha_creacion >= ?) " +
+                "AND NOT EXISTS (SELECT 1 FROM servicios g WHERE g.id_servicio_garantia = s.id_servicio) " +
+                "AND NOT EXISTS (SELECT 1 FROM " + TABLA_RESTAURACIONES + " r " +
+                "WHERE r.id_servicio = s.id_servicio AND r.fecha_restauracion > ?) " +
+                "ORDER BY s.id_servicio LIMIT ? FOR UPDATE OF s SKIP LOCKED",
+                Long.class, parametros.toArray());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        mover(ids, "", SUFIJO_HISTORICO);
+        return ids.size();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean restaurar(Long servicioId) {
+        List<Long> originales = jdbcTemplate.queryForList(
+                "SELECT id_servicio_garantia FROM servicios" + SUFIJO_HISTORICO + " WHERE id_servicio = ? FOR UPDATE",
+                Long.class, servicioId);
+        if (originales.isEmpty()) {
+            return false;
+        }
+        Long original = originales.get(0);
+        if (original != null) {
+            // La garantía apunta al original con clave foránea: tiene que volver antes
+            restaurar(original);
+        }
+
+        mover(List.of(servicioId), SUFIJO_HISTORICO, "");
+        jdbcTemplate.update("INSERT INTO " + TABLA_RESTAURACIONES + " (id_servicio, fecha_restauracion) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE fecha_restauracion = VALUES(fecha_restauracion)",
+                servicioId, Timestamp.valueOf(LocalDateTime.now()));
+        meterRegistry.counter("sigret.archivo.servicios", "operacion", "restaurado").increment();
+        log.info("Archivo: servicio {} restaurado a las tablas activas", servicioId);
+        return true;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean restaurarPorNumero(String numeroServicio) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id_servicio FROM servicios" + SUFIJO_HISTORICO + " WHERE numero_servicio = ?",
+                Long.class, numeroServicio);
+        return !ids.isEmpty() && restaurar(ids.get(0));
+    }
+
+    /**
+     * Copia el grafo de los servicios a la otra familia de tablas y después lo borra del origen,
+     * de hijas a padres para respetar las claves foráneas de las tablas activas
+     */
+    private void mover(List<Long> servicioIds, String sufijoOrigen, String sufijoDestino) {
+        String marcadores = marcadores(servicioIds.size());
+        Object[] ids = servicioIds.toArray();
+
+        List<String> tablas = new ArrayList<>(TABLAS.keySet());
+        List<String> copia = new ArrayList<>(tablas);
+        if (sufijoDestino.isEmpty()) {
+            // Hacia las tablas activas se insertan los padres primero
+            Collections.reverse(copia);
+        }
+        for (String tabla : copia) {
+            String cols = columnas.get(tabla);
+            jdbcTemplate.update("INSERT INTO " + tabla + sufijoDestino + " (" + cols + ") SELECT " + cols +
+                    " FROM " + tabla + sufijoOrigen + " WHERE " + String.format(TABLAS.get(tabla), sufijoOrigen, marcadores), ids);
+        }
+        for (String tabla : tablas) {
+            jdbcTemplate.update("DELETE FROM " + tabla + sufijoOrigen +
+                    " WHERE " + String.format(TABLAS.get(tabla), sufijoOrigen, marcadores), ids);
+        }
+    }
+
+    /**
+     * Fecha de corte: la edad mínima, pero nunca dentro del año en curso
+     */
+    static LocalDateTime calcularCorte(LocalDateTime ahora, int edadMinimaDias) {
+        LocalDateTime porEdad = ahora.minusDays(edadMinimaDias);
+        LocalDateTime inicioAnio = LocalDate.of(ahora.getYear(), 1, 1).atStartOfDay();
+        return porEdad.isBefore(inicioAnio) ? porEdad : inicioAnio;
+    }
+
+    private static String marcadores(int cantidad) {
+        return String.join(", ", Collections.nCopies(cantidad, "?"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.sigret.services.impl;
+
+import com.sigret.config.WebSocketProperties;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Últimos frames publicados en cada topic de tableros, para que un cliente que se reconecta reciba
+ * solo lo que se perdió. La secuencia de cada frame la asigna el relay del outbox y es creciente
+ * dentro de cada topic.
+ * En modo relay solo se llena el buffer del nodo que tiene el bloqueo del publicador: un cliente que
+ * se reconecta a otro nodo recibe RESINCRONIZAR y recarga por REST.
+ */
+@Component
+public class BufferEventosRecientes {
+
+    public static final Set<String> DESTINOS = Set.of("/topic/servicios", "/topic/presupuestos", "/topic/ordenes-trabajo");
+
+    @Autowired
+    private WebSocketProperties webSocketProperties;
+
+    private final Map<String, Historial> historiales = new ConcurrentHashMap<>();
+
+    public boolean admite(String destino) {
+        return DESTINOS.contains(destino);
+    }
+
+    public void registrar(String destino, long seq, String payload, String atributos) {
+        historiales.computeIfAbsent(destino, d -> new Historial())
+                .agregar(new EventoReciente(seq, payload, atributos), webSocketProperties.getCapacidadReplay());
+    }
+
+    /**
+     * @return los frames con secuencia mayor a la indicada, o vacío si parte del hueco ya salió del
+     * buffer (o es anterior al arranque) y el cliente tiene que recargar por REST
+     */
+    public Optional<List<EventoReciente>> desde(String destino, long seq) {
+        Historial historial = historiales.get(destino);
+        return historial != null ? historial.desde(seq) : Optional.empty();
+    }
+
+    @Getter
+    public static class EventoReciente {
+        private final long seq;
+        private final String payload;
+        private final String atributos;
+
+        public EventoReciente(long seq, String payload, String atributos) {
+            this.seq = seq;
+            this.payload = payload;
+            this.atributos = atributos;
+        }
+    }
+
+    private static class Historial {
+        private final Deque<EventoReciente> eventos = new ArrayDeque<>();
+        // Última secuencia que el buffer no puede reproducir
+        private long piso = -1;
+
+        synchronized void agregar(EventoReciente evento, int capacidad) {
+            if (piso < 0) {
+                piso = evento.getSeq() - 1;
+            }
+            eventos.addLast(evento);
+            while (eventos.size() > capacidad) {
+                piso = eventos.removeFirst().getSeq();
+            }
+        }
+
+        synchronized Optional<List<EventoReciente>> desde(long seq) {
+            if (seq < piso) {
+                return Optional.empty();
+            }
+            List<EventoReciente> resultado = new ArrayList<>();
+            for (EventoReciente evento : eventos) {
+                if (evento.getSeq() > seq) {
+                    resultado.add(evento);
+                }
+            }
+            return Optional.of(resultado);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.sigret.services.impl;
+
+import com.sigret.eventos.ConsumidorEventoDominio;
+import com.sigret.eventos.EventoDominio;
+import com.sigret.services.BusEventosDominio;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bus de eventos de dominio en memoria. Cada consumidor tiene N carriles de un solo hilo y los eventos
+ * se reparten por agregado (tipo + id): los de una misma entidad van siempre al mismo carril y se
+ * consumen en orden, mientras que entidades distintas y consumidores distintos avanzan en paralelo,
+ * fuera del hilo de la petición.
+ * No es durable: lo que tiene que sobrevivir a un reinicio (los eventos WebSocket) sigue pasando por el
+ * outbox, y los cambios de estado entre agregados se siguen haciendo dentro de la transacción.
+ */
+@Service
+@Slf4j
+public class BusEventosDominioImpl implements BusEventosDominio, InitializingBean, DisposableBean {
+
+    @Autowired(required = false)
+    private List<ConsumidorEventoDominio> consumidores = List.of();
+
+    @Value("${sigret.eventos.carriles:4}")
+    private int carriles = 4;
+
+    private final Map<ConsumidorEventoDominio, List<ExecutorService>> carrilesPorConsumidor = new LinkedHashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        for (ConsumidorEventoDominio consumidor : consumidores) {
+            List<ExecutorService> ejecutores = new ArrayList<>(carriles);
+            for (int i = 0; i < carriles; i++) {
+                ejecutores.add(Executors.newSingleThreadExecutor(
+                        Thread.ofVirtual().name("eventos-" + consumidor.getNombre() + "-" + i).factory()));
+            }
+            carrilesPorConsumidor.put(consumidor, ejecutores);
+        }
+    }
+
+    @Override
+    public void publicar(EventoDominio evento) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    despachar(evento);
+                }
+            });
+        } else {
+            despachar(evento);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        // Se deja terminar lo encolado (notificaciones, emails) antes de cerrar el contexto
+        for (List<ExecutorService> ejecutores : carrilesPorConsumidor.values()) {
+            ejecutores.forEach(ExecutorService::shutdown);
+        }
+        for (List<ExecutorService> ejecutores : carrilesPorConsumidor.values()) {
+            for (ExecutorService ejecutor : ejecutores) {
+                ejecutor.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private void despachar(EventoDominio evento) {
+        int carril = Math.floorMod(Objects.hash(evento.getTipoAgregado(), evento.getAgregadoId()), carriles);
+        carrilesPorConsumidor.forEach((consumidor, ejecutores) -> {
+            if (!consumidor.admite(evento)) {
+                return;
+            }
+            ejecutores.get(carril).execute(() -> {
+                try {
+                    consumidor.consumir(evento);
+                } catch (RuntimeException e) {
+                    log.error("Error en el consumidor '{}' procesando {} de {} {}", consumidor.getNombre(),
+                            evento.getClass().getSimpleName(), evento.getTipoAgregado(), evento.getAgregadoId(), e);
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,170 @@
+package com.sigret.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sigret.entities.EventoOutbox;
+import com.sigret.enums.TipoReferencia;
+import com.sigret.utilities.AtributosEvento;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Agrupa los eventos del outbox acumulados durante la ventana de coalescencia:
+ * - eventos repetidos de una misma entidad se fusionan (queda el último estado; en los cambios
+ *   de estado se conserva el estado anterior del primero)
+ * - lo que queda para un mismo destino viaja en un único frame {"tipo":"LOTE","eventos":[...]}; cuando
+ *   cambian los atributos de filtrado se abre otro frame, para que cada uno se pueda filtrar entero
+ */
+@Component
+public class CoalescedorEventos {
+
+    public static final String TIPO_LOTE = "LOTE";
+
+    private static final Set<String> FUSIONABLES_POR_ENTIDAD = Set.of("ACTUALIZADO", "ESTADO_CAMBIADO", "CAMBIO_ESTADO");
+    private static final Set<String> CAMBIOS_DE_ESTADO = Set.of("ESTADO_CAMBIADO", "CAMBIO_ESTADO");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public List<EnvioCoalescido> coalescer(List<EventoOutbox> eventos) {
+        Map<String, List<Pendiente>> porDestino = new LinkedHashMap<>();
+
+        for (EventoOutbox evento : eventos) {
+            List<Pendiente> pendientes = porDestino.computeIfAbsent(evento.getDestino(), d -> new ArrayList<>());
+            Pendiente anterior = ultimoDeLaEntidad(pendientes, evento);
+            if (anterior != null && fusionables(anterior, evento)) {
+                anterior.fusionar(evento);
+            } else {
+                pendientes.add(new Pendiente(evento));
+            }
+        }
+
+        List<EnvioCoalescido> envios = new ArrayList<>();
+        porDestino.forEach((destino, pendientes) -> {
+            // Tramos consecutivos con los mismos atributos, sin alterar el orden dentro del destino
+            List<Pendiente> tramo = new ArrayList<>();
+            for (Pendiente pendiente : pendientes) {
+                if (!tramo.isEmpty() && !Objects.equals(tramo.get(0).atributos, pendiente.atributos)) {
+                    envios.add(construirEnvio(destino, tramo));
+                    tramo = new ArrayList<>();
+                }
+                tramo.add(pendiente);
+            }
+            envios.add(construirEnvio(destino, tramo));
+        });
+        return envios;
+    }
+
+    private Pendiente ultimoDeLaEntidad(List<Pendiente> pendientes, EventoOutbox evento) {
+        for (int i = pendientes.size() - 1; i >= 0; i--) {
+            Pendiente pendiente = pendientes.get(i);
+            if (pendiente.esDeLaEntidad(evento)) {
+                return pendiente;
+            }
+        }
+        return null;
+    }
+
+    private boolean fusionables(Pendiente anterior, EventoOutbox evento) {
+        return anterior.tipoEvento.equals(evento.getTipoEvento()) && FUSIONABLES_POR_ENTIDAD.contains(evento.getTipoEvento());
+    }
+
+    private EnvioCoalescido construirEnvio(String destino, List<Pendiente> pendientes) {
+        List<Long> ids = new ArrayList<>();
+        List<String> payloads = new ArrayList<>();
+        int intentos = 0;
+        for (Pendiente pendiente : pendientes) {
+            ids.addAll(pendiente.ids);
+            payloads.add(pendiente.payloadFinal());
+            intentos = Math.max(intentos, pendiente.intentos);
+        }
+
+        String payload = payloads.size() == 1
+                ? payloads.get(0)
+                : "{\"tipo\":\"" + TIPO_LOTE + "\",\"eventos\":[" + String.join(",", payloads) + "]}";
+        return new EnvioCoalescido(destino, payload, pendientes.get(0).atributos, ids, intentos);
+    }
+
+    @Getter
+    public static class EnvioCoalescido {
+        private final String destino;
+        private final String payload;
+        private final String atributos;
+        private final List<Long> ids;
+        private final int intentos;
+
+        public EnvioCoalescido(String destino, String payload, String atributos, List<Long> ids, int intentos) {
+            this.destino = destino;
+            this.payload = payload;
+            this.atributos = atributos;
+            this.ids = ids;
+            this.intentos = intentos;
+        }
+    }
+
+    private class Pendiente {
+        private final String tipoEvento;
+        private final TipoReferencia tipoAgregado;
+        private final Long agregadoId;
+        private final String payloadInicial;
+        private final List<Long> ids = new ArrayList<>();
+        private String payload;
+        private String atributos;
+        private int intentos;
+
+        Pendiente(EventoOutbox evento) {
+            this.tipoEvento = evento.getTipoEvento();
+            this.tipoAgregado = evento.getTipoAgregado();
+            this.agregadoId = evento.getAgregadoId();
+            this.payloadInicial = evento.getPayload();
+            this.payload = evento.getPayload();
+            this.atributos = evento.getAtributos();
+            this.intentos = intentosDe(evento);
+            this.ids.add(evento.getId());
+        }
+
+        boolean esDeLaEntidad(EventoOutbox evento) {
+            return tipoAgregado == evento.getTipoAgregado() && Objects.equals(agregadoId, evento.getAgregadoId());
+        }
+
+        void fusionar(EventoOutbox evento) {
+            ids.add(evento.getId());
+            payload = evento.getPayload();
+            // Quien filtraba por el estado anterior también tiene que enterarse del cambio
+            atributos = AtributosEvento.unir(atributos, evento.getAtributos());
+            intentos = Math.max(intentos, intentosDe(evento));
+        }
+
+        String payloadFinal() {
+            if (ids.size() == 1 || !CAMBIOS_DE_ESTADO.contains(tipoEvento)) {
+                return payload;
+            }
+            // A->B + B->C se publica como A->C
+            try {
+                JsonNode inicial = objectMapper.readTree(payloadInicial);
+                JsonNode ultimo = objectMapper.readTree(payload);
+                if (ultimo instanceof ObjectNode objeto && inicial.has("estadoAnterior")) {
+                    objeto.set("estadoAnterior", inicial.get("estadoAnterior"));
+                    return objectMapper.writeValueAsString(objeto);
+                }
+                return payload;
+            } catch (JsonProcessingException e) {
+                return payload;
+            }
+        }
+
+        private int intentosDe(EventoOutbox evento) {
+            return evento.getIntentos() != null ? evento.getIntentos() : 0;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.sigret.services.impl;
+
+import com.sigret.enums.TipoReferencia;
+import com.sigret.eventos.ConsumidorEventoDominio;
+import com.sigret.eventos.EventoDominio;
+import com.sigret.eventos.PresupuestoReenviado;
+import com.sigret.services.EmailService;
+import com.sigret.services.NotificacionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Envía los emails al cliente (PDF + SMTP) fuera del hilo de la petición. Como el usuario ya no ve el
+ * error en la respuesta, un fallo se avisa por la campana de notificaciones.
+ */
+@Component
+@Slf4j
+public class ConsumidorEmails implements ConsumidorEventoDominio {
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private NotificacionService notificacionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public String getNombre() {
+        return "emails";
+    }
+
+    @Override
+    public boolean admite(EventoDominio evento) {
+        return evento instanceof PresupuestoReenviado;
+    }
+
+    @Override
+    public void consumir(EventoDominio evento) {
+        PresupuestoReenviado reenvio = (PresupuestoReenviado) evento;
+        try {
+            // El envío lee el presupuesto con sus relaciones y genera el token de aprobación
+            transactionTemplate.executeWithoutResult(estado -> emailService.enviarPresupuestoACliente(
+                    reenvio.getPresupuestoId(),
+                    reenvio.getMostrarOriginal(),
+                    reenvio.getMostrarAlternativo(),
+                    reenvio.getMensajeAdicional()));
+        } catch (RuntimeException e) {
+            log.error("No se pudo reenviar el presupuesto {}", reenvio.getPresupuestoId(), e);
+            notificacionService.crearNotificacionParaTodos(
+                    "No se pudo reenviar por email el presupuesto del servicio " + reenvio.getNumeroServicio(),
+                    "ERROR_EMAIL", reenvio.getPresupuestoId(), TipoReferencia.PRESUPUESTO,
+                    "pi pi-exclamation-triangle", "error");
+        }
+    }
+}
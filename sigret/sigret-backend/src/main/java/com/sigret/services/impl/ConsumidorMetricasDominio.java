@@ -0,0 +1,46 @@
+package com.sigret.services.impl;
+
+import com.sigret.eventos.ConsumidorEventoDominio;
+import com.sigret.eventos.EventoDominio;
+import com.sigret.eventos.PresupuestoAprobado;
+import com.sigret.eventos.PresupuestoRechazado;
+import com.sigret.eventos.ServicioEstadoCambiado;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Acumula contadores del flujo de trabajo (transiciones de servicios, presupuestos resueltos)
+ * publicados en /actuator/prometheus
+ */
+@Component
+public class ConsumidorMetricasDominio implements ConsumidorEventoDominio {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public String getNombre() {
+        return "metricas";
+    }
+
+    @Override
+    public boolean admite(EventoDominio evento) {
+        return evento instanceof ServicioEstadoCambiado
+                || evento instanceof PresupuestoAprobado
+                || evento instanceof PresupuestoRechazado;
+    }
+
+    @Override
+    public void consumir(EventoDominio evento) {
+        if (evento instanceof ServicioEstadoCambiado cambio) {
+            meterRegistry.counter("sigret.servicios.transiciones",
+                    "desde", String.valueOf(cambio.getEstadoAnterior()),
+                    "hasta", String.valueOf(cambio.getEstadoNuevo())).increment();
+        } else if (evento instanceof PresupuestoAprobado) {
+            meterRegistry.counter("sigret.presupuestos.resueltos", "resultado", "APROBADO").increment();
+        } else if (evento instanceof PresupuestoRechazado) {
+            meterRegistry.counter("sigret.presupuestos.resueltos", "resultado", "RECHAZADO").increment();
+        }
+    }
+}
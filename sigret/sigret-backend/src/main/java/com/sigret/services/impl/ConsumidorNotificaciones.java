@@ -0,0 +1,36 @@
+package com.sigret.services.impl;
+
+import com.sigret.eventos.ConsumidorEventoDominio;
+import com.sigret.eventos.EventoDominio;
+import com.sigret.eventos.NotificacionSolicitada;
+import com.sigret.services.NotificacionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persiste las notificaciones de la campana (una fila por usuario activo) fuera del hilo de la petición
+ */
+@Component
+public class ConsumidorNotificaciones implements ConsumidorEventoDominio {
+
+    @Autowired
+    private NotificacionService notificacionService;
+
+    @Override
+    public String getNombre() {
+        return "notificaciones";
+    }
+
+    @Override
+    public boolean admite(EventoDominio evento) {
+        return evento instanceof NotificacionSolicitada;
+    }
+
+    @Override
+    public void consumir(EventoDominio evento) {
+        NotificacionSolicitada notificacion = (NotificacionSolicitada) evento;
+        notificacionService.crearNotificacionParaTodos(notificacion.getMensaje(), notificacion.getTipo(),
+                notificacion.getReferenciaId(), notificacion.getTipoReferencia(),
+                notificacion.getIcono(), notificacion.getSeveridad());
+    }
+}
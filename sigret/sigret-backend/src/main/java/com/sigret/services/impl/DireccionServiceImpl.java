@@ -45,7 +45,7 @@ public class DireccionServiceImpl implements DireccionService {
 
         // Si la dirección se marca como principal, desmarcar las otras
         if (Boolean.TRUE.equals(direccionCreateDto.getEsPrincipal())) {
-            desmarcarDireccionesPrincipales(persona.getId());
+            desmarcarDireccionesPrincipales(persona.getId(), null);
         }
 
         // Crear la dirección
@@ -177,7 +177,7 @@ public class DireccionServiceImpl implements DireccionService {
 
         // Si se marca como principal, desmarcar las otras direcciones de la misma persona
         if (Boolean.TRUE.equals(direccionUpdateDto.getEsPrincipal()) && !direccion.getEsPrincipal()) {
-            desmarcarDireccionesPrincipales(direccion.getPersona().getId());
+            desmarcarDireccionesPrincipales(direccion.getPersona().getId(), direccion.getId());
         }
 
         // Procesar datos de Google Places si están disponibles
@@ -252,7 +252,7 @@ public class DireccionServiceImpl implements DireccionService {
                 .orElseThrow(() -> new DireccionNotFoundException("Dirección no encontrada con ID: " + id));
 
         // Desmarcar todas las direcciones de la persona como principales
-        desmarcarDireccionesPrincipales(direccion.getPersona().getId());
+        desmarcarDireccionesPrincipales(direccion.getPersona().getId(), direccion.getId());
 
         // Marcar esta dirección como principal
         direccion.setEsPrincipal(true);
@@ -262,12 +262,10 @@ public class DireccionServiceImpl implements DireccionService {
     }
 
     /**
-     * Método auxiliar para desmarcar todas las direcciones principales de una persona
+     * Método auxiliar para desmarcar las direcciones principales de una persona (salvo la indicada)
      */
-    private void desmarcarDireccionesPrincipales(Long personaId) {
-        List<Direccion> direcciones = direccionRepository.findByPersonaId(personaId);
-        direcciones.forEach(d -> d.setEsPrincipal(false));
-        direccionRepository.saveAll(direcciones);
+    private void desmarcarDireccionesPrincipales(Long personaId, Long exceptoId) {
+        direccionRepository.desmarcarPrincipales(personaId, exceptoId);
     }
 
     /**
@@ -8,6 +8,7 @@ import com.sigret.repositories.ServicioRepository;
 import com.sigret.services.EmailService;
 import com.sigret.services.PdfService;
 import com.sigret.services.PresupuestoTokenService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
@@ -53,6 +54,7 @@ public class EmailServiceImpl implements EmailService {
 
     // ── API pública ──────────────────────────────────────────────────
 
+    @Timed(value = "sigret.email.envio", extraTags = {"tipo", "simple"})
     @Override
     public void enviarEmail(String destinatario, String asunto, String mensaje) {
         try {
@@ -70,6 +72,7 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
+    @Timed(value = "sigret.email.envio", extraTags = {"tipo", "adjunto"})
     @Override
     public void enviarEmailConAdjunto(String destinatario, String asunto, String mensaje,
                                       byte[] adjunto, String nombreAdjunto) {
@@ -89,6 +92,7 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
+    @Timed(value = "sigret.email.envio", extraTags = {"tipo", "presupuesto"})
     @Override
     public void enviarPresupuestoACliente(Long presupuestoId, Boolean mostrarOriginal,
                                           Boolean mostrarAlternativo, String mensajeAdicional) {
@@ -137,6 +141,7 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
+    @Timed(value = "sigret.email.envio", extraTags = {"tipo", "pdf_servicio"})
     @Override
     public void enviarPdfPorEmail(Long servicioId) {
         Servicio servicio = servicioRepository.findById(servicioId)
@@ -156,6 +161,7 @@ public class EmailServiceImpl implements EmailService {
         log.info("PDF del servicio {} enviado por email a {}", servicioId, email);
     }
 
+    @Timed(value = "sigret.email.envio", extraTags = {"tipo", "pdf_final"})
     @Override
     public void enviarPdfFinalPorEmail(Long servicioId) {
         Servicio servicio = servicioRepository.findById(servicioId)
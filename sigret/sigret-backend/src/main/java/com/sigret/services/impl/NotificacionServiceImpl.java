@@ -1,18 +1,24 @@
 package com.sigret.services.impl;
 
 import com.sigret.dtos.notificacion.NotificacionDto;
+import com.sigret.dtos.notificacion.NotificacionPushDto;
 import com.sigret.entities.Notificacion;
 import com.sigret.entities.Usuario;
 import com.sigret.enums.TipoReferencia;
 import com.sigret.repositories.NotificacionRepository;
 import com.sigret.repositories.UsuarioRepository;
 import com.sigret.services.NotificacionService;
+import com.sigret.services.OutboxService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -24,6 +30,10 @@ public class NotificacionServiceImpl implements NotificacionService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private OutboxService outboxService;
+
+    @Timed(value = "sigret.notificaciones.creacion")
     @Override
     public void crearNotificacionParaTodos(String mensaje, String tipo, Long referenciaId,
                                            TipoReferencia tipoReferencia, String icono, String severidad) {
@@ -50,6 +60,7 @@ public class NotificacionServiceImpl implements NotificacionService {
                 .toList();
 
         notificacionRepository.saveAll(notificaciones);
+        enviarAUsuarios(notificaciones);
     }
 
     @Override
@@ -85,6 +96,35 @@ public class NotificacionServiceImpl implements NotificacionService {
         notificacionRepository.marcarTodasComoLeidasPorUsuario(usuarioId);
     }
 
+    /**
+     * Envía a cada usuario su notificación y el contador actualizado por /user/queue/notificaciones,
+     * así el frontend no necesita volver a consultar la API REST después de cada evento
+     */
+    private void enviarAUsuarios(List<Notificacion> notificaciones) {
+        if (notificaciones.isEmpty()) {
+            return;
+        }
+
+        List<Long> usuarioIds = notificaciones.stream().map(n -> n.getUsuario().getId()).toList();
+        Map<Long, Long> noLeidas = notificacionRepository.contarNoLeidasPorUsuario(usuarioIds).stream()
+                .collect(Collectors.toMap(fila -> (Long) fila[0], fila -> (Long) fila[1]));
+
+        for (Notificacion n : notificaciones) {
+            Usuario usuario = n.getUsuario();
+            NotificacionPushDto push = new NotificacionPushDto(toDto(n), noLeidas.getOrDefault(usuario.getId(), 0L));
+            outboxService.registrar(destinoUsuario(usuario.getUsername()), "NOTIFICACION",
+                    n.getTipoReferencia(), n.getReferenciaId(), push);
+        }
+    }
+
+    /**
+     * Mismo destino que arma SimpMessagingTemplate.convertAndSendToUser: la "/" del username va como %2F
+     * para que el UserDestinationResolver no la tome como separador
+     */
+    private static String destinoUsuario(String username) {
+        return "/user/" + StringUtils.replace(username, "/", "%2F") + "/queue/notificaciones";
+    }
+
     private NotificacionDto toDto(Notificacion n) {
         return new NotificacionDto(
                 n.getId(),
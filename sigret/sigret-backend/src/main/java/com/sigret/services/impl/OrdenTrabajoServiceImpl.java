@@ -402,7 +402,9 @@ public class OrdenTrabajoServiceImpl implements OrdenTrabajoService {
                 ordenTrabajo.getFechaComienzo(),
                 ordenTrabajo.getFechaFin(),
                 ordenTrabajo.getMontoTotalFinal(),
-                ordenTrabajo.getEsSinCosto()
+                ordenTrabajo.getEsSinCosto(),
+                ordenTrabajo.getServicio().getCliente().getId(),
+                ordenTrabajo.getEmpleado().getId()
         );
     }
 
@@ -0,0 +1,284 @@
+package com.sigret.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sigret.config.FiltroSuscripcionInterceptor;
+import com.sigret.config.WebSocketProperties;
+import com.sigret.config.WebSocketReplayInterceptor;
+import com.sigret.entities.EventoOutbox;
+import com.sigret.enums.TipoReferencia;
+import com.sigret.repositories.EventoOutboxRepository;
+import com.sigret.services.OutboxService;
+import com.sigret.services.impl.CoalescedorEventos.EnvioCoalescido;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Outbox transaccional de eventos WebSocket. Los eventos se guardan junto con el cambio de negocio
+ * y se publican después del commit desde un único hilo, lo que mantiene el orden por entidad.
+ * Cada pasada espera la ventana de coalescencia y envía un solo frame por destino (ver CoalescedorEventos).
+ * La entrega es "al menos una vez": si el proceso cae entre el envío y la marca, el evento se reenvía.
+ * En modo relay (varias instancias contra un broker externo) solo publica el nodo que obtiene el
+ * bloqueo con nombre de MySQL; el broker se encarga de hacer llegar el evento a los clientes de todos.
+ * La secuencia (seq) de los topics con replay la asigna el relay, que es el único escritor: los ids
+ * IDENTITY se reparten al insertar y no al confirmar, así que no sirven como orden de publicación.
+ */
+@Service
+@Slf4j
+public class OutboxServiceImpl implements OutboxService, DisposableBean {
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CoalescedorEventos coalescedorEventos;
+
+    @Autowired
+    private WebSocketProperties webSocketProperties;
+
+    @Autowired
+    private BufferEventosRecientes bufferEventosRecientes;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final String BLOQUEO_PUBLICADOR = "sigret_outbox_publicador";
+
+    @Value("${sigret.outbox.tamanio-lote:200}")
+    private int tamanioLote = 200;
+
+    @Value("${sigret.outbox.max-intentos:10}")
+    private int maxIntentos = 10;
+
+    private final ExecutorService publicador = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("outbox-relay").factory());
+
+    private final AtomicBoolean programado = new AtomicBoolean(false);
+
+    // Última seq publicada por topic; solo la usa el hilo del relay
+    private final Map<String, Long> secuencias = new HashMap<>();
+
+    @Override
+    @Transactional
+    public void registrar(String destino, String tipoEvento, TipoReferencia tipoAgregado, Long agregadoId, Object evento) {
+        registrar(destino, tipoEvento, tipoAgregado, agregadoId, evento, null);
+    }
+
+    @Override
+    @Transactional
+    public void registrar(String destino, String tipoEvento, TipoReferencia tipoAgregado, Long agregadoId, Object evento,
+                          String atributos) {
+        EventoOutbox eventoOutbox = new EventoOutbox();
+        eventoOutbox.setDestino(destino);
+        eventoOutbox.setTipoEvento(tipoEvento);
+        eventoOutbox.setTipoAgregado(tipoAgregado);
+        eventoOutbox.setAgregadoId(agregadoId);
+        eventoOutbox.setAtributos(atributos);
+        eventoOutbox.setPayload(serializar(evento));
+        eventoOutbox.setFechaCreacion(LocalDateTime.now());
+        eventoOutboxRepository.save(eventoOutbox);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    despertar();
+                }
+            });
+        } else {
+            despertar();
+        }
+    }
+
+    /**
+     * Red de seguridad: recoge eventos que quedaron pendientes (reinicio, fallo de envío)
+     */
+    @Scheduled(fixedDelayString = "${sigret.outbox.intervalo-ms:1000}")
+    public void relevarPendientes() {
+        despertar();
+    }
+
+    /**
+     * Debe ejecutarse desde un único hilo a la vez para respetar el orden (ver despertar()).
+     */
+    @Override
+    public int publicarPendientes() {
+        int publicados = 0;
+
+        while (true) {
+            List<EventoOutbox> lote = eventoOutboxRepository.findPendientes(PageRequest.of(0, tamanioLote));
+            if (lote.isEmpty()) {
+                break;
+            }
+
+            List<Long> enviados = new ArrayList<>();
+            boolean fallo = false;
+
+            for (EnvioCoalescido envio : coalescedorEventos.coalescer(lote)) {
+                try {
+                    enviar(envio);
+                    enviados.addAll(envio.getIds());
+                } catch (RuntimeException e) {
+                    envio.getIds().forEach(eventoOutboxRepository::incrementarIntentos);
+                    if (envio.getIntentos() + 1 >= maxIntentos) {
+                        // Se descarta para no bloquear indefinidamente a los eventos siguientes
+                        log.error("Eventos outbox {} descartados tras {} intentos ({})",
+                                envio.getIds(), maxIntentos, envio.getDestino(), e);
+                        enviados.addAll(envio.getIds());
+                    } else {
+                        log.warn("Error al publicar eventos outbox {}, se reintentará", envio.getIds(), e);
+                        fallo = true;
+                        break;
+                    }
+                }
+            }
+
+            if (!enviados.isEmpty()) {
+                eventoOutboxRepository.marcarPublicados(enviados, LocalDateTime.now());
+                publicados += enviados.size();
+            }
+
+            if (fallo || lote.size() < tamanioLote) {
+                break;
+            }
+        }
+
+        return publicados;
+    }
+
+    @Override
+    public void destroy() {
+        publicador.shutdown();
+    }
+
+    private void despertar() {
+        // Las señales que llegan durante la ventana de coalescencia se agrupan en una sola pasada
+        if (programado.compareAndSet(false, true)) {
+            publicador.execute(() -> {
+                try {
+                    Thread.sleep(webSocketProperties.getVentanaCoalescenciaMs());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                programado.set(false);
+                try {
+                    if (webSocketProperties.esModoRelay()) {
+                        publicarComoUnicoNodo();
+                    } else {
+                        publicarPendientes();
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Error en la publicación del outbox", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * GET_LOCK pertenece a la sesión: se retiene la misma conexión durante toda la pasada
+     */
+    private void publicarComoUnicoNodo() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) conexion -> {
+            if (!ejecutarBloqueo(conexion, "SELECT GET_LOCK(?, 0)")) {
+                return null;
+            }
+            // Mientras no se tuvo el bloqueo pudo publicar otro nodo: la seq se retoma desde la base
+            secuencias.clear();
+            try {
+                publicarPendientes();
+            } finally {
+                ejecutarBloqueo(conexion, "SELECT RELEASE_LOCK(?)");
+            }
+            return null;
+        });
+    }
+
+    private boolean ejecutarBloqueo(Connection conexion, String sql) throws SQLException {
+        try (PreparedStatement sentencia = conexion.prepareStatement(sql)) {
+            sentencia.setString(1, BLOQUEO_PUBLICADOR);
+            try (ResultSet resultado = sentencia.executeQuery()) {
+                return resultado.next() && resultado.getInt(1) == 1;
+            }
+        }
+    }
+
+    private void enviar(EnvioCoalescido envio) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        boolean conReplay = bufferEventosRecientes.admite(envio.getDestino());
+        long seq = conReplay ? siguienteSecuencia(envio.getDestino()) : 0;
+        if (conReplay) {
+            accessor.setNativeHeader(WebSocketReplayInterceptor.HEADER_SEQ, String.valueOf(seq));
+        }
+        if (envio.getAtributos() != null) {
+            accessor.setNativeHeader(FiltroSuscripcionInterceptor.HEADER_ATRIBUTOS, envio.getAtributos());
+        }
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(envio.getDestino(), MessageBuilder.createMessage(
+                envio.getPayload().getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders()));
+
+        if (conReplay) {
+            eventoOutboxRepository.asignarSecuencia(envio.getIds(), seq);
+            bufferEventosRecientes.registrar(envio.getDestino(), seq, envio.getPayload(), envio.getAtributos());
+        }
+    }
+
+    /**
+     * Siguiente seq del topic: estrictamente creciente entre pasadas, reinicios y cambios de nodo
+     */
+    private long siguienteSecuencia(String destino) {
+        long seq = secuencias.computeIfAbsent(destino, this::ultimaSecuencia) + 1;
+        secuencias.put(destino, seq);
+        return seq;
+    }
+
+    private long ultimaSecuencia(String destino) {
+        Long ultima = eventoOutboxRepository.findUltimaSecuencia(destino);
+        // Sin filas (base nueva o la retención ya las borró) se parte del reloj, que queda por encima
+        // de cualquier seq que un cliente conectado pueda tener
+        return ultima != null ? ultima : System.currentTimeMillis();
+    }
+
+    private String serializar(Object evento) {
+        try {
+            return objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error al serializar evento para el outbox", e);
+        }
+    }
+}
@@ -21,9 +21,11 @@ import com.sigret.enums.EstadoPresupuesto;
 import com.sigret.repositories.PresupuestoRepository;
 import com.sigret.repositories.ServicioRepository;
 import com.sigret.services.PdfService;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayOutputStream;
 import java.time.format.DateTimeFormatter;
@@ -31,6 +33,7 @@ import java.util.Base64;
 
 @Service
 @Slf4j
+@Transactional(readOnly = true)
 public class PdfServiceImpl implements PdfService {
 
     @Autowired
@@ -42,6 +45,7 @@ public class PdfServiceImpl implements PdfService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
+    @Timed(value = "sigret.pdf.generacion", extraTags = {"tipo", "servicio"})
     @Override
     public byte[] generarPdfServicio(Long servicioId) {
         Servicio servicio = servicioRepository.findById(servicioId)
@@ -353,6 +357,7 @@ public class PdfServiceImpl implements PdfService {
 
     // ==================== PDF FINAL ====================
 
+    @Timed(value = "sigret.pdf.generacion", extraTags = {"tipo", "final"})
     @Override
     public byte[] generarPdfFinal(Long servicioId) {
         Servicio servicio = servicioRepository.findById(servicioId)
@@ -630,6 +635,7 @@ public class PdfServiceImpl implements PdfService {
 
     // ==================== PDF PRESUPUESTO ====================
 
+    @Timed(value = "sigret.pdf.generacion", extraTags = {"tipo", "presupuesto"})
     @Override
     public byte[] generarPdfPresupuesto(Long presupuestoId, Boolean mostrarOriginal, Boolean mostrarAlternativo) {
         Presupuesto presupuesto = presupuestoRepository.findById(presupuestoId)
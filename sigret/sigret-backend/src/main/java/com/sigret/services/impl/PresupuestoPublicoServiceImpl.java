@@ -0,0 +1,156 @@
+package com.sigret.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sigret.config.PresupuestoPublicoProperties;
+import com.sigret.dtos.presupuesto.DetallePresupuestoDto;
+import com.sigret.dtos.presupuesto.PresupuestoPublicoDto;
+import com.sigret.entities.DetallePresupuesto;
+import com.sigret.entities.Presupuesto;
+import com.sigret.entities.PresupuestoToken;
+import com.sigret.enums.EstadoPresupuesto;
+import com.sigret.enums.TipoReferencia;
+import com.sigret.eventos.ConsumidorEventoDominio;
+import com.sigret.eventos.EventoDominio;
+import com.sigret.services.PresupuestoPublicoService;
+import com.sigret.services.PresupuestoTokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Vista pública de presupuestos (enlace del email) con una cache corta por token: los refrescos del
+ * cliente y los escáneres de enlaces se atienden sin validar el token ni recorrer servicio, cliente,
+ * equipo y detalles en MySQL. Se invalida al aprobar/rechazar desde la página pública (en el acto) y
+ * con los eventos de dominio del presupuesto (aprobación desde el sistema, reenvío); en otras instancias
+ * la vista puede quedar desactualizada hasta sigret.presupuesto-publico.cache-segundos.
+ */
+@Service
+public class PresupuestoPublicoServiceImpl implements PresupuestoPublicoService, ConsumidorEventoDominio {
+
+    @Autowired
+    private PresupuestoTokenService tokenService;
+
+    @Autowired
+    private PresupuestoPublicoProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Cache<String, VistaEnCache> vistas;
+
+    @PostConstruct
+    public void inicializar() {
+        vistas = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximo())
+                .expireAfterWrite(Duration.ofSeconds(properties.getCacheSegundos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, vistas, "presupuesto-publico");
+    }
+
+    // La cache se consulta fuera de la transacción: un acierto no pide conexión al pool
+    @Override
+    public PresupuestoPublicoDto obtenerPorToken(String token) {
+        VistaEnCache vista = vistas.getIfPresent(token);
+        if (vista != null) {
+            if (vista.expiracionToken.isAfter(LocalDateTime.now())) {
+                return vista.dto;
+            }
+            // El token venció mientras estaba en cache: validarToken informa el error
+            vistas.invalidate(token);
+        }
+
+        // Sin readOnly: con réplicas habilitadas un token recién enviado podría no haber llegado a la réplica
+        VistaEnCache cargada = transactionTemplate.execute(estado -> cargar(token));
+        vistas.put(token, cargada);
+        return cargada.dto;
+    }
+
+    private VistaEnCache cargar(String token) {
+        PresupuestoToken presupuestoToken = tokenService.validarToken(token);
+        Presupuesto presupuesto = presupuestoToken.getPresupuesto();
+        PresupuestoPublicoDto dto = convertirAPresupuestoPublicoDto(presupuesto);
+        return new VistaEnCache(dto, presupuesto.getId(), presupuestoToken.getFechaExpiracion());
+    }
+
+    @Override
+    public void invalidar(Long presupuestoId) {
+        vistas.asMap().values().removeIf(vista -> vista.presupuestoId.equals(presupuestoId));
+    }
+
+    @Override
+    public String getNombre() {
+        return "presupuesto-publico";
+    }
+
+    @Override
+    public boolean admite(EventoDominio evento) {
+        return evento.getTipoAgregado() == TipoReferencia.PRESUPUESTO;
+    }
+
+    @Override
+    public void consumir(EventoDominio evento) {
+        invalidar(evento.getAgregadoId());
+    }
+
+    private PresupuestoPublicoDto convertirAPresupuestoPublicoDto(Presupuesto presupuesto) {
+        PresupuestoPublicoDto dto = new PresupuestoPublicoDto();
+        dto.setNumeroPresupuesto(presupuesto.getNumeroPresupuesto());
+        dto.setNombreCliente(presupuesto.getServicio().getCliente().getNombreCompleto());
+        dto.setEquipoDescripcion(presupuesto.getServicio().getEquipo().getDescripcionCompleta());
+        dto.setFallaReportada(presupuesto.getServicio().getFallaReportada());
+        dto.setDiagnostico(presupuesto.getDiagnostico());
+        dto.setMontoTotalOriginal(presupuesto.getMontoTotalOriginal());
+        dto.setMontoTotalAlternativo(presupuesto.getMontoTotalAlternativo());
+        dto.setManoObra(presupuesto.getManoObra());
+        dto.setMostrarOriginal(presupuesto.getMostrarOriginal());
+        dto.setMostrarAlternativo(presupuesto.getMostrarAlternativo());
+        dto.setEstado(presupuesto.getEstado().name());
+        dto.setFechaCreacion(presupuesto.getFechaCreacion().toLocalDate());
+        dto.setFechaVencimiento(presupuesto.getFechaVencimiento());
+        dto.setVencido(presupuesto.getEstado() == EstadoPresupuesto.VENCIDO ||
+                (presupuesto.getFechaVencimiento() != null && presupuesto.getFechaVencimiento().isBefore(LocalDate.now())));
+
+        List<DetallePresupuestoDto> detallesDto = presupuesto.getDetallePresupuestos().stream()
+                .map(this::convertirADetalleDto)
+                .collect(Collectors.toList());
+        dto.setDetalles(detallesDto);
+
+        return dto;
+    }
+
+    private DetallePresupuestoDto convertirADetalleDto(DetallePresupuesto detalle) {
+        DetallePresupuestoDto dto = new DetallePresupuestoDto();
+        dto.setId(detalle.getId());
+        dto.setItem(detalle.getItem());
+        dto.setCantidad(detalle.getCantidad());
+        dto.setPrecioOriginal(detalle.getPrecioOriginal());
+        dto.setPrecioAlternativo(detalle.getPrecioAlternativo());
+        return dto;
+    }
+
+    private static class VistaEnCache {
+        private final PresupuestoPublicoDto dto;
+        private final Long presupuestoId;
+        private final LocalDateTime expiracionToken;
+
+        VistaEnCache(PresupuestoPublicoDto dto, Long presupuestoId, LocalDateTime expiracionToken) {
+            this.dto = dto;
+            this.presupuestoId = presupuestoId;
+            this.expiracionToken = expiracionToken;
+        }
+    }
+}
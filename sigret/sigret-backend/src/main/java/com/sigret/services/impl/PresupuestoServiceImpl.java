@@ -14,6 +14,11 @@ import com.sigret.entities.Presupuesto;
 import com.sigret.entities.Servicio;
 import com.sigret.enums.EstadoPresupuesto;
 import com.sigret.enums.EstadoServicio;
+import com.sigret.eventos.PresupuestoAprobado;
+import com.sigret.eventos.PresupuestoRechazado;
+import com.sigret.eventos.PresupuestoReenviado;
+import com.sigret.eventos.ServicioEstadoCambiado;
+import com.sigret.exception.ConflictoConcurrenciaException;
 import com.sigret.exception.PresupuestoNotFoundException;
 import com.sigret.exception.UsuarioSinEmpleadoException;
 import com.sigret.entities.Usuario;
@@ -22,7 +27,7 @@ import com.sigret.repositories.OrdenTrabajoRepository;
 import com.sigret.repositories.PresupuestoRepository;
 import com.sigret.repositories.ServicioRepository;
 import com.sigret.repositories.UsuarioRepository;
-import com.sigret.services.EmailService;
+import com.sigret.services.BusEventosDominio;
 import com.sigret.services.PresupuestoService;
 import com.sigret.services.PresupuestoTokenService;
 import com.sigret.services.WebSocketNotificationService;
@@ -34,6 +39,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -80,11 +86,14 @@ public class PresupuestoServiceImpl implements PresupuestoService {
     private WebSocketNotificationService notificationService;
 
     @Autowired
-    private EmailService emailService;
+    private BusEventosDominio busEventosDominio;
 
     @Autowired
     private PresupuestoTokenService tokenService;
 
+    @Autowired
+    private ReintentoConcurrencia reintentoConcurrencia;
+
     @Override
     public PresupuestoResponseDto crearPresupuesto(PresupuestoCreateDto presupuestoCreateDto) {
         log.info("Iniciando creación de presupuesto para servicio ID: {}", presupuestoCreateDto.getServicioId());
@@ -173,8 +182,7 @@ public class PresupuestoServiceImpl implements PresupuestoService {
         Presupuesto presupuestoGuardado = presupuestoRepository.save(presupuesto);
 
         // Cambiar estado del servicio a PRESUPUESTADO
-        servicio.setEstado(EstadoServicio.PRESUPUESTADO);
-        servicioRepository.save(servicio);
+        sincronizarEstadoServicio(servicio, EstadoServicio.PRESUPUESTADO);
 
         // Notificar vía WebSocket
         PresupuestoEventDto evento = new PresupuestoEventDto();
@@ -311,12 +319,22 @@ public class PresupuestoServiceImpl implements PresupuestoService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public PresupuestoResponseDto cambiarEstadoPresupuesto(Long id, EstadoPresupuesto nuevoEstado) {
+        return reintentoConcurrencia.ejecutar("cambiar-estado-presupuesto", () -> cambiarEstado(id, nuevoEstado));
+    }
+
+    private PresupuestoResponseDto cambiarEstado(Long id, EstadoPresupuesto nuevoEstado) {
         Presupuesto presupuesto = presupuestoRepository.findById(id)
                 .orElseThrow(() -> new PresupuestoNotFoundException("Presupuesto no encontrado con ID: " + id));
 
         EstadoPresupuesto estadoAnterior = presupuesto.getEstado();
 
+        // Ya aplicada (doble clic o reintento tras un conflicto): no se repiten sincronización ni notificación
+        if (estadoAnterior == nuevoEstado) {
+            return convertirAPresupuestoResponseDto(presupuesto);
+        }
+
         Set<EstadoPresupuesto> permitidos = TRANSICIONES_VALIDAS.getOrDefault(estadoAnterior, Set.of());
         if (!permitidos.contains(nuevoEstado)) {
             throw new IllegalStateException(
@@ -350,8 +368,7 @@ public class PresupuestoServiceImpl implements PresupuestoService {
         // Sincronizar estado del servicio cuando el presupuesto está LISTO o ENVIADO
         Servicio servicio = presupuesto.getServicio();
         if (nuevoEstado == EstadoPresupuesto.LISTO || nuevoEstado == EstadoPresupuesto.ENVIADO || nuevoEstado == EstadoPresupuesto.VENCIDO) {
-            servicio.setEstado(EstadoServicio.PRESUPUESTADO);
-            servicioRepository.save(servicio);
+            sincronizarEstadoServicio(servicio, EstadoServicio.PRESUPUESTADO);
         }
 
         // Notificar cambio de estado via WebSocket
@@ -395,18 +412,32 @@ public class PresupuestoServiceImpl implements PresupuestoService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public PresupuestoResponseDto aprobarPresupuesto(Long id) {
         return aprobarPresupuesto(id, null);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public PresupuestoResponseDto aprobarPresupuesto(Long id, String tipoPrecio) {
+        return reintentoConcurrencia.ejecutar("aprobar-presupuesto", () -> aprobar(id, tipoPrecio));
+    }
+
+    private PresupuestoResponseDto aprobar(Long id, String tipoPrecio) {
         // Obtener el presupuesto
         Presupuesto presupuesto = presupuestoRepository.findById(id)
                 .orElseThrow(() -> new PresupuestoNotFoundException("Presupuesto no encontrado con ID: " + id));
 
         EstadoPresupuesto estadoAnterior = presupuesto.getEstado();
 
+        // Ya aprobado (el cliente abrió el link dos veces o ganó otro intento): se responde sin volver a publicar
+        if (estadoAnterior == EstadoPresupuesto.APROBADO) {
+            return convertirAPresupuestoResponseDto(presupuesto);
+        }
+        if (estadoAnterior == EstadoPresupuesto.RECHAZADO) {
+            throw new ConflictoConcurrenciaException("El presupuesto " + presupuesto.getNumeroPresupuesto() + " ya fue rechazado");
+        }
+
         // Cambiar estado del presupuesto
         presupuesto.setEstado(EstadoPresupuesto.APROBADO);
 
@@ -425,11 +456,12 @@ public class PresupuestoServiceImpl implements PresupuestoService {
 
         // Cambiar estado del servicio a APROBADO
         Servicio servicio = presupuesto.getServicio();
-        servicio.setEstado(EstadoServicio.APROBADO);
-        servicioRepository.save(servicio);
+        sincronizarEstadoServicio(servicio, EstadoServicio.APROBADO);
 
         // Ya NO se crea automáticamente la Orden de Trabajo
         // El propietario debe crearla manualmente desde el detalle del presupuesto
+        busEventosDominio.publicar(new PresupuestoAprobado(presupuesto.getId(), servicio.getId(),
+                servicio.getNumeroServicio(), presupuestoActualizado.getTipoConfirmado()));
 
         // Notificar cambio de estado via WebSocket
         PresupuestoEventDto evento = new PresupuestoEventDto();
@@ -446,21 +478,34 @@ public class PresupuestoServiceImpl implements PresupuestoService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public PresupuestoResponseDto rechazarPresupuesto(Long id) {
+        return reintentoConcurrencia.ejecutar("rechazar-presupuesto", () -> rechazar(id));
+    }
+
+    private PresupuestoResponseDto rechazar(Long id) {
         // Obtener el presupuesto
         Presupuesto presupuesto = presupuestoRepository.findById(id)
                 .orElseThrow(() -> new PresupuestoNotFoundException("Presupuesto no encontrado con ID: " + id));
 
         EstadoPresupuesto estadoAnterior = presupuesto.getEstado();
 
+        if (estadoAnterior == EstadoPresupuesto.RECHAZADO) {
+            return convertirAPresupuestoResponseDto(presupuesto);
+        }
+        if (estadoAnterior == EstadoPresupuesto.APROBADO) {
+            throw new ConflictoConcurrenciaException("El presupuesto " + presupuesto.getNumeroPresupuesto() + " ya fue aprobado");
+        }
+
         // Cambiar estado del presupuesto
         presupuesto.setEstado(EstadoPresupuesto.RECHAZADO);
         Presupuesto presupuestoActualizado = presupuestoRepository.save(presupuesto);
 
         // Cambiar estado del servicio a RECHAZADO
         Servicio servicio = presupuesto.getServicio();
-        servicio.setEstado(EstadoServicio.RECHAZADO);
-        servicioRepository.save(servicio);
+        sincronizarEstadoServicio(servicio, EstadoServicio.RECHAZADO);
+        busEventosDominio.publicar(new PresupuestoRechazado(presupuesto.getId(), servicio.getId(),
+                servicio.getNumeroServicio()));
 
         // Notificar cambio de estado via WebSocket
         PresupuestoEventDto evento = new PresupuestoEventDto();
@@ -611,14 +656,15 @@ public class PresupuestoServiceImpl implements PresupuestoService {
         // Invalidar tokens anteriores
         tokenService.invalidarTokensAnteriores(id);
 
-        // Reenviar email si se solicita
+        // Reenviar email si se solicita (se envía después del commit, ver ConsumidorEmails)
         if (Boolean.TRUE.equals(dto.getReenviarEmail())) {
-            emailService.enviarPresupuestoACliente(
+            busEventosDominio.publicar(new PresupuestoReenviado(
                     id,
+                    presupuesto.getServicio().getNumeroServicio(),
                     dto.getMostrarOriginal(),
                     dto.getMostrarAlternativo(),
                     dto.getMensajeAdicional()
-            );
+            ));
         }
 
         // Notificar via WebSocket
@@ -641,6 +687,19 @@ public class PresupuestoServiceImpl implements PresupuestoService {
         presupuestoRepository.deleteById(id);
     }
 
+    /**
+     * Cambia el estado del servicio dentro de la misma transacción y publica el evento de dominio
+     */
+    private void sincronizarEstadoServicio(Servicio servicio, EstadoServicio nuevoEstado) {
+        EstadoServicio estadoAnterior = servicio.getEstado();
+        servicio.setEstado(nuevoEstado);
+        servicioRepository.save(servicio);
+        if (estadoAnterior != nuevoEstado) {
+            busEventosDominio.publicar(new ServicioEstadoCambiado(servicio.getId(), servicio.getNumeroServicio(),
+                    estadoAnterior, nuevoEstado));
+        }
+    }
+
     @Override
     public String generarNumeroPresupuesto() {
         String year = String.valueOf(LocalDate.now().getYear()).substring(2); // Últimos 2 dígitos del año
@@ -754,7 +813,9 @@ public class PresupuestoServiceImpl implements PresupuestoService {
                 presupuesto.getEstado() == EstadoPresupuesto.VENCIDO,
                 presupuesto.getEstado(),
                 presupuesto.getFechaCreacion(),
-                !presupuesto.getOrdenesTrabajo().isEmpty() // tieneOrdenTrabajo
+                !presupuesto.getOrdenesTrabajo().isEmpty(), // tieneOrdenTrabajo
+                presupuesto.getServicio().getCliente().getId(),
+                presupuesto.getEmpleado() != null ? presupuesto.getEmpleado().getId() : null
         );
     }
 }
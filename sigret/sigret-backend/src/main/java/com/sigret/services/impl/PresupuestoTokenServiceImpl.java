@@ -5,14 +5,13 @@ import com.sigret.entities.PresupuestoToken;
 import com.sigret.repositories.PresupuestoRepository;
 import com.sigret.repositories.PresupuestoTokenRepository;
 import com.sigret.services.PresupuestoTokenService;
+import com.sigret.services.RetencionService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -21,6 +20,7 @@ public class PresupuestoTokenServiceImpl implements PresupuestoTokenService {
 
     private final PresupuestoTokenRepository tokenRepository;
     private final PresupuestoRepository presupuestoRepository;
+    private final RetencionService retencionService;
 
     @Value("${sigret.presupuesto.token-expiration-days:7}")
     private int tokenExpirationDays;
@@ -90,13 +90,9 @@ public class PresupuestoTokenServiceImpl implements PresupuestoTokenService {
     }
 
     @Override
-    @Transactional
-    @Scheduled(cron = "0 0 2 * * *") // Ejecutar todos los días a las 2 AM
     public void limpiarTokensExpirados() {
-        List<PresupuestoToken> tokensExpirados = tokenRepository.findExpiredTokens(LocalDateTime.now());
-        if (!tokensExpirados.isEmpty()) {
-            tokenRepository.deleteAll(tokensExpirados);
-        }
+        // Borrado por lotes sin cargar entidades; la pasada diaria la programa RetencionServiceImpl
+        retencionService.purgar(RetencionService.PRESUPUESTO_TOKENS_EXPIRADOS);
     }
 
     @Override
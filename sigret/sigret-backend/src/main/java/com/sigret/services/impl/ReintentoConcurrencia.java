@@ -0,0 +1,73 @@
+package com.sigret.services.impl;
+
+import com.sigret.config.ConcurrenciaProperties;
+import com.sigret.exception.ConflictoConcurrenciaException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Reintento acotado de transiciones idempotentes ante conflictos de concurrencia (@Version o deadlock).
+ * Cada intento corre en su propia transacción y vuelve a leer el estado, así que la acción tiene que
+ * tolerar encontrar la transición ya aplicada. Agotados los intentos se responde 409.
+ */
+@Component
+@Slf4j
+public class ReintentoConcurrencia {
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ConcurrenciaProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public <T> T ejecutar(String operacion, Supplier<T> accion) {
+        // Dentro de una transacción ajena el conflicto aparece en su commit: no hay nada que reintentar acá
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return accion.get();
+        }
+
+        int intentosMaximos = Math.max(1, properties.getIntentosMaximos());
+        for (int intento = 1; ; intento++) {
+            try {
+                return transactionTemplate.execute(estado -> accion.get());
+            } catch (ConcurrencyFailureException e) {
+                if (intento >= intentosMaximos) {
+                    meterRegistry.counter("sigret.concurrencia.conflictos", "operacion", operacion).increment();
+                    log.warn("Concurrencia: {} sigue en conflicto tras {} intentos", operacion, intento);
+                    throw new ConflictoConcurrenciaException(
+                            "El registro fue modificado por otra operación al mismo tiempo. Recargue e intente nuevamente.", e);
+                }
+                meterRegistry.counter("sigret.concurrencia.reintentos", "operacion", operacion).increment();
+                log.debug("Concurrencia: conflicto en {} (intento {}), se reintenta", operacion, intento);
+                esperar(intento);
+            }
+        }
+    }
+
+    /**
+     * Espera creciente con jitter para que dos clics simultáneos no vuelvan a chocar
+     */
+    private void esperar(int intento) {
+        long base = properties.getEsperaBaseMs() * intento;
+        if (base <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(base, 2 * base + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictoConcurrenciaException("Reintento interrumpido", e);
+        }
+    }
+}
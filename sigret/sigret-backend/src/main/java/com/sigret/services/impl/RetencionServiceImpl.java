@@ -0,0 +1,141 @@
+package com.sigret.services.impl;
+
+import com.sigret.config.RetencionProperties;
+import com.sigret.services.RetencionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Motor de retención: borra las filas vencidas de las tablas que solo crecen en lotes de
+ * sigret.retencion.tamanio-lote filas, cada uno en su propia transacción (autocommit) y con una pausa
+ * entre lotes, para no retener bloqueos largos ni generar un evento de replicación gigante.
+ * El ORDER BY por clave primaria hace que el DELETE ... LIMIT sea determinista en la réplica.
+ * Publica sigret.retencion.filas y sigret.retencion.duracion por política.
+ */
+@Service
+@Slf4j
+public class RetencionServiceImpl implements RetencionService {
+
+    static final Map<String, DefinicionPolitica> POLITICAS = crearPoliticas();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RetencionProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static Map<String, DefinicionPolitica> crearPoliticas() {
+        Map<String, DefinicionPolitica> politicas = new LinkedHashMap<>();
+        // La campana muestra las 20 más recientes por usuario: las leídas viejas ya no se ven
+        politicas.put(NOTIFICACIONES_LEIDAS, new DefinicionPolitica("notificaciones", "id_notificacion",
+                "leida = true AND fecha_creacion < ?", 30));
+        politicas.put(NOTIFICACIONES, new DefinicionPolitica("notificaciones", "id_notificacion",
+                "fecha_creacion < ?", 180));
+        politicas.put(PRESUPUESTO_TOKENS_EXPIRADOS, new DefinicionPolitica("presupuesto_tokens", "id_presupuesto_token",
+                "usado = false AND fecha_expiracion < ?", 0));
+        // Los usados guardan fecha e IP de la aprobación/rechazo del cliente
+        politicas.put(PRESUPUESTO_TOKENS_USADOS, new DefinicionPolitica("presupuesto_tokens", "id_presupuesto_token",
+                "usado = true AND fecha_uso < ?", 365));
+        // Ya relevados al broker; el replay de reconexión sale del buffer en memoria, no de esta tabla
+        politicas.put(EVENTOS_OUTBOX_PUBLICADOS, new DefinicionPolitica("eventos_outbox", "id_evento",
+                "publicado = true AND fecha_publicacion < ?", 7));
+        return Collections.unmodifiableMap(politicas);
+    }
+
+    @Scheduled(cron = "${sigret.retencion.cron:0 0 2 * * *}")
+    public void purgarProgramado() {
+        if (Boolean.TRUE.equals(properties.getHabilitado())) {
+            purgarTodo();
+        }
+    }
+
+    @Override
+    public Map<String, Long> purgarTodo() {
+        Map<String, Long> resultado = new LinkedHashMap<>();
+        for (String politica : POLITICAS.keySet()) {
+            RetencionProperties.Politica ajustes = properties.getPoliticas().get(politica);
+            if (ajustes != null && Boolean.FALSE.equals(ajustes.getHabilitada())) {
+                continue;
+            }
+            resultado.put(politica, purgar(politica));
+        }
+        return resultado;
+    }
+
+    @Override
+    public long purgar(String politica) {
+        DefinicionPolitica definicion = POLITICAS.get(politica);
+        if (definicion == null) {
+            throw new IllegalArgumentException("Política de retención desconocida: " + politica);
+        }
+        RetencionProperties.Politica ajustes = properties.getPoliticas().get(politica);
+        int dias = ajustes != null && ajustes.getDiasRetencion() != null ? ajustes.getDiasRetencion() : definicion.diasRetencion;
+        Timestamp limite = Timestamp.valueOf(LocalDateTime.now().minusDays(dias));
+        int tamanioLote = properties.getTamanioLote();
+        String sql = "DELETE FROM " + definicion.tabla + " WHERE " + definicion.condicion +
+                " ORDER BY " + definicion.columnaId + " LIMIT ?";
+
+        long inicio = System.nanoTime();
+        long borradas = 0;
+        for (int lote = 0; lote < properties.getMaximoLotesPorPasada(); lote++) {
+            int filas = jdbcTemplate.update(sql, limite, tamanioLote);
+            borradas += filas;
+            if (filas < tamanioLote || !pausar()) {
+                break;
+            }
+        }
+        long duracion = System.nanoTime() - inicio;
+
+        meterRegistry.counter("sigret.retencion.filas", "politica", politica).increment(borradas);
+        meterRegistry.timer("sigret.retencion.duracion", "politica", politica).record(duracion, TimeUnit.NANOSECONDS);
+        if (borradas > 0) {
+            log.info("Retención {}: {} filas de {} anteriores a {} días borradas en {} ms",
+                    politica, borradas, definicion.tabla, dias, TimeUnit.NANOSECONDS.toMillis(duracion));
+        }
+        return borradas;
+    }
+
+    /**
+     * @return false si el hilo fue interrumpido (apagado de la aplicación)
+     */
+    private boolean pausar() {
+        if (properties.getPausaEntreLotesMs() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getPausaEntreLotesMs());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    static class DefinicionPolitica {
+        private final String tabla;
+        private final String columnaId;
+        private final String condicion; // un único parámetro: la fecha límite
+        private final int diasRetencion;
+
+        DefinicionPolitica(String tabla, String columnaId, String condicion, int diasRetencion) {
+            this.tabla = tabla;
+            this.columnaId = columnaId;
+            this.condicion = condicion;
+            this.diasRetencion = diasRetencion;
+        }
+    }
+}
@@ -17,6 +17,7 @@ import com.sigret.entities.Repuesto;
 import com.sigret.entities.Servicio;
 import com.sigret.enums.EstadoOrdenTrabajo;
 import com.sigret.enums.EstadoServicio;
+import com.sigret.eventos.ServicioEstadoCambiado;
 import com.sigret.exception.ServicioNotFoundException;
 import com.sigret.entities.Presupuesto;
 import com.sigret.repositories.ClienteRepository;
@@ -25,12 +26,15 @@ import com.sigret.repositories.EquipoRepository;
 import com.sigret.repositories.PresupuestoRepository;
 import com.sigret.repositories.RepuestoRepository;
 import com.sigret.repositories.ServicioRepository;
+import com.sigret.services.ArchivoServicioService;
+import com.sigret.services.BusEventosDominio;
 import com.sigret.services.ServicioService;
 import com.sigret.services.WebSocketNotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -39,6 +43,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -80,10 +85,17 @@ public class ServicioServiceImpl implements ServicioService {
     @Autowired
     private WebSocketNotificationService notificationService;
 
+    @Autowired
+    private BusEventosDominio busEventosDominio;
+
     @Autowired
     private com.sigret.services.PresupuestoService presupuestoService;
 
+    @Autowired
+    private ArchivoServicioService archivoServicioService;
+
     @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED) // ver buscarConArchivo
     public ServicioResponseDto crearServicio(ServicioCreateDto servicioCreateDto) {
         // Validar que el cliente existe
         Cliente cliente = clienteRepository.findById(servicioCreateDto.getClienteId())
@@ -124,7 +136,7 @@ public class ServicioServiceImpl implements ServicioService {
 
         // Si es una garantía, establecer los campos adicionales de garantía
         if (esGarantia && servicioCreateDto.getServicioGarantiaId() != null) {
-            Servicio servicioOriginal = servicioRepository.findById(servicioCreateDto.getServicioGarantiaId())
+            Servicio servicioOriginal = buscarConArchivo(servicioCreateDto.getServicioGarantiaId())
                     .orElseThrow(() -> new RuntimeException("Servicio original no encontrado con ID: " + servicioCreateDto.getServicioGarantiaId()));
             servicio.setServicioGarantia(servicioOriginal);
 
@@ -236,9 +248,13 @@ public class ServicioServiceImpl implements ServicioService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(isolation = Isolation.READ_COMMITTED) // sin readOnly: un servicio archivado se restaura y se relee del primario
     public ServicioResponseDto obtenerServicioPorNumero(String numeroServicio) {
-        Servicio servicio = servicioRepository.findByNumeroServicio(numeroServicio)
+        Optional<Servicio> encontrado = servicioRepository.findByNumeroServicio(numeroServicio);
+        if (encontrado.isEmpty() && archivoServicioService.restaurarPorNumero(numeroServicio)) {
+            encontrado = servicioRepository.findByNumeroServicio(numeroServicio);
+        }
+        Servicio servicio = encontrado
                 .orElseThrow(() -> new ServicioNotFoundException("Servicio no encontrado con número: " + numeroServicio));
 
         return convertirAServicioResponseDto(servicio);
@@ -370,6 +386,8 @@ public class ServicioServiceImpl implements ServicioService {
 
         // Notificar cambio de estado via WebSocket
         notificationService.notificarCambioEstado(convertirAServicioListDto(servicioActualizado), estadoAnterior);
+        busEventosDominio.publicar(new ServicioEstadoCambiado(servicioActualizado.getId(),
+                servicioActualizado.getNumeroServicio(), estadoAnterior, nuevoEstado));
 
         return convertirAServicioResponseDto(servicioActualizado);
     }
@@ -410,6 +428,19 @@ public class ServicioServiceImpl implements ServicioService {
         return convertirAServicioResponseDto(servicioRestaurado);
     }
 
+    /**
+     * Busca un servicio por id y, si no está en las tablas activas, lo restaura del archivo.
+     * La restauración confirma en su propia transacción; para que la segunda lectura la vea, los
+     * métodos que llaman a este usan READ_COMMITTED (con REPEATABLE READ seguirían viendo la foto inicial).
+     */
+    private Optional<Servicio> buscarConArchivo(Long servicioId) {
+        Optional<Servicio> servicio = servicioRepository.findById(servicioId);
+        if (servicio.isEmpty() && archivoServicioService.restaurar(servicioId)) {
+            servicio = servicioRepository.findById(servicioId);
+        }
+        return servicio;
+    }
+
     @Override
     public String generarNumeroServicio() {
         String year = String.valueOf(LocalDate.now().getYear()).substring(2); // Últimos 2 dígitos del año
@@ -441,9 +472,10 @@ public class ServicioServiceImpl implements ServicioService {
     }
 
     @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED) // ver buscarConArchivo
     public ServicioResponseDto crearServicioGarantia(Long servicioOriginalId, ServicioCreateDto servicioGarantiaDto) {
-        // Validar que el servicio original existe
-        Servicio servicioOriginal = servicioRepository.findById(servicioOriginalId)
+        // Validar que el servicio original existe (puede estar archivado si es viejo)
+        Servicio servicioOriginal = buscarConArchivo(servicioOriginalId)
                 .orElseThrow(() -> new ServicioNotFoundException("Servicio original no encontrado con ID: " + servicioOriginalId));
 
         // Crear el servicio de garantía
@@ -533,6 +565,7 @@ public class ServicioServiceImpl implements ServicioService {
         ServicioListDto dto = new ServicioListDto();
         dto.setId(servicio.getId());
         dto.setNumeroServicio(servicio.getNumeroServicio());
+        dto.setClienteId(servicio.getCliente().getId());
         dto.setClienteNombre(servicio.getCliente().getNombreCompleto());
         dto.setClienteDocumento(servicio.getCliente().getDocumento());
         dto.setEquipoDescripcion(servicio.getEquipo().getDescripcionCompleta());
@@ -636,6 +669,8 @@ public class ServicioServiceImpl implements ServicioService {
         Servicio servicioActualizado = servicioRepository.save(servicio);
 
         notificationService.notificarCambioEstado(convertirAServicioListDto(servicioActualizado), estadoAnterior);
+        busEventosDominio.publicar(new ServicioEstadoCambiado(servicioActualizado.getId(),
+                servicioActualizado.getNumeroServicio(), estadoAnterior, EstadoServicio.FINALIZADO));
 
         return convertirAServicioResponseDto(servicioActualizado);
     }
@@ -0,0 +1,262 @@
+package com.sigret.services.impl;
+
+import com.sigret.dtos.contacto.ContactoCreateDto;
+import com.sigret.dtos.direccion.DireccionCreateDto;
+import com.sigret.dtos.direccion.GooglePlacesDto;
+import com.sigret.entities.Contacto;
+import com.sigret.entities.Direccion;
+import com.sigret.entities.Persona;
+import com.sigret.entities.TipoContacto;
+import com.sigret.exception.TipoContactoNotFoundException;
+import com.sigret.repositories.ContactoRepository;
+import com.sigret.repositories.DireccionRepository;
+import com.sigret.repositories.TipoContactoRepository;
+import com.sigret.utilities.GooglePlacesParser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Sincroniza los contactos y direcciones de una persona con la lista que manda el formulario de
+ * cliente/empleado. En lugar de borrar todo y volver a insertar, compara la lista recibida con las filas
+ * guardadas (por id, o por clave natural si el id no viene) y solo inserta, actualiza o borra lo que cambió.
+ * Debe llamarse dentro de la transacción del servicio.
+ */
+@Component
+public class SincronizadorDatosPersona {
+
+    @Autowired
+    private ContactoRepository contactoRepository;
+
+    @Autowired
+    private DireccionRepository direccionRepository;
+
+    @Autowired
+    private TipoContactoRepository tipoContactoRepository;
+
+    /**
+     * Deja los contactos de la persona iguales a la lista recibida
+     */
+    public void sincronizarContactos(Persona persona, List<ContactoCreateDto> contactosDto) {
+        List<Contacto> sinAsignar = new ArrayList<>(contactoRepository.findByPersonaId(persona.getId()));
+        Map<Long, TipoContacto> tiposContacto = cargarTiposContacto(contactosDto);
+        List<Contacto> aGuardar = new ArrayList<>();
+
+        for (ContactoCreateDto contactoDto : contactosDto) {
+            Contacto contacto = extraerCoincidencia(sinAsignar, contactoDto.getId(), Contacto::getId,
+                    c -> mismoContacto(c, contactoDto));
+            if (contacto == null) {
+                contacto = new Contacto();
+                contacto.setPersona(persona);
+            } else if (mismoContacto(contacto, contactoDto)) {
+                continue;
+            }
+            contacto.setTipoContacto(tiposContacto.get(contactoDto.getTipoContactoId()));
+            contacto.setDescripcion(contactoDto.getDescripcion());
+            aGuardar.add(contacto);
+        }
+
+        if (!sinAsignar.isEmpty()) {
+            contactoRepository.deleteAllInBatch(sinAsignar);
+        }
+        if (!aGuardar.isEmpty()) {
+            contactoRepository.saveAll(aGuardar);
+        }
+    }
+
+    /**
+     * Deja las direcciones de la persona iguales a la lista recibida. Si hay varias marcadas como
+     * principal gana la última, igual que cuando se cargaban una por una.
+     */
+    public void sincronizarDirecciones(Persona persona, List<DireccionCreateDto> direccionesDto) {
+        List<Direccion> sinAsignar = new ArrayList<>(direccionRepository.findByPersonaId(persona.getId()));
+        List<Direccion> modificadas = new ArrayList<>();
+        List<Direccion> nuevas = new ArrayList<>();
+
+        int indicePrincipal = -1;
+        for (int i = 0; i < direccionesDto.size(); i++) {
+            if (Boolean.TRUE.equals(direccionesDto.get(i).getEsPrincipal())) {
+                indicePrincipal = i;
+            }
+        }
+
+        for (int i = 0; i < direccionesDto.size(); i++) {
+            DireccionCreateDto direccionDto = direccionesDto.get(i);
+            Direccion deseada = construirDireccion(direccionDto);
+            deseada.setEsPrincipal(i == indicePrincipal);
+
+            Direccion existente = extraerCoincidencia(sinAsignar, direccionDto.getId(), Direccion::getId,
+                    d -> mismaDireccion(d, deseada));
+            if (existente == null) {
+                deseada.setPersona(persona);
+                nuevas.add(deseada);
+            } else if (copiarSiCambio(deseada, existente)) {
+                modificadas.add(existente);
+            }
+        }
+
+        // Primero los borrados y las modificaciones: place_id es único y una fila nueva puede reutilizarlo
+        if (!sinAsignar.isEmpty()) {
+            direccionRepository.deleteAllInBatch(sinAsignar);
+        }
+        if (!modificadas.isEmpty()) {
+            direccionRepository.saveAllAndFlush(modificadas);
+        }
+        if (!nuevas.isEmpty()) {
+            direccionRepository.saveAll(nuevas);
+        }
+    }
+
+    /**
+     * Busca (y quita de la lista) la fila que corresponde al DTO: por id si viene, si no por clave natural
+     */
+    private <T> T extraerCoincidencia(List<T> sinAsignar, Long id, Function<T, Long> obtenerId, Predicate<T> mismaClave) {
+        Iterator<T> iterador = sinAsignar.iterator();
+        while (iterador.hasNext()) {
+            T candidato = iterador.next();
+            if (id != null ? id.equals(obtenerId.apply(candidato)) : mismaClave.test(candidato)) {
+                iterador.remove();
+                return candidato;
+            }
+        }
+        return null;
+    }
+
+    private Map<Long, TipoContacto> cargarTiposContacto(List<ContactoCreateDto> contactosDto) {
+        List<Long> ids = contactosDto.stream()
+                .map(ContactoCreateDto::getTipoContactoId)
+                .distinct()
+                .toList();
+        Map<Long, TipoContacto> tiposContacto = ids.isEmpty() ? Map.of() : tipoContactoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TipoContacto::getId, Function.identity()));
+
+        for (Long id : ids) {
+            if (!tiposContacto.containsKey(id)) {
+                throw new TipoContactoNotFoundException("Tipo de contacto no encontrado con ID: " + id);
+            }
+        }
+        return tiposContacto;
+    }
+
+    private boolean mismoContacto(Contacto contacto, ContactoCreateDto contactoDto) {
+        return contacto.getTipoContacto() != null
+                && Objects.equals(contacto.getTipoContacto().getId(), contactoDto.getTipoContactoId())
+                && iguales(contacto.getDescripcion(), contactoDto.getDescripcion());
+    }
+
+    /**
+     * Clave natural: el Place ID de Google si lo tiene, si no la dirección escrita
+     */
+    private boolean mismaDireccion(Direccion existente, Direccion deseada) {
+        if (deseada.getPlaceId() != null) {
+            return deseada.getPlaceId().equals(existente.getPlaceId());
+        }
+        return existente.getPlaceId() == null
+                && iguales(existente.getCalle(), deseada.getCalle())
+                && iguales(existente.getNumero(), deseada.getNumero())
+                && iguales(existente.getPiso(), deseada.getPiso())
+                && iguales(existente.getDepartamento(), deseada.getDepartamento())
+                && iguales(existente.getCiudad(), deseada.getCiudad());
+    }
+
+    private boolean iguales(String a, String b) {
+        String normalizadoA = a != null ? a.trim() : "";
+        String normalizadoB = b != null ? b.trim() : "";
+        return normalizadoA.equalsIgnoreCase(normalizadoB);
+    }
+
+    private Direccion construirDireccion(DireccionCreateDto direccionDto) {
+        Direccion direccion = new Direccion();
+
+        // Procesar Google Places si está disponible
+        if (direccionDto.getGooglePlacesData() != null) {
+            procesarGooglePlacesData(direccion, direccionDto.getGooglePlacesData());
+        }
+
+        // Establecer campos individuales (sobrescriben Google Places)
+        if (direccionDto.getPlaceId() != null) direccion.setPlaceId(direccionDto.getPlaceId());
+        if (direccionDto.getLatitud() != null) direccion.setLatitud(direccionDto.getLatitud());
+        if (direccionDto.getLongitud() != null) direccion.setLongitud(direccionDto.getLongitud());
+        if (direccionDto.getDireccionFormateada() != null) direccion.setDireccionFormateada(direccionDto.getDireccionFormateada());
+        if (direccionDto.getCalle() != null) direccion.setCalle(direccionDto.getCalle());
+        if (direccionDto.getNumero() != null) direccion.setNumero(direccionDto.getNumero());
+        if (direccionDto.getPiso() != null) direccion.setPiso(direccionDto.getPiso());
+        if (direccionDto.getDepartamento() != null) direccion.setDepartamento(direccionDto.getDepartamento());
+        if (direccionDto.getBarrio() != null) direccion.setBarrio(direccionDto.getBarrio());
+        if (direccionDto.getCiudad() != null) direccion.setCiudad(direccionDto.getCiudad());
+        if (direccionDto.getProvincia() != null) direccion.setProvincia(direccionDto.getProvincia());
+        if (direccionDto.getCodigoPostal() != null) direccion.setCodigoPostal(direccionDto.getCodigoPostal());
+        if (direccionDto.getPais() != null) direccion.setPais(direccionDto.getPais());
+        if (direccionDto.getObservaciones() != null) direccion.setObservaciones(direccionDto.getObservaciones());
+
+        return direccion;
+    }
+
+    /**
+     * Copia los campos de la dirección deseada sobre la guardada
+     * @return true si algún campo cambió (solo en ese caso la fila se actualiza)
+     */
+    private boolean copiarSiCambio(Direccion deseada, Direccion existente) {
+        boolean cambio = false;
+        cambio |= copiar(existente.getPlaceId(), deseada.getPlaceId(), existente::setPlaceId);
+        cambio |= copiar(existente.getLatitud(), deseada.getLatitud(), existente::setLatitud);
+        cambio |= copiar(existente.getLongitud(), deseada.getLongitud(), existente::setLongitud);
+        cambio |= copiar(existente.getDireccionFormateada(), deseada.getDireccionFormateada(), existente::setDireccionFormateada);
+        cambio |= copiar(existente.getCalle(), deseada.getCalle(), existente::setCalle);
+        cambio |= copiar(existente.getNumero(), deseada.getNumero(), existente::setNumero);
+        cambio |= copiar(existente.getPiso(), deseada.getPiso(), existente::setPiso);
+        cambio |= copiar(existente.getDepartamento(), deseada.getDepartamento(), existente::setDepartamento);
+        cambio |= copiar(existente.getBarrio(), deseada.getBarrio(), existente::setBarrio);
+        cambio |= copiar(existente.getCiudad(), deseada.getCiudad(), existente::setCiudad);
+        cambio |= copiar(existente.getProvincia(), deseada.getProvincia(), existente::setProvincia);
+        cambio |= copiar(existente.getCodigoPostal(), deseada.getCodigoPostal(), existente::setCodigoPostal);
+        cambio |= copiar(existente.getPais(), deseada.getPais(), existente::setPais);
+        cambio |= copiar(existente.getObservaciones(), deseada.getObservaciones(), existente::setObservaciones);
+        cambio |= copiar(existente.getEsPrincipal(), deseada.getEsPrincipal(), existente::setEsPrincipal);
+        return cambio;
+    }
+
+    private <V> boolean copiar(V actual, V deseado, Consumer<V> asignar) {
+        if (Objects.equals(actual, deseado)) {
+            return false;
+        }
+        asignar.accept(deseado);
+        return true;
+    }
+
+    /**
+     * Procesa los datos de Google Places y los asigna a la dirección
+     */
+    private void procesarGooglePlacesData(Direccion direccion, GooglePlacesDto googlePlacesData) {
+        if (googlePlacesData.getPlaceId() != null) {
+            direccion.setPlaceId(googlePlacesData.getPlaceId());
+        }
+        if (googlePlacesData.getFormattedAddress() != null) {
+            direccion.setDireccionFormateada(googlePlacesData.getFormattedAddress());
+        }
+
+        Double[] coordinates = GooglePlacesParser.extractCoordinates(googlePlacesData);
+        if (coordinates != null) {
+            direccion.setLatitud(coordinates[0]);
+            direccion.setLongitud(coordinates[1]);
+        }
+
+        Map<String, String> components = GooglePlacesParser.extractAddressComponents(googlePlacesData);
+        if (components.containsKey("calle")) direccion.setCalle(components.get("calle"));
+        if (components.containsKey("numero")) direccion.setNumero(components.get("numero"));
+        if (components.containsKey("barrio")) direccion.setBarrio(components.get("barrio"));
+        if (components.containsKey("ciudad")) direccion.setCiudad(components.get("ciudad"));
+        if (components.containsKey("provincia")) direccion.setProvincia(components.get("provincia"));
+        if (components.containsKey("pais")) direccion.setPais(components.get("pais"));
+        if (components.containsKey("codigoPostal")) direccion.setCodigoPostal(components.get("codigoPostal"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.sigret.utilities;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Atributos por los que un cliente puede filtrar sus suscripciones (estado, empleadoId, clienteId).
+ * Viajan con cada frame en el header "atributos" con el formato "estado=A,B;empleadoId=3;clienteId=7".
+ */
+public class AtributosEvento {
+
+    public static final String ESTADO = "estado";
+    public static final String EMPLEADO_ID = "empleadoId";
+    public static final String CLIENTE_ID = "clienteId";
+
+    private final Map<String, Set<String>> valores = new LinkedHashMap<>();
+
+    public AtributosEvento con(String clave, Object... valoresClave) {
+        for (Object valor : valoresClave) {
+            if (valor != null) {
+                valores.computeIfAbsent(clave, c -> new LinkedHashSet<>()).add(valor.toString());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return el texto del header, o null si no hay atributos
+     */
+    public String formatear() {
+        if (valores.isEmpty()) {
+            return null;
+        }
+        return valores.entrySet().stream()
+                .map(e -> e.getKey() + "=" + String.join(",", e.getValue()))
+                .collect(Collectors.joining(";"));
+    }
+
+    public static Map<String, Set<String>> parsear(String texto) {
+        Map<String, Set<String>> resultado = new LinkedHashMap<>();
+        if (texto == null || texto.isBlank()) {
+            return resultado;
+        }
+        for (String par : texto.split(";")) {
+            int igual = par.indexOf('=');
+            if (igual > 0) {
+                resultado.put(par.substring(0, igual), separarValores(par.substring(igual + 1)));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Une dos textos de atributos (al fusionar eventos de una misma entidad)
+     */
+    public static String unir(String a, String b) {
+        AtributosEvento union = new AtributosEvento();
+        parsear(a).forEach((clave, valores) -> union.con(clave, valores.toArray()));
+        parsear(b).forEach((clave, valores) -> union.con(clave, valores.toArray()));
+        return union.formatear();
+    }
+
+    public static Set<String> separarValores(String texto) {
+        Set<String> resultado = new LinkedHashSet<>();
+        for (String valor : texto.split(",")) {
+            if (!valor.isBlank()) {
+                resultado.add(valor.trim());
+            }
+        }
+        return resultado;
+    }
+}
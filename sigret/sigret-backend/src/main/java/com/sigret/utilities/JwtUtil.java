@@ -1,8 +1,10 @@
 package com.sigret.utilities;
 
 import com.sigret.config.JwtProperties;
+import com.sigret.security.PrincipalJwt;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +15,7 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Component
@@ -21,8 +24,24 @@ public class JwtUtil {
     @Autowired
     private JwtProperties jwtProperties;
 
+    // La clave y el parser no cambian: se derivan una sola vez y se reutilizan (son thread-safe)
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        if (signingKey == null) {
+            signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes());
+        }
+        return signingKey;
+    }
+
+    private JwtParser getParser() {
+        if (parser == null) {
+            parser = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build();
+        }
+        return parser;
     }
 
     // Generar token
@@ -84,9 +103,7 @@ public class JwtUtil {
 
     // Obtener todos los claims
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -132,6 +149,25 @@ public class JwtUtil {
         return jwtProperties.getExpiration();
     }
 
+    /**
+     * Verifica el token y extrae usuario, rol y empleado en una sola lectura
+     * @return vacío si el token es inválido o está expirado
+     */
+    public Optional<PrincipalJwt> extraerPrincipal(String token) {
+        try {
+            Claims claims = getAllClaimsFromToken(token);
+            Object empleadoId = claims.get("empleadoId");
+            return Optional.of(new PrincipalJwt(
+                    claims.getSubject(),
+                    (String) claims.get("rol"),
+                    empleadoId instanceof Number numero ? numero.longValue() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+            ));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     // Obtener rol del token
     public String getRolFromToken(String token) {
         return getClaimFromToken(token, claims -> (String) claims.get("rol"));
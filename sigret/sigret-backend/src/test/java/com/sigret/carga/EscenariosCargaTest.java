@@ -0,0 +1,236 @@
+package com.sigret.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Escenarios de carga contra una instancia levantada con el perfil "carga".
+ * Se excluyen del build normal; ejecutar con: mvn test -Pcarga [-Dcarga.url=... -Dcarga.usuarios=...]
+ * El reporte de percentiles queda en target/carga/reporte-carga.csv
+ */
+@Tag("carga")
+@Slf4j
+class EscenariosCargaTest {
+
+    private static final String BASE_URL = System.getProperty("carga.url", "http://localhost:8080");
+    private static final String USUARIO = System.getProperty("carga.usuario", "admin");
+    private static final String PASSWORD = System.getProperty("carga.password", "admin123");
+    private static final int USUARIOS_CONCURRENTES = Integer.getInteger("carga.usuarios", 50);
+    private static final int ITERACIONES = Integer.getInteger("carga.iteraciones", 200);
+    private static final double MAX_PORCENTAJE_ERRORES = Double.parseDouble(System.getProperty("carga.max-errores", "1.0"));
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private static String token;
+    private static final List<JsonNode> plantillasIngreso = new ArrayList<>();
+    private static int totalPaginasServicios;
+
+    @BeforeAll
+    static void prepararEscenario() throws Exception {
+        HttpResponse<String> login = enviar(HttpRequest.newBuilder(URI.create(BASE_URL + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("username", USUARIO, "password", PASSWORD))))
+                .build());
+        assertTrue(login.statusCode() == 200, "Login fallido: " + login.statusCode());
+        token = objectMapper.readTree(login.body()).get("token").asText();
+
+        JsonNode pagina = objectMapper.readTree(get("/api/servicios?page=0&size=50").body());
+        totalPaginasServicios = Math.max(1, pagina.path("page").path("totalPages").asInt(1));
+
+        // Se toman cliente/equipo/empleado de servicios existentes para simular nuevos ingresos
+        for (JsonNode servicio : pagina.path("content")) {
+            JsonNode detalle = objectMapper.readTree(get("/api/servicios/" + servicio.get("id").asLong()).body());
+            plantillasIngreso.add(detalle);
+        }
+        assertFalse(plantillasIngreso.isEmpty(), "No hay servicios cargados (levantar la aplicación con el perfil carga)");
+    }
+
+    @Test
+    void escenariosMixtos_reportanPercentiles() throws Exception {
+        Map<String, Escenario> escenarios = new LinkedHashMap<>();
+        escenarios.put("listado_servicios", new Escenario());
+        escenarios.put("dashboard", new Escenario());
+        escenarios.put("ingreso_servicio", new Escenario());
+        escenarios.put("aprobacion_presupuesto", new Escenario());
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        long inicio = System.nanoTime();
+
+        for (int u = 0; u < USUARIOS_CONCURRENTES; u++) {
+            executor.submit(() -> {
+                for (int i = 0; i < ITERACIONES; i++) {
+                    int operacion = ThreadLocalRandom.current().nextInt(10);
+                    if (operacion < 5) {
+                        int pagina = ThreadLocalRandom.current().nextInt(totalPaginasServicios);
+                        medir(escenarios.get("listado_servicios"), () -> get("/api/servicios?page=" + pagina + "&size=20"));
+                    } else if (operacion < 7) {
+                        medir(escenarios.get("dashboard"), () -> get("/api/dashboard/estadisticas"));
+                    } else {
+                        ingresarYAprobar(escenarios);
+                    }
+                }
+            });
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.MINUTES), "Los escenarios no terminaron a tiempo");
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        String reporte = generarReporte(escenarios, duracionMs);
+        Path destino = Path.of("target", "carga", "reporte-carga.csv");
+        Files.createDirectories(destino.getParent());
+        Files.writeString(destino, reporte);
+        log.info("Reporte de carga en {}:\n{}", destino, reporte);
+
+        for (Map.Entry<String, Escenario> entry : escenarios.entrySet()) {
+            assertTrue(entry.getValue().porcentajeErrores() <= MAX_PORCENTAJE_ERRORES,
+                    "Demasiados errores en " + entry.getKey() + ": " + entry.getValue().porcentajeErrores() + "%");
+        }
+    }
+
+    private static void ingresarYAprobar(Map<String, Escenario> escenarios) {
+        JsonNode plantilla = plantillasIngreso.get(ThreadLocalRandom.current().nextInt(plantillasIngreso.size()));
+        Map<String, Object> ingreso = Map.of(
+                "clienteId", plantilla.get("clienteId").asLong(),
+                "equipoId", plantilla.get("equipoId").asLong(),
+                "empleadoRecepcionId", plantilla.get("empleadoRecepcionId").asLong(),
+                "tipoIngreso", "CLIENTE_TRAE",
+                "fallaReportada", "Ingreso generado por prueba de carga");
+
+        HttpResponse<String> creado = medir(escenarios.get("ingreso_servicio"), () -> post("/api/servicios", ingreso));
+        if (creado == null || creado.statusCode() != 201) {
+            return;
+        }
+
+        try {
+            long servicioId = objectMapper.readTree(creado.body()).get("id").asLong();
+            JsonNode presupuestos = objectMapper.readTree(get("/api/presupuestos/servicio/" + servicioId).body());
+            if (presupuestos.isArray() && !presupuestos.isEmpty()) {
+                long presupuestoId = presupuestos.get(0).get("id").asLong();
+                medir(escenarios.get("aprobacion_presupuesto"), () -> patch("/api/presupuestos/" + presupuestoId + "/aprobar"));
+            }
+        } catch (Exception e) {
+            escenarios.get("aprobacion_presupuesto").errores.incrementAndGet();
+        }
+    }
+
+    private static HttpResponse<String> medir(Escenario escenario, Llamada llamada) {
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<String> respuesta = llamada.ejecutar();
+            escenario.registrar(System.nanoTime() - inicio, respuesta.statusCode() < 400);
+            return respuesta;
+        } catch (Exception e) {
+            escenario.registrar(System.nanoTime() - inicio, false);
+            return null;
+        }
+    }
+
+    private static String generarReporte(Map<String, Escenario> escenarios, long duracionMs) {
+        StringBuilder sb = new StringBuilder("escenario,peticiones,errores,rps,p50_ms,p90_ms,p95_ms,p99_ms,max_ms\n");
+        escenarios.forEach((nombre, escenario) -> {
+            List<Long> latencias = escenario.ordenadas();
+            sb.append(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f%n",
+                    nombre, latencias.size(), escenario.errores.get(),
+                    latencias.size() * 1000.0 / Math.max(1, duracionMs),
+                    percentil(latencias, 50), percentil(latencias, 90), percentil(latencias, 95),
+                    percentil(latencias, 99), percentil(latencias, 100)));
+        });
+        return sb.toString();
+    }
+
+    private static double percentil(List<Long> ordenadas, double percentil) {
+        if (ordenadas.isEmpty()) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(percentil / 100.0 * ordenadas.size()) - 1;
+        return ordenadas.get(Math.max(0, indice)) / 1_000_000.0;
+    }
+
+    private static HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return enviar(autenticada(path).GET().build());
+    }
+
+    private static HttpResponse<String> post(String path, Object body) throws IOException, InterruptedException {
+        return enviar(autenticada(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build());
+    }
+
+    private static HttpResponse<String> patch(String path) throws IOException, InterruptedException {
+        return enviar(autenticada(path).method("PATCH", HttpRequest.BodyPublishers.noBody()).build());
+    }
+
+    private static HttpRequest.Builder autenticada(String path) {
+        return HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private static HttpResponse<String> enviar(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @FunctionalInterface
+    private interface Llamada {
+        HttpResponse<String> ejecutar() throws Exception;
+    }
+
+    private static class Escenario {
+        private final List<Long> latencias = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger errores = new AtomicInteger();
+
+        void registrar(long nanos, boolean exitosa) {
+            latencias.add(nanos);
+            if (!exitosa) {
+                errores.incrementAndGet();
+            }
+        }
+
+        List<Long> ordenadas() {
+            List<Long> copia;
+            synchronized (latencias) {
+                copia = new ArrayList<>(latencias);
+            }
+            Collections.sort(copia);
+            return copia;
+        }
+
+        double porcentajeErrores() {
+            int total = latencias.size();
+            return total == 0 ? 0 : errores.get() * 100.0 / total;
+        }
+    }
+}
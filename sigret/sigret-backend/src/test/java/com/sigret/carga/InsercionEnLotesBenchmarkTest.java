@@ -0,0 +1,156 @@
+package com.sigret.carga;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara las idas y vueltas a MySQL de un alta de N notificaciones con las dos estrategias de id:
+ * IDENTITY (un INSERT por fila, como hace Hibernate) contra el generador por tabla pooled + lotes JDBC
+ * (una reserva de ids cada 50 filas y un INSERT multi-fila por lote con rewriteBatchedStatements).
+ * Las sentencias se cuentan con la variable de sesión "Questions" del servidor.
+ * Usa tablas temporales en la base del perfil carga; ejecutar con: mvn test -Pcarga [-Dcarga.filas=...]
+ * El reporte queda en target/carga/reporte-lotes.csv
+ */
+@Tag("carga")
+@Slf4j
+class InsercionEnLotesBenchmarkTest {
+
+    private static final String JDBC_URL = System.getProperty("carga.jdbc-url",
+            "jdbc:mysql://localhost:3306/sigret_carga?createDatabaseIfNotExist=true&rewriteBatchedStatements=true");
+    private static final String DB_USUARIO = System.getProperty("carga.db-usuario", "root");
+    private static final String DB_PASSWORD = System.getProperty("carga.db-password", "root");
+    private static final int FILAS = Integer.getInteger("carga.filas", 1000);
+    private static final int TAMANIO_LOTE = 50;
+
+    @Test
+    void insercionDeNotificaciones_conLotes_reduceLasIdasYVueltas() throws Exception {
+        try (Connection conexion = DriverManager.getConnection(JDBC_URL, DB_USUARIO, DB_PASSWORD)) {
+            crearTablas(conexion);
+
+            Medicion identity = medir(conexion, () -> insertarConIdentity(conexion));
+            Medicion pooled = medir(conexion, () -> insertarConLotes(conexion));
+
+            String reporte = "estrategia,filas,sentencias,ms\n"
+                    + String.format(Locale.ROOT, "identity,%d,%d,%d%n", FILAS, identity.sentencias, identity.ms)
+                    + String.format(Locale.ROOT, "pooled_lotes,%d,%d,%d%n", FILAS, pooled.sentencias, pooled.ms);
+            Path destino = Path.of("target", "carga", "reporte-lotes.csv");
+            Files.createDirectories(destino.getParent());
+            Files.writeString(destino, reporte);
+            log.info("Reporte de lotes en {}:\n{}", destino, reporte);
+
+            assertTrue(pooled.sentencias * 10 < identity.sentencias,
+                    "Los lotes deberían reducir las sentencias al menos 10 veces: " + pooled.sentencias + " vs " + identity.sentencias);
+        }
+    }
+
+    private void crearTablas(Connection conexion) throws SQLException {
+        try (Statement statement = conexion.createStatement()) {
+            statement.execute("CREATE TEMPORARY TABLE bench_notif_identity (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "mensaje TEXT NOT NULL, tipo VARCHAR(50) NOT NULL, leida BIT NOT NULL, fecha_creacion DATETIME(6) NOT NULL)");
+            statement.execute("CREATE TEMPORARY TABLE bench_notif_pooled (id BIGINT PRIMARY KEY, " +
+                    "mensaje TEXT NOT NULL, tipo VARCHAR(50) NOT NULL, leida BIT NOT NULL, fecha_creacion DATETIME(6) NOT NULL)");
+            statement.execute("CREATE TEMPORARY TABLE bench_generador_ids (entidad VARCHAR(255) PRIMARY KEY, proximo_valor BIGINT)");
+            statement.execute("INSERT INTO bench_generador_ids VALUES ('notificaciones', 0)");
+        }
+    }
+
+    // Lo que hace Hibernate con IDENTITY: cada persist ejecuta su INSERT y lee la clave generada
+    private void insertarConIdentity(Connection conexion) throws SQLException {
+        try (PreparedStatement insert = conexion.prepareStatement(
+                "INSERT INTO bench_notif_identity (mensaje, tipo, leida, fecha_creacion) VALUES (?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < FILAS; i++) {
+                completarDesde(insert, 1, i);
+                insert.executeUpdate();
+                try (ResultSet claves = insert.getGeneratedKeys()) {
+                    claves.next();
+                }
+            }
+        }
+    }
+
+    // Lo que hace Hibernate con el generador pooled: SELECT + UPDATE del segmento por bloque y un lote por bloque
+    private void insertarConLotes(Connection conexion) throws SQLException {
+        try (PreparedStatement leer = conexion.prepareStatement(
+                     "SELECT proximo_valor FROM bench_generador_ids WHERE entidad = 'notificaciones' FOR UPDATE");
+             PreparedStatement avanzar = conexion.prepareStatement(
+                     "UPDATE bench_generador_ids SET proximo_valor = ? WHERE entidad = 'notificaciones'");
+             PreparedStatement insert = conexion.prepareStatement(
+                     "INSERT INTO bench_notif_pooled (id, mensaje, tipo, leida, fecha_creacion) VALUES (?, ?, ?, ?, ?)")) {
+            for (int inicio = 0; inicio < FILAS; inicio += TAMANIO_LOTE) {
+                long valor;
+                try (ResultSet rs = leer.executeQuery()) {
+                    rs.next();
+                    valor = rs.getLong(1);
+                }
+                avanzar.setLong(1, valor + TAMANIO_LOTE);
+                avanzar.executeUpdate();
+
+                for (int i = inicio; i < Math.min(inicio + TAMANIO_LOTE, FILAS); i++) {
+                    insert.setLong(1, valor + 1 + (i - inicio));
+                    completarDesde(insert, 2, i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    private void completarDesde(PreparedStatement insert, int primerParametro, int i) throws SQLException {
+        insert.setString(primerParametro, "Servicio SCS" + String.format("%09d", i) + " cambió de estado");
+        insert.setString(primerParametro + 1, "SERVICIO_ESTADO");
+        insert.setBoolean(primerParametro + 2, false);
+        insert.setTimestamp(primerParametro + 3, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private Medicion medir(Connection conexion, Insercion insercion) throws SQLException {
+        conexion.setAutoCommit(false);
+        long sentenciasAntes = sentenciasDeSesion(conexion);
+        long inicio = System.nanoTime();
+        insercion.ejecutar();
+        conexion.commit();
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        // -1: la propia consulta de SHOW STATUS
+        long sentencias = sentenciasDeSesion(conexion) - sentenciasAntes - 1;
+        conexion.setAutoCommit(true);
+        return new Medicion(sentencias, ms);
+    }
+
+    private long sentenciasDeSesion(Connection conexion) throws SQLException {
+        try (Statement statement = conexion.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW SESSION STATUS LIKE 'Questions'")) {
+            rs.next();
+            return rs.getLong(2);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Insercion {
+        void ejecutar() throws SQLException;
+    }
+
+    private static class Medicion {
+        private final long sentencias;
+        private final long ms;
+
+        private Medicion(long sentencias, long ms) {
+            this.sentencias = sentencias;
+            this.ms = ms;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.sigret.config;
+
+import com.sigret.entities.GeneradorIds;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlineadorGeneradorIdsTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private AlineadorGeneradorIds alineador;
+
+    @Test
+    void alinear_actualizaTodosLosSegmentosConMaxIdMasAsignacion() {
+        alineador.alinear();
+
+        verify(jdbcTemplate, times(AlineadorGeneradorIds.SEGMENTOS.size()))
+                .update(contains("COALESCE(MAX("), anyString(), eq(GeneradorIds.ASIGNACION));
+        verify(jdbcTemplate).update(contains("MAX(id_notificacion)"), eq("notificaciones"), eq(GeneradorIds.ASIGNACION));
+    }
+
+    @Test
+    void reservar_devuelveUnRangoPosteriorAlProximoBloqueDeHibernate() {
+        when(jdbcTemplate.queryForObject(contains("FOR UPDATE"), eq(Long.class), eq("notificaciones"))).thenReturn(1000L);
+
+        long inicio = alineador.reservar("notificaciones", 500);
+
+        // Con valor 1000 el próximo bloque de Hibernate es [951, 1000]
+        assertEquals(1001L, inicio);
+        // Tras la reserva el valor pasa a ser el tope de un bloque que empieza después del rango
+        long nuevoValor = 1001L + 500 + GeneradorIds.ASIGNACION;
+        assertTrue(nuevoValor - GeneradorIds.ASIGNACION + 1 > inicio + 500 - 1);
+        verify(jdbcTemplate).update(contains("UPDATE " + GeneradorIds.TABLA), eq(nuevoValor), eq("notificaciones"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.sigret.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.sigret.entities.RegionesCache;
+import com.sigret.enums.ModoBrokerWebSocket;
+import com.sigret.enums.ModoCacheSegundoNivel;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSegundoNivelConfigTest {
+
+    private CacheSegundoNivelProperties properties;
+    private WebSocketProperties webSocketProperties;
+    private PoolConexionesProperties poolConexionesProperties;
+    private Map<String, Object> hibernateProperties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheSegundoNivelProperties();
+        webSocketProperties = new WebSocketProperties();
+        poolConexionesProperties = new PoolConexionesProperties();
+        hibernateProperties = new HashMap<>();
+    }
+
+    @Test
+    void configurar_modoLocal_creaLasRegionesConSusLimites() {
+        CacheSegundoNivelProperties.Region empleados = new CacheSegundoNivelProperties.Region();
+        empleados.setExpiracionSegundos(30L);
+        properties.getRegiones().put(RegionesCache.EMPLEADOS, empleados);
+
+        CacheSegundoNivelConfig.configurar(hibernateProperties, properties, webSocketProperties, poolConexionesProperties);
+
+        assertEquals(true, hibernateProperties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        assertEquals(true, hibernateProperties.get(AvailableSettings.USE_QUERY_CACHE));
+        CacheManager cacheManager = (CacheManager) hibernateProperties.get(ConfigSettings.CACHE_MANAGER);
+        for (String region : RegionesCache.ENTIDADES) {
+            assertNotNull(cacheManager.getCache(region), region);
+        }
+
+        CaffeineConfiguration<?, ?> marcas = configuracion(cacheManager, RegionesCache.MARCAS);
+        assertEquals(10000L, marcas.getMaximumSize().getAsLong());
+        assertEquals(TimeUnit.SECONDS.toNanos(600), marcas.getExpireAfterWrite().getAsLong());
+        assertEquals(TimeUnit.SECONDS.toNanos(30), configuracion(cacheManager, RegionesCache.EMPLEADOS).getExpireAfterWrite().getAsLong());
+
+        CaffeineConfiguration<?, ?> timestamps = configuracion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+        assertTrue(timestamps.getMaximumSize().isEmpty());
+        assertTrue(timestamps.getExpireAfterWrite().isEmpty());
+    }
+
+    @Test
+    void configurar_modoLocalConBrokerRelay_desactivaElCache() {
+        webSocketProperties.setModoBroker(ModoBrokerWebSocket.RELAY);
+
+        CacheSegundoNivelConfig.configurar(hibernateProperties, properties, webSocketProperties, poolConexionesProperties);
+
+        assertEquals(false, hibernateProperties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        assertFalse(hibernateProperties.containsKey(AvailableSettings.CACHE_REGION_FACTORY));
+    }
+
+    @Test
+    void configurar_modoLocalConVariasInstancias_desactivaElCache() {
+        poolConexionesProperties.setInstancias(3);
+
+        CacheSegundoNivelConfig.configurar(hibernateProperties, properties, webSocketProperties, poolConexionesProperties);
+
+        assertEquals(false, hibernateProperties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        assertFalse(hibernateProperties.containsKey(ConfigSettings.CACHE_MANAGER));
+    }
+
+    @Test
+    void configurar_modoCluster_usaElProveedorConfigurado() {
+        webSocketProperties.setModoBroker(ModoBrokerWebSocket.RELAY);
+        properties.setModo(ModoCacheSegundoNivel.CLUSTER);
+        properties.setProveedor("com.hazelcast.cache.HazelcastCachingProvider");
+        properties.setUri("classpath:hazelcast-cache.xml");
+
+        CacheSegundoNivelConfig.configurar(hibernateProperties, properties, webSocketProperties, poolConexionesProperties);
+
+        assertEquals(true, hibernateProperties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        assertEquals("com.hazelcast.cache.HazelcastCachingProvider", hibernateProperties.get(ConfigSettings.PROVIDER));
+        assertEquals("classpath:hazelcast-cache.xml", hibernateProperties.get(ConfigSettings.CONFIG_URI));
+        assertFalse(hibernateProperties.containsKey(ConfigSettings.CACHE_MANAGER));
+    }
+
+    @Test
+    void configurar_modoClusterSinProveedor_lanzaIllegalStateException() {
+        properties.setModo(ModoCacheSegundoNivel.CLUSTER);
+
+        assertThrows(IllegalStateException.class,
+                () -> CacheSegundoNivelConfig.configurar(hibernateProperties, properties, webSocketProperties, poolConexionesProperties));
+    }
+
+    @Test
+    void configurar_deshabilitado_noConfiguraRegiones() {
+        properties.setHabilitado(false);
+
+        CacheSegundoNivelConfig.configurar(hibernateProperties, properties, webSocketProperties, poolConexionesProperties);
+
+        assertEquals(false, hibernateProperties.get(AvailableSettings.USE_SECOND_LEVEL_CACHE));
+        assertEquals(false, hibernateProperties.get(AvailableSettings.USE_QUERY_CACHE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<?, ?> configuracion(CacheManager cacheManager, String region) {
+        return cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class);
+    }
+}
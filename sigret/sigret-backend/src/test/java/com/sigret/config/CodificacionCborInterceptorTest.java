@@ -0,0 +1,77 @@
+package com.sigret.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodificacionCborInterceptorTest {
+
+    private static final byte[] JSON = "{\"tipo\":\"CREADO\",\"servicioId\":7}".getBytes(StandardCharsets.UTF_8);
+
+    private final CodificacionCborInterceptor interceptor = new CodificacionCborInterceptor();
+
+    @Test
+    void preSend_suscripcionCbor_convierteElFrameYConservaElContenido() throws Exception {
+        interceptor.preSend(suscripcion(true), null);
+
+        Message<?> enviado = interceptor.preSend(frame(JSON), null);
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(enviado);
+        assertEquals(MimeTypeUtils.APPLICATION_OCTET_STREAM, accessor.getContentType());
+        assertEquals("cbor", accessor.getFirstNativeHeader(CodificacionCborInterceptor.HEADER_FORMATO));
+        JsonNode decodificado = new CBORMapper().readTree((byte[]) enviado.getPayload());
+        assertEquals(new ObjectMapper().readTree(JSON), decodificado);
+    }
+
+    @Test
+    void preSend_mismoPayloadParaVariosSuscriptores_seConvierteUnaVez() {
+        interceptor.preSend(suscripcion(true), null);
+
+        Object primero = interceptor.preSend(frame(JSON), null).getPayload();
+        Object segundo = interceptor.preSend(frame(JSON), null).getPayload();
+
+        assertSame(primero, segundo);
+    }
+
+    @Test
+    void preSend_sesionSockJs_sigueEnJson() {
+        interceptor.preSend(suscripcion(false), null);
+
+        Message<?> enviado = interceptor.preSend(frame(JSON), null);
+
+        assertSame(JSON, enviado.getPayload());
+    }
+
+    private Message<byte[]> suscripcion(boolean transporteBinario) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId("sesion-1");
+        accessor.setSubscriptionId("sub-1");
+        accessor.setNativeHeader(CodificacionCborInterceptor.HEADER_FORMATO, "cbor");
+        Map<String, Object> atributos = new HashMap<>();
+        if (transporteBinario) {
+            interceptor.beforeHandshake(null, null, null, atributos);
+        }
+        accessor.setSessionAttributes(atributos);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private Message<byte[]> frame(byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId("sesion-1");
+        accessor.setSubscriptionId("sub-1");
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
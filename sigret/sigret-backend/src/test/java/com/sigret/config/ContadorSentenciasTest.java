@@ -0,0 +1,100 @@
+package com.sigret.config;
+
+import com.sigret.enums.ModoControlSentencias;
+import com.sigret.exception.LimiteSentenciasExcedidoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContadorSentenciasTest {
+
+    private static final String CARGA_PRESUPUESTOS =
+            "select p1_0.id_presupuesto,p1_0.estado from presupuestos p1_0 where p1_0.id_servicio=?";
+
+    @Spy
+    private ControlSentenciasProperties properties = new ControlSentenciasProperties();
+
+    @InjectMocks
+    private ContadorSentencias contadorSentencias;
+
+    @AfterEach
+    void tearDown() {
+        ContadorSentencias.finalizar();
+        ContadorSentencias.guardarUltimoResumen(false);
+    }
+
+    @Test
+    void inspect_sinContexto_noCuentaSentencias() {
+        String sql = contadorSentencias.inspect(CARGA_PRESUPUESTOS);
+
+        assertEquals(CARGA_PRESUPUESTOS, sql);
+        assertEquals(0, ContadorSentencias.finalizar().getTotal());
+    }
+
+    @Test
+    void inspect_conContexto_cuentaYAgrupaSentenciasRepetidas() {
+        ContadorSentencias.guardarUltimoResumen(true);
+        ContadorSentencias.iniciar();
+        for (int i = 0; i < 6; i++) {
+            contadorSentencias.inspect(CARGA_PRESUPUESTOS);
+        }
+        contadorSentencias.inspect("select s1_0.id_servicio from servicios s1_0 where s1_0.id_servicio=?");
+
+        ResumenSentencias resumen = ContadorSentencias.finalizar();
+
+        assertEquals(7, resumen.getTotal());
+        Map<String, Integer> repetidas = resumen.repetidas(5);
+        assertEquals(1, repetidas.size());
+        assertEquals(6, repetidas.get(CARGA_PRESUPUESTOS));
+        assertSame(resumen, ContadorSentencias.ultimoResumen());
+    }
+
+    @Test
+    void finalizar_sinGuardarUltimo_noRetieneElResumenEnElHilo() {
+        ContadorSentencias.iniciar();
+        contadorSentencias.inspect(CARGA_PRESUPUESTOS);
+
+        ContadorSentencias.finalizar();
+
+        assertNull(ContadorSentencias.ultimoResumen());
+    }
+
+    @Test
+    void inspect_modoFallarSuperandoLimite_lanzaExcepcion() {
+        properties.setModo(ModoControlSentencias.FALLAR);
+        properties.setLimite(2);
+        ContadorSentencias.iniciar();
+
+        contadorSentencias.inspect(CARGA_PRESUPUESTOS);
+        contadorSentencias.inspect(CARGA_PRESUPUESTOS);
+
+        assertThrows(LimiteSentenciasExcedidoException.class, () -> contadorSentencias.inspect(CARGA_PRESUPUESTOS));
+    }
+
+    @Test
+    void inspect_modoLogSuperandoLimite_noLanzaExcepcion() {
+        properties.setLimite(1);
+        ContadorSentencias.iniciar();
+
+        contadorSentencias.inspect(CARGA_PRESUPUESTOS);
+
+        assertDoesNotThrow(() -> contadorSentencias.inspect(CARGA_PRESUPUESTOS));
+    }
+
+    @Test
+    void normalizar_unificaListasInYLiterales() {
+        String a = ContadorSentencias.normalizar("select * from marcas m1_0 where m1_0.id_marca in (?,?,?) and m1_0.descripcion='Philips'");
+        String b = ContadorSentencias.normalizar("select * from marcas m1_0 where m1_0.id_marca in (?, ?)  and m1_0.descripcion='Drean'");
+
+        assertEquals(a, b);
+        assertTrue(a.contains("in (?)"));
+    }
+}
@@ -0,0 +1,145 @@
+package com.sigret.config;
+
+import com.sigret.repositories.PersonaRepository;
+import com.sigret.repositories.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataLoaderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ArranqueProperties arranqueProperties = new ArranqueProperties();
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private PersonaRepository personaRepository;
+
+    @InjectMocks
+    private DataLoader dataLoader;
+
+    @Test
+    void run_versionYaRegistrada_noSiembra() throws Exception {
+        when(jdbcTemplate.queryForObject(contains("SELECT MAX(version)"), eq(Integer.class))).thenReturn(DataLoader.VERSION_DATOS);
+
+        dataLoader.run();
+
+        verifyNoInteractions(transactionTemplate, usuarioRepository);
+    }
+
+    @Test
+    void run_baseExistenteSinMarcador_registraLaVersionSinSembrar() throws Exception {
+        when(jdbcTemplate.queryForObject(contains("SELECT MAX(version)"), eq(Integer.class))).thenReturn(null);
+        ejecutarTransaccion();
+        when(usuarioRepository.count()).thenReturn(2L);
+
+        dataLoader.run();
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO " + DataLoader.TABLA_VERSION), eq(DataLoader.VERSION_DATOS));
+        verify(jdbcTemplate, never()).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+        verifyNoInteractions(personaRepository);
+    }
+
+    @Test
+    void run_otraInstanciaRegistroLaVersion_noFalla() {
+        when(jdbcTemplate.queryForObject(contains("SELECT MAX(version)"), eq(Integer.class))).thenReturn(null);
+        doThrow(new DuplicateKeyException("Duplicate entry '1'"))
+                .when(transactionTemplate).executeWithoutResult(any());
+
+        assertDoesNotThrow(() -> dataLoader.run());
+
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    void run_datosInicialesDeshabilitados_noConsultaLaBase() throws Exception {
+        arranqueProperties.setDatosIniciales(false);
+
+        dataLoader.run();
+
+        verifyNoInteractions(jdbcTemplate, transactionTemplate, usuarioRepository);
+    }
+
+    @Test
+    void insertarCatalogoHijo_asociaCadaDescripcionConSuIdYAlPadre() throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        generarClaves(ps, 10L, 11L, 12L);
+        Map<String, List<String>> modelosPorMarca = new LinkedHashMap<>();
+        modelosPorMarca.put("Samsung", List.of("WW90T", "RT38K"));
+        modelosPorMarca.put("LG", List.of("F1403RD"));
+
+        Map<String, Long> modelos = ReflectionTestUtils.invokeMethod(dataLoader, "insertarCatalogoHijo",
+                "modelos", "id_marca", Map.of("Samsung", 2L, "LG", 3L), modelosPorMarca);
+
+        assertEquals(Map.of("WW90T", 10L, "RT38K", 11L, "F1403RD", 12L), modelos);
+        verify(ps).setObject(1, "WW90T");
+        verify(ps).setObject(1, "RT38K");
+        verify(ps, times(2)).setObject(2, 2L);
+        verify(ps).setObject(1, "F1403RD");
+        verify(ps).setObject(2, 3L);
+        verify(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+    }
+
+    @Test
+    void insertarEnLote_faltanIdsGenerados_lanzaExcepcion() throws Exception {
+        generarClaves(mock(PreparedStatement.class), 10L);
+        List<Object[]> filas = List.of(new Object[]{"DNI"}, new Object[]{"CUIT"});
+
+        assertThrows(IllegalStateException.class, () -> ReflectionTestUtils.invokeMethod(dataLoader, "insertarEnLote",
+                "INSERT INTO tipos_documento (descripcion) VALUES (?)", filas));
+    }
+
+    // Simula el lote: carga cada fila en el PreparedStatement y devuelve los ids indicados como claves generadas
+    private void generarClaves(PreparedStatement ps, Long... ids) {
+        doAnswer(invocacion -> {
+            BatchPreparedStatementSetter setter = invocacion.getArgument(1);
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+                setter.setValues(ps, i);
+            }
+            KeyHolder claves = invocacion.getArgument(2);
+            for (Long id : ids) {
+                claves.getKeyList().add(Map.of("GENERATED_KEY", id));
+            }
+            return new int[ids.length];
+        }).when(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void ejecutarTransaccion() {
+        doAnswer(invocacion -> {
+            ((Consumer<TransactionStatus>) invocacion.getArgument(0)).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+}
@@ -0,0 +1,92 @@
+package com.sigret.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataSourceConSemaforoTest {
+
+    @Mock
+    private DataSource hikari;
+
+    @Mock
+    private Connection conexion;
+
+    private DataSourceConSemaforo dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DataSourceConSemaforo(hikari, 2, 50);
+    }
+
+    @Test
+    void getConnection_alCerrar_liberaElPermiso() throws SQLException {
+        when(hikari.getConnection()).thenReturn(conexion);
+
+        Connection obtenida = dataSource.getConnection();
+        assertEquals(1, dataSource.getPermisosDisponibles());
+
+        obtenida.close();
+
+        assertEquals(2, dataSource.getPermisosDisponibles());
+        verify(conexion).close();
+    }
+
+    @Test
+    void getConnection_cerrarDosVeces_liberaUnSoloPermiso() throws SQLException {
+        when(hikari.getConnection()).thenReturn(conexion);
+
+        Connection obtenida = dataSource.getConnection();
+        obtenida.close();
+        obtenida.close();
+
+        assertEquals(2, dataSource.getPermisosDisponibles());
+    }
+
+    @Test
+    void getConnection_elPoolFalla_devuelveElPermiso() throws SQLException {
+        when(hikari.getConnection()).thenThrow(new SQLTransientConnectionException("Connection is not available"));
+
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+
+        assertEquals(2, dataSource.getPermisosDisponibles());
+    }
+
+    @Test
+    void getConnection_sinPermisosTrasLaEspera_fallaSinPedirAlPool() throws SQLException {
+        when(hikari.getConnection()).thenReturn(conexion);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        SQLTransientConnectionException e = assertThrows(SQLTransientConnectionException.class,
+                () -> dataSource.getConnection());
+
+        assertTrue(e.getMessage().contains("50 ms"));
+        verify(hikari, times(2)).getConnection();
+        assertEquals(0, dataSource.getPermisosDisponibles());
+    }
+
+    @Test
+    void getConnection_equalsYHashCode_usanLaIdentidadDelProxy() throws SQLException {
+        when(hikari.getConnection()).thenReturn(conexion);
+
+        Connection obtenida = dataSource.getConnection();
+        Connection otra = dataSource.getConnection();
+
+        assertEquals(obtenida, obtenida);
+        assertNotEquals(obtenida, otra);
+        assertEquals(System.identityHashCode(obtenida), obtenida.hashCode());
+        verifyNoInteractions(conexion);
+    }
+}
@@ -0,0 +1,143 @@
+package com.sigret.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataSourceReplicasTest {
+
+    @Mock
+    private DataSource primario;
+
+    @Mock
+    private DataSource dataSourceUno;
+
+    @Mock
+    private DataSource dataSourceDos;
+
+    @Mock
+    private Connection conexionPrimario;
+
+    @Mock
+    private Connection conexionUno;
+
+    @Mock
+    private Connection conexionDos;
+
+    private DataSourceReplicas.Replica replicaUno;
+    private DataSourceReplicas.Replica replicaDos;
+    private DataSourceReplicas dataSourceReplicas;
+
+    @BeforeEach
+    void setUp() {
+        replicaUno = new DataSourceReplicas.Replica("replica-1", dataSourceUno);
+        replicaDos = new DataSourceReplicas.Replica("replica-2", dataSourceDos);
+        dataSourceReplicas = new DataSourceReplicas(primario, List.of(replicaUno, replicaDos), 5, "SHOW REPLICA STATUS");
+    }
+
+    @Test
+    void getConnection_replicasDisponibles_lasRecorreEnRonda() throws SQLException {
+        replicaUno.actualizar(true, 0L);
+        replicaDos.actualizar(true, 0L);
+        when(dataSourceUno.getConnection()).thenReturn(conexionUno);
+        when(dataSourceDos.getConnection()).thenReturn(conexionDos);
+
+        assertSame(conexionUno, dataSourceReplicas.getConnection());
+        assertSame(conexionDos, dataSourceReplicas.getConnection());
+        assertSame(conexionUno, dataSourceReplicas.getConnection());
+        verifyNoInteractions(primario);
+    }
+
+    @Test
+    void getConnection_conCredenciales_vaAlPrimario() throws SQLException {
+        replicaUno.actualizar(true, 0L);
+        when(primario.getConnection("reportes", "secreto")).thenReturn(conexionPrimario);
+
+        assertSame(conexionPrimario, dataSourceReplicas.getConnection("reportes", "secreto"));
+        verifyNoInteractions(dataSourceUno, dataSourceDos);
+    }
+
+    @Test
+    void getConnection_replicaAtrasada_laSaltea() throws SQLException {
+        replicaUno.actualizar(false, 30L);
+        replicaDos.actualizar(true, 1L);
+        when(dataSourceDos.getConnection()).thenReturn(conexionDos);
+
+        assertSame(conexionDos, dataSourceReplicas.getConnection());
+        assertSame(conexionDos, dataSourceReplicas.getConnection());
+        verifyNoInteractions(dataSourceUno);
+    }
+
+    @Test
+    void getConnection_todasLasReplicasFallan_usaElPrimario() throws SQLException {
+        replicaUno.actualizar(true, 0L);
+        replicaDos.actualizar(true, 0L);
+        when(dataSourceUno.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(dataSourceDos.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primario.getConnection()).thenReturn(conexionPrimario);
+
+        assertSame(conexionPrimario, dataSourceReplicas.getConnection());
+
+        assertFalse(replicaUno.isDisponible());
+        assertFalse(replicaDos.isDisponible());
+        assertEquals(1, dataSourceReplicas.getDerivacionesAlPrimario());
+    }
+
+    @Test
+    void verificar_retrasoSobreElMaximo_deshabilitaLaReplica() throws SQLException {
+        simularEstadoReplicacion(dataSourceUno, conexionUno, 2L);
+        simularEstadoReplicacion(dataSourceDos, conexionDos, 12L);
+
+        dataSourceReplicas.verificar();
+
+        assertTrue(replicaUno.isDisponible());
+        assertEquals(2L, replicaUno.getRetrasoSegundos());
+        assertFalse(replicaDos.isDisponible());
+        assertEquals(12L, replicaDos.getRetrasoSegundos());
+    }
+
+    @Test
+    void verificar_sinConsultaDeRetraso_soloPruebaLaConexion() throws SQLException {
+        dataSourceReplicas = new DataSourceReplicas(primario, List.of(replicaUno, replicaDos), 5, "");
+        when(dataSourceUno.getConnection()).thenReturn(conexionUno);
+        when(conexionUno.isValid(anyInt())).thenReturn(true);
+        when(dataSourceDos.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        dataSourceReplicas.verificar();
+
+        assertTrue(replicaUno.isDisponible());
+        assertFalse(replicaDos.isDisponible());
+        assertEquals(1, dataSourceReplicas.getReplicasDisponibles());
+    }
+
+    private void simularEstadoReplicacion(DataSource dataSource, Connection conexion, long retraso) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(dataSource.getConnection()).thenReturn(conexion);
+        when(conexion.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn("Replica_IO_State");
+        when(metaData.getColumnLabel(2)).thenReturn("Seconds_Behind_Source");
+        when(rs.getLong(2)).thenReturn(retraso);
+        when(rs.wasNull()).thenReturn(false);
+    }
+}
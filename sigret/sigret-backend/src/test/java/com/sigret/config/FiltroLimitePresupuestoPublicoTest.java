@@ -0,0 +1,146 @@
+package com.sigret.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class FiltroLimitePresupuestoPublicoTest {
+
+    @Spy
+    private PresupuestoPublicoProperties properties = new PresupuestoPublicoProperties();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private FiltroLimitePresupuestoPublico filtro;
+
+    @BeforeEach
+    void setUp() {
+        properties.setCapacidadPorToken(3);
+        properties.setCapacidadPorIp(5);
+        filtro.inicializar();
+    }
+
+    @Test
+    void doFilter_rafagaSobreElMismoToken_respondeTooManyRequests() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, ejecutar("GET", "/api/public/presupuestos/token/abc", "10.0.0." + i).getStatus());
+        }
+
+        MockHttpServletResponse rechazada = ejecutar("GET", "/api/public/presupuestos/token/abc", "10.0.0.9");
+
+        assertEquals(429, rechazada.getStatus());
+        long reintentar = Long.parseLong(rechazada.getHeader("Retry-After"));
+        assertTrue(reintentar >= 9 && reintentar <= 11, "Retry-After " + reintentar);
+        assertEquals(1.0, meterRegistry.counter("sigret.presupuesto.publico.limitadas", "limite", "token").count());
+    }
+
+    @Test
+    void doFilter_mismaIpRecorriendoTokens_limitaPorIp() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, ejecutar("POST", "/api/public/presupuestos/aprobar/tok-" + i, "10.0.0.1").getStatus());
+        }
+
+        assertEquals(429, ejecutar("POST", "/api/public/presupuestos/aprobar/tok-9", "10.0.0.1").getStatus());
+        assertEquals(200, ejecutar("POST", "/api/public/presupuestos/aprobar/tok-9", "10.0.0.2").getStatus());
+    }
+
+    @Test
+    void doFilter_otraRuta_noSeLimita() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, ejecutar("GET", "/api/servicios", "10.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    void doFilter_xForwardedForFalsificado_noRenuevaLaCubeta() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, ejecutarReenviada("/api/public/presupuestos/token/tok-" + i, "203.0.113.7", "198.51.100." + i).getStatus());
+        }
+
+        assertEquals(429, ejecutarReenviada("/api/public/presupuestos/token/tok-9", "203.0.113.7", "198.51.100.99").getStatus());
+    }
+
+    @Test
+    void doFilter_detrasDeProxyConfiable_ignoraLosSaltosQueEscribeElCliente() throws Exception {
+        properties.setUsarXForwardedFor(true);
+        properties.setProxiesConfiables(List.of("172.16.0.0/12"));
+        filtro.inicializar();
+
+        // El proxy agrega la IP real al final; lo de la izquierda lo inventa el cliente
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, ejecutarReenviada("/api/public/presupuestos/token/tok-" + i, "172.16.0.1",
+                    "198.51.100." + i + ", 203.0.113.7").getStatus());
+        }
+
+        assertEquals(429, ejecutarReenviada("/api/public/presupuestos/token/tok-9", "172.16.0.1", "198.51.100.99, 203.0.113.7").getStatus());
+        assertEquals(200, ejecutarReenviada("/api/public/presupuestos/token/tok-9", "172.16.0.1", "203.0.113.8").getStatus());
+    }
+
+    @Test
+    void obtenerIp_conexionQueNoEsDeUnProxy_usaLaIpDeLaConexion() {
+        properties.setUsarXForwardedFor(true);
+        filtro.inicializar();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/presupuestos/token/abc");
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+
+        assertEquals("203.0.113.7", filtro.obtenerIp(request));
+
+        request.setRemoteAddr("127.0.0.1");
+        request.removeHeader("X-Forwarded-For");
+        request.addHeader("X-Forwarded-For", "evil.example.com, 10.1.1.1");
+        assertEquals("10.1.1.1", filtro.obtenerIp(request));
+    }
+
+    @Test
+    void cubetaTokens_seRecargaConElTiempo() {
+        CubetaTokens cubeta = new CubetaTokens(1, 6, 0);
+
+        assertTrue(cubeta.intentarConsumir(0));
+        assertFalse(cubeta.intentarConsumir(TimeUnit.SECONDS.toNanos(5)));
+        long segundos = cubeta.segundosHastaDisponible(TimeUnit.SECONDS.toNanos(5));
+        assertTrue(segundos >= 5 && segundos <= 6, "segundos " + segundos);
+        assertTrue(cubeta.intentarConsumir(TimeUnit.SECONDS.toNanos(10)));
+    }
+
+    @Test
+    void extraerToken_rutasPublicas() {
+        assertEquals("abc", FiltroLimitePresupuestoPublico.extraerToken("/api/public/presupuestos/rechazar/abc"));
+        assertNull(FiltroLimitePresupuestoPublico.extraerToken("/api/public/presupuestos/token/"));
+    }
+
+    private MockHttpServletResponse ejecutar(String metodo, String uri, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, uri);
+        request.setRemoteAddr(ip);
+        return ejecutar(request);
+    }
+
+    private MockHttpServletResponse ejecutarReenviada(String uri, String conexion, String reenviada) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(conexion);
+        request.addHeader("X-Forwarded-For", reenviada);
+        return ejecutar(request);
+    }
+
+    private MockHttpServletResponse ejecutar(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
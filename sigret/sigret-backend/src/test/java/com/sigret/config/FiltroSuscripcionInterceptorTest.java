@@ -0,0 +1,66 @@
+package com.sigret.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroSuscripcionInterceptorTest {
+
+    private final FiltroSuscripcionInterceptor interceptor = new FiltroSuscripcionInterceptor();
+
+    @Test
+    void preSend_frameQueNoCoincideConElFiltro_seDescarta() {
+        interceptor.preSend(suscripcion("sub-1", Map.of("filtro-empleado-id", "3")), null);
+
+        assertNull(interceptor.preSend(frame("sub-1", "estado=EN_REPARACION;empleadoId=5"), null));
+        assertNotNull(interceptor.preSend(frame("sub-1", "estado=EN_REPARACION;empleadoId=3"), null));
+    }
+
+    @Test
+    void preSend_filtroConVariosValores_aceptaCualquieraDeEllos() {
+        interceptor.preSend(suscripcion("sub-1", Map.of("filtro-estado", "RECIBIDO, PRESUPUESTADO")), null);
+
+        assertNotNull(interceptor.preSend(frame("sub-1", "estado=PRESUPUESTADO,RECIBIDO"), null));
+        assertNull(interceptor.preSend(frame("sub-1", "estado=TERMINADO"), null));
+    }
+
+    @Test
+    void preSend_frameSinElAtributoFiltrado_seEntrega() {
+        interceptor.preSend(suscripcion("sub-1", Map.of("filtro-cliente-id", "7")), null);
+
+        assertNotNull(interceptor.preSend(frame("sub-1", null), null));
+    }
+
+    @Test
+    void preSend_suscripcionSinFiltroOTrasDesuscribirse_recibeTodo() {
+        interceptor.preSend(suscripcion("sub-1", Map.of("filtro-empleado-id", "3")), null);
+        interceptor.preSend(mensaje(SimpMessageType.UNSUBSCRIBE, "sub-1", Map.of()), null);
+
+        assertNotNull(interceptor.preSend(frame("sub-1", "empleadoId=5"), null));
+        assertNotNull(interceptor.preSend(frame("sub-2", "empleadoId=5"), null));
+    }
+
+    private Message<byte[]> suscripcion(String subscriptionId, Map<String, String> headers) {
+        return mensaje(SimpMessageType.SUBSCRIBE, subscriptionId, headers);
+    }
+
+    private Message<byte[]> frame(String subscriptionId, String atributos) {
+        return mensaje(SimpMessageType.MESSAGE, subscriptionId,
+                atributos != null ? Map.of(FiltroSuscripcionInterceptor.HEADER_ATRIBUTOS, atributos) : Map.of());
+    }
+
+    private Message<byte[]> mensaje(SimpMessageType tipo, String subscriptionId, Map<String, String> headers) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(tipo);
+        accessor.setSessionId("sesion-1");
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination("/topic/servicios");
+        headers.forEach(accessor::setNativeHeader);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,42 @@
+package com.sigret.config;
+
+import com.sigret.dtos.login.LoginResponseDto;
+import com.sigret.entities.Servicio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativoConfigTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativoConfig.HintsNativos().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_implementacionesDeJjwt_seCreanPorReflexion() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtBuilder"))
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void registerHints_dtosAnidadosYEntidades_registrados() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(LoginResponseDto.UserInfo.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Servicio.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+    }
+
+    @Test
+    void registerHints_logoYFuentesDeItext_incluidos() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("logos/logo-horizontal-original.png").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("com/itextpdf/io/font/afm/Helvetica.afm").test(hints));
+    }
+}
@@ -0,0 +1,74 @@
+package com.sigret.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolConexionesConfigTest {
+
+    private HikariConfig hikari;
+    private PoolConexionesProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        hikari = new HikariConfig();
+        hikari.setJdbcUrl("jdbc:mysql://localhost:3306/sigret_db");
+        hikari.setMaximumPoolSize(10);
+        hikari.setConnectionTimeout(10000);
+        hikari.setMaxLifetime(1740000);
+        hikari.setKeepaliveTime(300000);
+        hikari.setLeakDetectionThreshold(30000);
+        hikari.addDataSourceProperty("cachePrepStmts", "true");
+        properties = new PoolConexionesProperties();
+    }
+
+    @Test
+    void validar_configuracionPorDefecto_noReportaProblemas() {
+        assertTrue(PoolConexionesConfig.validar(hikari, properties, null).isEmpty());
+    }
+
+    @Test
+    void validar_umbralDeFugasMayorQueMaxLifetime_loReporta() {
+        hikari.setLeakDetectionThreshold(1800000);
+
+        List<String> problemas = PoolConexionesConfig.validar(hikari, properties, null);
+
+        assertEquals(1, problemas.size());
+        assertTrue(problemas.get(0).startsWith("leak-detection-threshold"));
+    }
+
+    @Test
+    void validar_poolesDeTodasLasInstanciasSuperanElServidor_loReporta() {
+        properties.setInstancias(4);
+        properties.setConexionesMaximasServidor(30);
+
+        List<String> problemas = PoolConexionesConfig.validar(hikari, properties, null);
+
+        assertEquals(1, problemas.size());
+        assertTrue(problemas.get(0).contains("40 conexiones"));
+    }
+
+    @Test
+    void validar_semaforoConMasPermisosQueElPool_loReporta() {
+        assertTrue(PoolConexionesConfig.validar(hikari, properties, 10).isEmpty());
+
+        List<String> problemas = PoolConexionesConfig.validar(hikari, properties, 50);
+
+        assertEquals(1, problemas.size());
+        assertTrue(problemas.get(0).startsWith("sigret.hilos-virtuales.permisos-conexion"));
+    }
+
+    @Test
+    void validar_mysqlSinCacheDeSentencias_loReporta() {
+        hikari.getDataSourceProperties().remove("cachePrepStmts");
+
+        List<String> problemas = PoolConexionesConfig.validar(hikari, properties, null);
+
+        assertEquals(1, problemas.size());
+        assertTrue(problemas.get(0).startsWith("cachePrepStmts"));
+    }
+}
@@ -0,0 +1,32 @@
+package com.sigret.config;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicasConfigTest {
+
+    private final ReplicasConfig.DialectoLecturaSinCache dialecto = new ReplicasConfig.DialectoLecturaSinCache();
+
+    @Test
+    void cleanupTransaction_lecturaSinCache_restauraElModoAnterior() {
+        Session session = mock(Session.class);
+
+        dialecto.cleanupTransaction(new ReplicasConfig.DialectoLecturaSinCache.LecturaSinCache(null, session, CacheMode.NORMAL));
+
+        verify(session).setCacheMode(CacheMode.NORMAL);
+    }
+
+    @Test
+    void dialectoLectura_reemplazaElDialectoDelEntityManagerFactory() {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+
+        new ReplicasConfig.DialectoLecturaPostProcessor().postProcessBeforeInitialization(factory, "entityManagerFactory");
+
+        assertInstanceOf(ReplicasConfig.DialectoLecturaSinCache.class, factory.getJpaDialect());
+    }
+}
@@ -0,0 +1,96 @@
+package com.sigret.config;
+
+import com.sigret.security.PrincipalJwt;
+import com.sigret.utilities.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.core.Authentication;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebSocketAuthInterceptorTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private MessageChannel channel;
+
+    @InjectMocks
+    private WebSocketAuthInterceptor interceptor;
+
+    @Test
+    void preSend_connectConTokenValido_asociaElPrincipalALaSesion() {
+        PrincipalJwt principal = new PrincipalJwt("ana", "TECNICO", 7L, Instant.now().plusSeconds(600));
+        when(jwtUtil.extraerPrincipal("abc")).thenReturn(Optional.of(principal));
+
+        Message<?> resultado = interceptor.preSend(connect("s1", "Bearer abc"), channel);
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(resultado);
+        Authentication usuario = (Authentication) accessor.getUser();
+        assertEquals("ana", usuario.getName());
+        assertEquals("ROLE_TECNICO", usuario.getAuthorities().iterator().next().getAuthority());
+        assertSame(principal, accessor.getSessionAttributes().get(WebSocketAuthInterceptor.ATRIBUTO_PRINCIPAL));
+    }
+
+    @Test
+    void preSend_reconexionConElMismoToken_noVuelveAVerificarLaFirma() {
+        PrincipalJwt principal = new PrincipalJwt("ana", "TECNICO", 7L, Instant.now().plusSeconds(600));
+        when(jwtUtil.extraerPrincipal("abc")).thenReturn(Optional.of(principal));
+
+        interceptor.preSend(connect("s1", "Bearer abc"), channel);
+        interceptor.preSend(connect("s2", "Bearer abc"), channel);
+
+        verify(jwtUtil, times(1)).extraerPrincipal(anyString());
+    }
+
+    @Test
+    void preSend_tokenCacheadoExpirado_seVuelveAVerificar() {
+        PrincipalJwt vencido = new PrincipalJwt("ana", "TECNICO", 7L, Instant.now().minusSeconds(1));
+        when(jwtUtil.extraerPrincipal("abc")).thenReturn(Optional.of(vencido), Optional.empty());
+
+        interceptor.preSend(connect("s1", "Bearer abc"), channel);
+
+        assertThrows(IllegalArgumentException.class, () -> interceptor.preSend(connect("s2", "Bearer abc"), channel));
+        verify(jwtUtil, times(2)).extraerPrincipal("abc");
+    }
+
+    @Test
+    void preSend_tokenInvalido_rechazaLaConexion() {
+        when(jwtUtil.extraerPrincipal("malo")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> interceptor.preSend(connect("s1", "Bearer malo"), channel));
+    }
+
+    @Test
+    void preSend_sinToken_rechazaSinConsultarJwt() {
+        assertThrows(IllegalArgumentException.class, () -> interceptor.preSend(connect("s1", null), channel));
+        verifyNoInteractions(jwtUtil);
+    }
+
+    private Message<byte[]> connect(String sesion, String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sesion);
+        accessor.setSessionAttributes(new HashMap<>());
+        if (authorization != null) {
+            accessor.setNativeHeader("Authorization", authorization);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
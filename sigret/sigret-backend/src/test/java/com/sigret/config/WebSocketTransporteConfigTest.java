@@ -0,0 +1,73 @@
+package com.sigret.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WebSocketTransporteConfigTest {
+
+    private final WebSocketProperties properties = new WebSocketProperties();
+    private final WebSocketTransporteConfig config = new WebSocketTransporteConfig();
+
+    @BeforeEach
+    void setUp() {
+        properties.setCanalHilos(4);
+        properties.setCanalCola(50);
+        properties.setLimiteTiempoEnvioMs(3000);
+        properties.setLimiteBufferEnvioKb(256);
+        properties.setLimiteTamanioMensajeKb(32);
+        ReflectionTestUtils.setField(config, "webSocketProperties", properties);
+        config.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        config.destroy();
+    }
+
+    @Test
+    void afterPropertiesSet_canalesConHilosYColaAcotadaYContrapresion() {
+        for (String canal : List.of("canalEntrada", "canalSalida")) {
+            ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) ReflectionTestUtils.getField(config, canal);
+
+            assertEquals(4, executor.getCorePoolSize());
+            assertEquals(4, executor.getMaxPoolSize());
+            assertEquals(50, executor.getQueueCapacity());
+            assertInstanceOf(ThreadPoolExecutor.CallerRunsPolicy.class,
+                    executor.getThreadPoolExecutor().getRejectedExecutionHandler());
+        }
+    }
+
+    @Test
+    void configureMessageBroker_preservaElOrdenDePublicacionPorSesion() {
+        MessageBrokerRegistry registry = spy(new MessageBrokerRegistry(mock(SubscribableChannel.class), mock(MessageChannel.class)));
+
+        config.configureMessageBroker(registry);
+
+        verify(registry).setPreservePublishOrder(true);
+    }
+
+    @Test
+    void configureWebSocketTransport_aplicaLimitesDeEnvioYTamanio() {
+        WebSocketTransportRegistration registration = new WebSocketTransportRegistration();
+
+        config.configureWebSocketTransport(registration);
+
+        assertEquals(3000, ReflectionTestUtils.getField(registration, "sendTimeLimit"));
+        assertEquals(256 * 1024, ReflectionTestUtils.getField(registration, "sendBufferSizeLimit"));
+        assertEquals(32 * 1024, ReflectionTestUtils.getField(registration, "messageSizeLimit"));
+        assertEquals(1, ((List<?>) ReflectionTestUtils.getField(registration, "decoratorFactories")).size());
+    }
+}
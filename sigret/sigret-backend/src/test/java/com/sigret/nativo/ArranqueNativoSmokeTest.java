@@ -0,0 +1,166 @@
+package com.sigret.nativo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Smoke test del binario nativo contra una base local: arranca target/sigret-backend, espera el health,
+ * ejercita login (JPA, BCrypt, jjwt, Jackson) y springdoc, y verifica tiempo de arranque y memoria residente.
+ * Se excluye del build normal; ejecutar con:
+ * mvn -Pnative native:compile -DskipTests && mvn test -Pnativo [-Dnativo.db-url=... -Dnativo.arranque-maximo-ms=...]
+ * La salida del binario queda en target/nativo/arranque.log
+ */
+@Tag("nativo")
+@Slf4j
+class ArranqueNativoSmokeTest {
+
+    private static final Path BINARIO = Path.of(System.getProperty("nativo.binario", "target/sigret-backend"));
+    private static final int PUERTO = Integer.getInteger("nativo.puerto", 18080);
+    private static final int PUERTO_GESTION = Integer.getInteger("nativo.puerto-gestion", 18081);
+    private static final String DB_URL = System.getProperty("nativo.db-url",
+            "jdbc:mysql://localhost:3306/sigret_db?createDatabaseIfNotExist=true&useUnicode=true&characterEncoding=UTF-8&serverTimezone=America/Argentina/Cordoba");
+    private static final String USUARIO = System.getProperty("nativo.usuario", "admin");
+    private static final String PASSWORD = System.getProperty("nativo.password", "admin123");
+    private static final long ARRANQUE_MAXIMO_MS = Long.getLong("nativo.arranque-maximo-ms", 1000);
+    private static final long RSS_MAXIMO_MB = Long.getLong("nativo.rss-maximo-mb", 200);
+
+    // Started SigretApplication in 0.412 seconds (process running for 0.431)
+    private static final Pattern ARRANQUE = Pattern.compile("process running for ([0-9.]+)");
+
+    private static final String BASE_URL = "http://localhost:" + PUERTO;
+    private static final String HEALTH_URL = "http://localhost:" + PUERTO_GESTION + "/actuator/health";
+    private static final Path LOG = Path.of("target/nativo/arranque.log");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    private static Process proceso;
+    private static long esperaHealthMs;
+
+    @BeforeAll
+    static void arrancarBinario() throws Exception {
+        assertTrue(Files.isExecutable(BINARIO), "No existe el binario " + BINARIO + " (mvn -Pnative native:compile -DskipTests)");
+        Files.createDirectories(LOG.getParent());
+
+        ProcessBuilder builder = new ProcessBuilder(List.of(BINARIO.toString(),
+                "--server.port=" + PUERTO,
+                "--management.server.port=" + PUERTO_GESTION,
+                "--spring.datasource.url=" + DB_URL,
+                "--sigret.archivo.habilitado=false",
+                "--sigret.retencion.habilitado=false"))
+                .redirectErrorStream(true)
+                .redirectOutput(LOG.toFile());
+
+        long inicio = System.nanoTime();
+        proceso = builder.start();
+
+        long limite = inicio + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < limite) {
+            assertTrue(proceso.isAlive(), "El binario terminó durante el arranque, ver " + LOG);
+            try {
+                if (httpClient.send(HttpRequest.newBuilder(URI.create(HEALTH_URL)).GET().build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    esperaHealthMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+                    return;
+                }
+            } catch (IOException e) {
+                // todavía no escucha
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("El health no respondió en 30 s, ver " + LOG);
+    }
+
+    @AfterAll
+    static void detenerBinario() throws InterruptedException {
+        if (proceso != null) {
+            proceso.destroy();
+            if (!proceso.waitFor(10, TimeUnit.SECONDS)) {
+                proceso.destroyForcibly();
+            }
+        }
+    }
+
+    @Test
+    void arranque_dentroDelObjetivo() throws IOException {
+        Matcher matcher = ARRANQUE.matcher(Files.readString(LOG));
+        // Sin la línea de Spring Boot se toma el tiempo hasta el primer health, que además incluye el sondeo
+        long arranqueMs = matcher.find() ? Math.round(Double.parseDouble(matcher.group(1)) * 1000) : esperaHealthMs;
+        log.info("Arranque nativo: {} ms (health a los {} ms)", arranqueMs, esperaHealthMs);
+
+        assertTrue(arranqueMs <= ARRANQUE_MAXIMO_MS,
+                "Arranque de " + arranqueMs + " ms, objetivo " + ARRANQUE_MAXIMO_MS + " ms");
+    }
+
+    @Test
+    void memoriaResidente_dentroDelObjetivo() throws IOException {
+        Path estado = Path.of("/proc/" + proceso.pid() + "/status");
+        assumeTrue(Files.exists(estado), "Sin /proc: se omite la medición de RSS");
+        long rssKb = Files.readAllLines(estado).stream()
+                .filter(linea -> linea.startsWith("VmRSS:"))
+                .map(linea -> Long.parseLong(linea.replaceAll("\\D", "")))
+                .findFirst()
+                .orElseThrow();
+        log.info("RSS del binario nativo: {} MB", rssKb / 1024);
+
+        assertTrue(rssKb / 1024 <= RSS_MAXIMO_MB, "RSS de " + rssKb / 1024 + " MB, objetivo " + RSS_MAXIMO_MB + " MB");
+    }
+
+    @Test
+    void login_emiteToken() throws Exception {
+        HttpResponse<String> login = httpClient.send(HttpRequest.newBuilder(URI.create(BASE_URL + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("username", USUARIO, "password", PASSWORD))))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, login.statusCode(), "Login fallido: " + login.body());
+        JsonNode cuerpo = objectMapper.readTree(login.body());
+        assertFalse(cuerpo.path("token").asText().isBlank());
+
+        HttpResponse<String> marcas = httpClient.send(HttpRequest.newBuilder(URI.create(BASE_URL + "/api/marcas"))
+                .header("Authorization", "Bearer " + cuerpo.get("token").asText())
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, marcas.statusCode(), "Token rechazado: " + marcas.body());
+    }
+
+    @Test
+    void documentacionApi_disponible() throws Exception {
+        HttpResponse<String> apiDocs = get("/v3/api-docs");
+
+        assertEquals(200, apiDocs.statusCode());
+        assertTrue(objectMapper.readTree(apiDocs.body()).path("paths").size() > 0, "api-docs sin paths");
+    }
+
+    private static HttpResponse<String> get(String ruta) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(BASE_URL + ruta)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,88 @@
+package com.sigret.services.impl;
+
+import com.sigret.config.ArchivoProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArchivoServicioServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private ArchivoProperties properties = new ArchivoProperties();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ArchivoServicioServiceImpl archivoServicioService;
+
+    @Test
+    void calcularCorte_edadMenorQueElAnio_noEntraEnElAnioEnCurso() {
+        LocalDateTime ahora = LocalDateTime.of(2026, 3, 15, 10, 0);
+
+        assertEquals(LocalDateTime.of(2026, 1, 1, 0, 0), ArchivoServicioServiceImpl.calcularCorte(ahora, 30));
+        assertEquals(LocalDateTime.of(2025, 3, 15, 10, 0), ArchivoServicioServiceImpl.calcularCorte(ahora, 365));
+    }
+
+    @Test
+    void valorPorDefecto_literalSeCopiaYElGeneradoSeOmite() {
+        Map<String, Object> version = new HashMap<>();
+        version.put("COLUMN_DEFAULT", "0");
+        version.put("EXTRA", "");
+        Map<String, Object> fecha = new HashMap<>();
+        fecha.put("COLUMN_DEFAULT", "CURRENT_TIMESTAMP(6)");
+        fecha.put("EXTRA", "DEFAULT_GENERATED");
+        Map<String, Object> sinDefault = new HashMap<>();
+        sinDefault.put("COLUMN_DEFAULT", null);
+        sinDefault.put("EXTRA", "");
+
+        assertEquals(" DEFAULT '0'", ArchivoServicioServiceImpl.valorPorDefecto(version));
+        assertEquals("", ArchivoServicioServiceImpl.valorPorDefecto(fecha));
+        assertEquals("", ArchivoServicioServiceImpl.valorPorDefecto(sinDefault));
+    }
+
+    @Test
+    void restaurar_garantiaConOriginalArchivado_restauraPrimeroElOriginal() {
+        when(jdbcTemplate.queryForList(contains("SELECT id_servicio_garantia"), eq(Long.class), eq(10L))).thenReturn(List.of(5L));
+        when(jdbcTemplate.queryForList(contains("SELECT id_servicio_garantia"), eq(Long.class), eq(5L)))
+                .thenReturn(Collections.singletonList(null));
+
+        assertTrue(archivoServicioService.restaurar(10L));
+
+        InOrder orden = inOrder(jdbcTemplate);
+        orden.verify(jdbcTemplate).update(startsWith("INSERT INTO servicios ("), eq(5L));
+        orden.verify(jdbcTemplate).update(startsWith("INSERT INTO servicios ("), eq(10L));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM servicios_historico"), eq(10L));
+        assertEquals(2.0, meterRegistry.counter("sigret.archivo.servicios", "operacion", "restaurado").count());
+    }
+
+    @Test
+    void restaurar_servicioNoArchivado_devuelveFalse() {
+        when(jdbcTemplate.queryForList(contains("SELECT id_servicio_garantia"), eq(Long.class), eq(7L))).thenReturn(List.of());
+
+        assertFalse(archivoServicioService.restaurar(7L));
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+}
@@ -0,0 +1,63 @@
+package com.sigret.services.impl;
+
+import com.sigret.config.WebSocketProperties;
+import com.sigret.services.impl.BufferEventosRecientes.EventoReciente;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferEventosRecientesTest {
+
+    private BufferEventosRecientes buffer;
+
+    @BeforeEach
+    void setUp() {
+        WebSocketProperties properties = new WebSocketProperties();
+        properties.setCapacidadReplay(3);
+        buffer = new BufferEventosRecientes();
+        ReflectionTestUtils.setField(buffer, "webSocketProperties", properties);
+    }
+
+    @Test
+    void desde_devuelveSoloLosEventosPosterioresALaSecuencia() {
+        buffer.registrar("/topic/servicios", 10L, "a", null);
+        buffer.registrar("/topic/servicios", 14L, "b", null);
+        buffer.registrar("/topic/servicios", 20L, "c", null);
+
+        Optional<List<EventoReciente>> perdidos = buffer.desde("/topic/servicios", 14L);
+
+        assertTrue(perdidos.isPresent());
+        assertEquals(List.of(20L), perdidos.get().stream().map(EventoReciente::getSeq).toList());
+    }
+
+    @Test
+    void desde_clienteAlDia_devuelveListaVacia() {
+        buffer.registrar("/topic/servicios", 10L, "a", null);
+
+        assertEquals(Optional.of(List.of()), buffer.desde("/topic/servicios", 10L));
+    }
+
+    @Test
+    void desde_huecoQueSalioDelBuffer_pideResincronizar() {
+        buffer.registrar("/topic/servicios", 10L, "a", null);
+        buffer.registrar("/topic/servicios", 11L, "b", null);
+        buffer.registrar("/topic/servicios", 12L, "c", null);
+        buffer.registrar("/topic/servicios", 13L, "d", null);
+
+        assertTrue(buffer.desde("/topic/servicios", 9L).isEmpty());
+        assertEquals(2, buffer.desde("/topic/servicios", 11L).orElseThrow().size());
+    }
+
+    @Test
+    void desde_secuenciaAnteriorAlArranque_pideResincronizar() {
+        buffer.registrar("/topic/servicios", 50L, "a", null);
+
+        assertTrue(buffer.desde("/topic/servicios", 30L).isEmpty());
+        assertTrue(buffer.desde("/topic/presupuestos", 30L).isEmpty());
+    }
+}
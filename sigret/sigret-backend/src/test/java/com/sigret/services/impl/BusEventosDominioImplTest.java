@@ -0,0 +1,142 @@
+package com.sigret.services.impl;
+
+import com.sigret.enums.EstadoServicio;
+import com.sigret.eventos.ConsumidorEventoDominio;
+import com.sigret.eventos.EventoDominio;
+import com.sigret.eventos.PresupuestoRechazado;
+import com.sigret.eventos.ServicioEstadoCambiado;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusEventosDominioImplTest {
+
+    private BusEventosDominioImpl bus;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        bus.destroy();
+    }
+
+    @Test
+    void publicar_eventosDeLaMismaEntidad_seConsumenEnOrden() throws InterruptedException {
+        ConsumidorDePrueba consumidor = new ConsumidorDePrueba("servicios", 50);
+        bus = crearBus(consumidor);
+
+        for (int i = 0; i < 50; i++) {
+            bus.publicar(cambio(7L, i));
+        }
+
+        assertTrue(consumidor.esperar());
+        List<Integer> orden = consumidor.recibidos.stream()
+                .map(evento -> ((ServicioEstadoCambiado) evento).getNumeroServicio())
+                .map(Integer::valueOf)
+                .toList();
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, orden.get(i));
+        }
+    }
+
+    @Test
+    void publicar_consumidorQueFalla_noAfectaALosDemas() throws InterruptedException {
+        ConsumidorEventoDominio roto = new ConsumidorDePrueba("roto", 1) {
+            @Override
+            public void consumir(EventoDominio evento) {
+                throw new RuntimeException("falla");
+            }
+        };
+        ConsumidorDePrueba sano = new ConsumidorDePrueba("sano", 2);
+        bus = crearBus(roto, sano);
+
+        bus.publicar(cambio(1L, 0));
+        bus.publicar(cambio(1L, 1));
+
+        assertTrue(sano.esperar());
+        assertEquals(2, sano.recibidos.size());
+    }
+
+    @Test
+    void publicar_eventoNoAdmitido_noLlegaAlConsumidor() throws InterruptedException {
+        ConsumidorDePrueba consumidor = new ConsumidorDePrueba("servicios", 1);
+        bus = crearBus(consumidor);
+
+        bus.publicar(new PresupuestoRechazado(3L, 1L, "SRV2500001"));
+        bus.publicar(cambio(1L, 0));
+
+        assertTrue(consumidor.esperar());
+        assertEquals(1, consumidor.recibidos.size());
+        assertInstanceOf(ServicioEstadoCambiado.class, consumidor.recibidos.get(0));
+    }
+
+    @Test
+    void publicar_dentroDeTransaccion_esperaAlCommit() throws InterruptedException {
+        ConsumidorDePrueba consumidor = new ConsumidorDePrueba("servicios", 1);
+        bus = crearBus(consumidor);
+        TransactionSynchronizationManager.initSynchronization();
+
+        bus.publicar(cambio(1L, 0));
+
+        assertFalse(consumidor.latch.await(200, TimeUnit.MILLISECONDS));
+        List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        sincronizaciones.forEach(TransactionSynchronization::afterCommit);
+
+        assertTrue(consumidor.esperar());
+    }
+
+    private BusEventosDominioImpl crearBus(ConsumidorEventoDominio... consumidores) {
+        BusEventosDominioImpl nuevo = new BusEventosDominioImpl();
+        ReflectionTestUtils.setField(nuevo, "consumidores", List.of(consumidores));
+        nuevo.afterPropertiesSet();
+        return nuevo;
+    }
+
+    private ServicioEstadoCambiado cambio(Long servicioId, int secuencia) {
+        return new ServicioEstadoCambiado(servicioId, String.valueOf(secuencia),
+                EstadoServicio.RECIBIDO, EstadoServicio.PRESUPUESTADO);
+    }
+
+    private static class ConsumidorDePrueba implements ConsumidorEventoDominio {
+
+        private final String nombre;
+        private final CountDownLatch latch;
+        private final List<EventoDominio> recibidos = new CopyOnWriteArrayList<>();
+
+        ConsumidorDePrueba(String nombre, int esperados) {
+            this.nombre = nombre;
+            this.latch = new CountDownLatch(esperados);
+        }
+
+        @Override
+        public String getNombre() {
+            return nombre;
+        }
+
+        @Override
+        public boolean admite(EventoDominio evento) {
+            return evento instanceof ServicioEstadoCambiado;
+        }
+
+        @Override
+        public void consumir(EventoDominio evento) {
+            recibidos.add(evento);
+            latch.countDown();
+        }
+
+        boolean esperar() throws InterruptedException {
+            return latch.await(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -53,14 +53,13 @@ class ClienteServiceImplTest {
     private TipoDocumentoRepository tipoDocumentoRepository;
 
     @Mock
-    private TipoContactoRepository tipoContactoRepository;
+    private SincronizadorDatosPersona sincronizadorDatosPersona;
 
     @InjectMocks
     private ClienteServiceImpl clienteService;
 
     private TipoPersona tipoPersona;
     private TipoDocumento tipoDocumento;
-    private TipoContacto tipoContacto;
     private Persona persona;
     private Cliente cliente;
 
@@ -74,10 +73,6 @@ class ClienteServiceImplTest {
         tipoDocumento.setId(1L);
         tipoDocumento.setDescripcion("DNI");
 
-        tipoContacto = new TipoContacto();
-        tipoContacto.setId(1L);
-        tipoContacto.setDescripcion("Email");
-
         persona = new Persona();
         persona.setId(1L);
         persona.setTipoPersona(tipoPersona);
@@ -175,15 +170,14 @@ class ClienteServiceImplTest {
         when(tipoDocumentoRepository.findById(1L)).thenReturn(Optional.of(tipoDocumento));
         when(personaRepository.save(any(Persona.class))).thenReturn(persona);
         when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
-        when(tipoContactoRepository.findById(1L)).thenReturn(Optional.of(tipoContacto));
-        when(contactoRepository.save(any(Contacto.class))).thenReturn(new Contacto());
         when(contactoRepository.findByPersonaId(1L)).thenReturn(new ArrayList<>());
         when(direccionRepository.findByPersonaId(1L)).thenReturn(new ArrayList<>());
 
         ClienteResponseDto resultado = clienteService.crearCliente(createDto);
 
         assertNotNull(resultado);
-        verify(contactoRepository).save(any(Contacto.class));
+        verify(sincronizadorDatosPersona).sincronizarContactos(persona, List.of(contactoDto));
+        verify(sincronizadorDatosPersona, never()).sincronizarDirecciones(any(), anyList());
     }
 
     @Test
@@ -0,0 +1,109 @@
+package com.sigret.services.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sigret.entities.EventoOutbox;
+import com.sigret.enums.TipoReferencia;
+import com.sigret.services.impl.CoalescedorEventos.EnvioCoalescido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescedorEventosTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CoalescedorEventos coalescedorEventos;
+
+    @BeforeEach
+    void setUp() {
+        coalescedorEventos = new CoalescedorEventos();
+        ReflectionTestUtils.setField(coalescedorEventos, "objectMapper", objectMapper);
+    }
+
+    @Test
+    void coalescer_actualizacionesDeLaMismaEntidad_quedaSoloLaUltima() {
+        List<EnvioCoalescido> envios = coalescedorEventos.coalescer(List.of(
+                evento(1L, "/topic/servicios", "ACTUALIZADO", 7L, "{\"tipo\":\"ACTUALIZADO\",\"version\":1}"),
+                evento(2L, "/topic/servicios", "ACTUALIZADO", 7L, "{\"tipo\":\"ACTUALIZADO\",\"version\":2}")));
+
+        assertEquals(1, envios.size());
+        assertEquals("{\"tipo\":\"ACTUALIZADO\",\"version\":2}", envios.get(0).getPayload());
+        assertEquals(List.of(1L, 2L), envios.get(0).getIds());
+    }
+
+    @Test
+    void coalescer_cambiosDeEstadoEncadenados_conservaElEstadoAnteriorDelPrimero() throws Exception {
+        List<EnvioCoalescido> envios = coalescedorEventos.coalescer(List.of(
+                evento(1L, "/topic/servicios", "ESTADO_CAMBIADO", 7L,
+                        "{\"tipo\":\"ESTADO_CAMBIADO\",\"estadoAnterior\":\"RECIBIDO\",\"estadoNuevo\":\"PRESUPUESTADO\"}"),
+                evento(2L, "/topic/servicios", "ESTADO_CAMBIADO", 7L,
+                        "{\"tipo\":\"ESTADO_CAMBIADO\",\"estadoAnterior\":\"PRESUPUESTADO\",\"estadoNuevo\":\"APROBADO\"}")));
+
+        JsonNode payload = objectMapper.readTree(envios.get(0).getPayload());
+        assertEquals("RECIBIDO", payload.get("estadoAnterior").asText());
+        assertEquals("APROBADO", payload.get("estadoNuevo").asText());
+    }
+
+    @Test
+    void coalescer_eventosDistintosMismoDestino_viajanEnUnLoteEnOrden() throws Exception {
+        List<EnvioCoalescido> envios = coalescedorEventos.coalescer(List.of(
+                evento(1L, "/topic/servicios", "CREADO", 7L, "{\"tipo\":\"CREADO\",\"servicioId\":7}"),
+                evento(2L, "/topic/presupuestos", "CREADO", 3L, "{\"tipo\":\"CREADO\",\"presupuestoId\":3}"),
+                evento(3L, "/topic/servicios", "ACTUALIZADO", 7L, "{\"tipo\":\"ACTUALIZADO\",\"servicioId\":7}")));
+
+        assertEquals(2, envios.size());
+        EnvioCoalescido servicios = envios.get(0);
+        assertEquals("/topic/servicios", servicios.getDestino());
+        JsonNode lote = objectMapper.readTree(servicios.getPayload());
+        assertEquals(CoalescedorEventos.TIPO_LOTE, lote.get("tipo").asText());
+        assertEquals("CREADO", lote.get("eventos").get(0).get("tipo").asText());
+        assertEquals("ACTUALIZADO", lote.get("eventos").get(1).get("tipo").asText());
+        assertEquals(List.of(1L, 3L), servicios.getIds());
+        assertEquals("{\"tipo\":\"CREADO\",\"presupuestoId\":3}", envios.get(1).getPayload());
+    }
+
+    @Test
+    void coalescer_cambioDeAtributos_abreOtroFrameSinAlterarElOrden() {
+        EventoOutbox primero = evento(1L, "/topic/servicios", "CREADO", 7L, "{\"servicioId\":7}");
+        primero.setAtributos("estado=RECIBIDO");
+        EventoOutbox segundo = evento(2L, "/topic/servicios", "CREADO", 8L, "{\"servicioId\":8}");
+        segundo.setAtributos("estado=RECIBIDO");
+        EventoOutbox tercero = evento(3L, "/topic/servicios", "CREADO", 9L, "{\"servicioId\":9}");
+        tercero.setAtributos("estado=APROBADO");
+
+        List<EnvioCoalescido> envios = coalescedorEventos.coalescer(List.of(primero, segundo, tercero));
+
+        assertEquals(2, envios.size());
+        assertEquals("estado=RECIBIDO", envios.get(0).getAtributos());
+        assertEquals(List.of(1L, 2L), envios.get(0).getIds());
+        assertEquals("estado=APROBADO", envios.get(1).getAtributos());
+    }
+
+    @Test
+    void coalescer_fusionDeCambiosDeEstado_unificaLosAtributos() {
+        EventoOutbox primero = evento(1L, "/topic/servicios", "ESTADO_CAMBIADO", 7L, "{}");
+        primero.setAtributos("estado=PRESUPUESTADO,RECIBIDO");
+        EventoOutbox segundo = evento(2L, "/topic/servicios", "ESTADO_CAMBIADO", 7L, "{}");
+        segundo.setAtributos("estado=APROBADO,PRESUPUESTADO");
+
+        List<EnvioCoalescido> envios = coalescedorEventos.coalescer(List.of(primero, segundo));
+
+        assertEquals("estado=PRESUPUESTADO,RECIBIDO,APROBADO", envios.get(0).getAtributos());
+    }
+
+    private EventoOutbox evento(Long id, String destino, String tipo, Long agregadoId, String payload) {
+        EventoOutbox evento = new EventoOutbox();
+        evento.setId(id);
+        evento.setDestino(destino);
+        evento.setTipoEvento(tipo);
+        evento.setTipoAgregado(TipoReferencia.SERVICIO);
+        evento.setAgregadoId(agregadoId);
+        evento.setPayload(payload);
+        return evento;
+    }
+}
@@ -22,7 +22,6 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -118,20 +117,14 @@ class DireccionServiceImplTest {
         createDto.setCalle("Nueva Calle");
         createDto.setEsPrincipal(true);
 
-        Direccion otraDireccion = new Direccion();
-        otraDireccion.setId(2L);
-        otraDireccion.setEsPrincipal(true);
-
         when(personaRepository.findById(1L)).thenReturn(Optional.of(persona));
-        when(direccionRepository.findByPersonaId(1L)).thenReturn(List.of(otraDireccion));
-        when(direccionRepository.saveAll(anyList())).thenReturn(List.of(otraDireccion));
         when(direccionRepository.save(any(Direccion.class))).thenReturn(direccion);
 
         DireccionResponseDto resultado = direccionService.crearDireccion(createDto);
 
         assertNotNull(resultado);
-        assertFalse(otraDireccion.getEsPrincipal());
-        verify(direccionRepository).saveAll(anyList());
+        verify(direccionRepository).desmarcarPrincipales(1L, null);
+        verify(direccionRepository, never()).findByPersonaId(anyLong());
     }
 
     @Test
@@ -248,14 +241,12 @@ class DireccionServiceImplTest {
         updateDto.setEsPrincipal(true);
 
         when(direccionRepository.findById(1L)).thenReturn(Optional.of(direccion));
-        when(direccionRepository.findByPersonaId(1L)).thenReturn(new ArrayList<>());
-        when(direccionRepository.saveAll(anyList())).thenReturn(new ArrayList<>());
         when(direccionRepository.save(any(Direccion.class))).thenReturn(direccion);
 
         DireccionResponseDto resultado = direccionService.actualizarDireccion(1L, updateDto);
 
         assertNotNull(resultado);
-        verify(direccionRepository).findByPersonaId(1L);
+        verify(direccionRepository).desmarcarPrincipales(1L, 1L);
     }
 
     @Test
@@ -279,14 +270,13 @@ class DireccionServiceImplTest {
         direccion.setEsPrincipal(false);
 
         when(direccionRepository.findById(1L)).thenReturn(Optional.of(direccion));
-        when(direccionRepository.findByPersonaId(1L)).thenReturn(new ArrayList<>());
-        when(direccionRepository.saveAll(anyList())).thenReturn(new ArrayList<>());
         when(direccionRepository.save(any(Direccion.class))).thenReturn(direccion);
 
         DireccionResponseDto resultado = direccionService.marcarComoPrincipal(1L);
 
         assertNotNull(resultado);
         assertTrue(direccion.getEsPrincipal());
+        verify(direccionRepository).desmarcarPrincipales(1L, 1L);
     }
 
     @Test
@@ -0,0 +1,91 @@
+package com.sigret.services.impl;
+
+import com.sigret.dtos.notificacion.NotificacionPushDto;
+import com.sigret.entities.Usuario;
+import com.sigret.enums.TipoReferencia;
+import com.sigret.repositories.NotificacionRepository;
+import com.sigret.repositories.UsuarioRepository;
+import com.sigret.services.OutboxService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificacionServiceImplTest {
+
+    @Mock
+    private NotificacionRepository notificacionRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @InjectMocks
+    private NotificacionServiceImpl notificacionService;
+
+    @Test
+    void crearNotificacionParaTodos_enviaNotificacionYContadorACadaUsuarioActivo() {
+        Usuario ana = usuario(1L, "ana", true);
+        Usuario luis = usuario(2L, "luis", true);
+        Usuario inactivo = usuario(3L, "inactivo", false);
+        when(usuarioRepository.findAll()).thenReturn(List.of(ana, luis, inactivo));
+        when(notificacionRepository.contarNoLeidasPorUsuario(List.of(1L, 2L)))
+                .thenReturn(List.of(new Object[]{1L, 4L}, new Object[]{2L, 1L}));
+
+        notificacionService.crearNotificacionParaTodos("Servicio creado", "CREADO", 10L,
+                TipoReferencia.SERVICIO, "pi pi-plus-circle", "info");
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(outboxService).registrar(eq("/user/ana/queue/notificaciones"), eq("NOTIFICACION"),
+                eq(TipoReferencia.SERVICIO), eq(10L), captor.capture());
+        NotificacionPushDto push = (NotificacionPushDto) captor.getValue();
+        assertEquals("Servicio creado", push.getNotificacion().getMensaje());
+        assertEquals(4L, push.getNoLeidas());
+
+        verify(outboxService).registrar(eq("/user/luis/queue/notificaciones"), anyString(), any(), any(), any());
+        verify(outboxService, never()).registrar(eq("/user/inactivo/queue/notificaciones"), anyString(), any(), any(), any());
+    }
+
+    @Test
+    void crearNotificacionParaTodos_sinUsuariosActivos_noEnviaNada() {
+        when(usuarioRepository.findAll()).thenReturn(List.of());
+
+        notificacionService.crearNotificacionParaTodos("Servicio creado", "CREADO", 10L,
+                TipoReferencia.SERVICIO, "pi pi-plus-circle", "info");
+
+        verify(notificacionRepository, never()).contarNoLeidasPorUsuario(anyList());
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void crearNotificacionParaTodos_usernameConBarra_codificaElDestinoComoConvertAndSendToUser() {
+        Usuario taller = usuario(1L, "taller/norte", true);
+        when(usuarioRepository.findAll()).thenReturn(List.of(taller));
+        when(notificacionRepository.contarNoLeidasPorUsuario(List.of(1L))).thenReturn(List.<Object[]>of(new Object[]{1L, 1L}));
+
+        notificacionService.crearNotificacionParaTodos("Servicio creado", "CREADO", 10L,
+                TipoReferencia.SERVICIO, "pi pi-plus-circle", "info");
+
+        verify(outboxService).registrar(eq("/user/taller%2Fnorte/queue/notificaciones"), eq("NOTIFICACION"),
+                eq(TipoReferencia.SERVICIO), eq(10L), any());
+    }
+
+    private Usuario usuario(Long id, String username, boolean activo) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setUsername(username);
+        usuario.setActivo(activo);
+        return usuario;
+    }
+}
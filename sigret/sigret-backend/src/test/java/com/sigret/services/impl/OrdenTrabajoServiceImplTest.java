@@ -7,6 +7,7 @@ import com.sigret.enums.EstadoOrdenTrabajo;
 import com.sigret.enums.EstadoServicio;
 import com.sigret.exception.OrdenTrabajoNotFoundException;
 import com.sigret.repositories.*;
+import com.sigret.services.ServicioService;
 import com.sigret.services.WebSocketNotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -48,6 +49,9 @@ class OrdenTrabajoServiceImplTest {
     @Mock
     private RepuestoRepository repuestoRepository;
 
+    @Mock
+    private ServicioService servicioService;
+
     @Mock
     private WebSocketNotificationService notificationService;
 
@@ -260,14 +264,13 @@ class OrdenTrabajoServiceImplTest {
     void iniciarOrdenTrabajo_cambiaEstadoAEnProgreso() {
         when(ordenTrabajoRepository.findById(1L)).thenReturn(Optional.of(ordenTrabajo));
         when(ordenTrabajoRepository.save(any(OrdenTrabajo.class))).thenReturn(ordenTrabajo);
-        when(servicioRepository.save(any(Servicio.class))).thenReturn(servicio);
 
         OrdenTrabajoResponseDto resultado = ordenTrabajoService.iniciarOrdenTrabajo(1L);
 
         assertNotNull(resultado);
         assertEquals(EstadoOrdenTrabajo.EN_PROGRESO, ordenTrabajo.getEstado());
         assertNotNull(ordenTrabajo.getFechaComienzo());
-        assertEquals(EstadoServicio.EN_REPARACION, servicio.getEstado());
+        verify(servicioService).cambiarEstadoServicio(servicio.getId(), EstadoServicio.EN_REPARACION);
         verify(notificationService).notificarOrdenTrabajo(any(OrdenTrabajoEventDto.class));
     }
 
@@ -277,14 +280,13 @@ class OrdenTrabajoServiceImplTest {
 
         when(ordenTrabajoRepository.findById(1L)).thenReturn(Optional.of(ordenTrabajo));
         when(ordenTrabajoRepository.save(any(OrdenTrabajo.class))).thenReturn(ordenTrabajo);
-        when(servicioRepository.save(any(Servicio.class))).thenReturn(servicio);
 
         OrdenTrabajoResponseDto resultado = ordenTrabajoService.finalizarOrdenTrabajo(1L);
 
         assertNotNull(resultado);
         assertEquals(EstadoOrdenTrabajo.TERMINADA, ordenTrabajo.getEstado());
         assertNotNull(ordenTrabajo.getFechaFin());
-        assertEquals(EstadoServicio.TERMINADO, servicio.getEstado());
+        verify(servicioService).cambiarEstadoServicio(servicio.getId(), EstadoServicio.TERMINADO);
     }
 
     @Test
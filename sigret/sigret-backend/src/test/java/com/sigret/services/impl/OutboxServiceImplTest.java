@@ -0,0 +1,218 @@
+package com.sigret.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sigret.config.WebSocketProperties;
+import com.sigret.entities.EventoOutbox;
+import com.sigret.enums.TipoReferencia;
+import com.sigret.repositories.EventoOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceImplTest {
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private CoalescedorEventos coalescedorEventos = new CoalescedorEventos();
+
+    @Spy
+    private WebSocketProperties webSocketProperties = new WebSocketProperties();
+
+    @Mock
+    private BufferEventosRecientes bufferEventosRecientes;
+
+    @InjectMocks
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(coalescedorEventos, "objectMapper", objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxService.destroy();
+    }
+
+    @Test
+    void registrar_guardaEventoSerializadoSinPublicarEnLinea() {
+        outboxService.registrar("/topic/servicios", "CREADO", TipoReferencia.SERVICIO, 5L, Map.of("servicioId", 5));
+
+        ArgumentCaptor<EventoOutbox> captor = ArgumentCaptor.forClass(EventoOutbox.class);
+        verify(eventoOutboxRepository).save(captor.capture());
+        EventoOutbox guardado = captor.getValue();
+        assertEquals("/topic/servicios", guardado.getDestino());
+        assertEquals(TipoReferencia.SERVICIO, guardado.getTipoAgregado());
+        assertEquals(5L, guardado.getAgregadoId());
+        assertEquals("{\"servicioId\":5}", guardado.getPayload());
+        assertFalse(guardado.getPublicado());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publicarPendientes_publicaEnOrdenYMarcaComoPublicados() {
+        EventoOutbox primero = evento(1L, "/topic/servicios", "{\"a\":1}");
+        EventoOutbox segundo = evento(2L, "/topic/presupuestos", "{\"b\":2}");
+        when(eventoOutboxRepository.findPendientes(any(Pageable.class))).thenReturn(List.of(primero, segundo));
+
+        int publicados = outboxService.publicarPendientes();
+
+        assertEquals(2, publicados);
+        InOrder orden = inOrder(messagingTemplate);
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass(Message.class);
+        orden.verify(messagingTemplate).send(eq("/topic/servicios"), captor.capture());
+        orden.verify(messagingTemplate).send(eq("/topic/presupuestos"), any(Message.class));
+        assertEquals("{\"a\":1}", new String((byte[]) captor.getValue().getPayload(), StandardCharsets.UTF_8));
+        assertEquals(MimeTypeUtils.APPLICATION_JSON, captor.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE));
+        verify(eventoOutboxRepository).marcarPublicados(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void publicarPendientes_conFalloDeEnvio_detieneElLoteParaRespetarElOrden() {
+        EventoOutbox primero = evento(1L, "/topic/servicios", "{}");
+        EventoOutbox segundo = evento(2L, "/topic/presupuestos", "{}");
+        EventoOutbox tercero = evento(3L, "/topic/ordenes-trabajo", "{}");
+        when(eventoOutboxRepository.findPendientes(any(Pageable.class))).thenReturn(List.of(primero, segundo, tercero));
+        doAnswer(invocacion -> {
+            if ("/topic/presupuestos".equals(invocacion.getArgument(0))) {
+                throw new RuntimeException("broker caído");
+            }
+            return null;
+        }).when(messagingTemplate).send(anyString(), any(Message.class));
+
+        int publicados = outboxService.publicarPendientes();
+
+        assertEquals(1, publicados);
+        verify(messagingTemplate, never()).send(eq("/topic/ordenes-trabajo"), any(Message.class));
+        verify(eventoOutboxRepository).incrementarIntentos(2L);
+        verify(eventoOutboxRepository, never()).incrementarIntentos(3L);
+        // Solo el primero se marca; el que falló y los siguientes quedan pendientes para la próxima pasada
+        verify(eventoOutboxRepository, times(1)).marcarPublicados(anyList(), any(LocalDateTime.class));
+        verify(eventoOutboxRepository).marcarPublicados(eq(List.of(1L)), any(LocalDateTime.class));
+        assertFalse(segundo.getPublicado());
+        assertFalse(tercero.getPublicado());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publicarPendientes_variosEventosMismoDestino_enviaUnSoloFrameLote() {
+        EventoOutbox creado = evento(1L, "/topic/servicios", "{\"tipo\":\"CREADO\",\"servicioId\":1}");
+        EventoOutbox otro = evento(2L, "/topic/servicios", "{\"tipo\":\"CREADO\",\"servicioId\":2}");
+        when(eventoOutboxRepository.findPendientes(any(Pageable.class))).thenReturn(List.of(creado, otro));
+
+        int publicados = outboxService.publicarPendientes();
+
+        assertEquals(2, publicados);
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, times(1)).send(eq("/topic/servicios"), captor.capture());
+        String body = new String((byte[]) captor.getValue().getPayload(), StandardCharsets.UTF_8);
+        assertTrue(body.startsWith("{\"tipo\":\"LOTE\""));
+        assertTrue(body.contains("\"servicioId\":1") && body.contains("\"servicioId\":2"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publicarPendientes_topicConReplay_agregaSecuenciaYGuardaEnBuffer() {
+        EventoOutbox evento = evento(7L, "/topic/servicios", "{\"a\":1}");
+        when(eventoOutboxRepository.findPendientes(any(Pageable.class))).thenReturn(List.of(evento));
+        when(bufferEventosRecientes.admite("/topic/servicios")).thenReturn(true);
+        when(eventoOutboxRepository.findUltimaSecuencia("/topic/servicios")).thenReturn(41L);
+
+        outboxService.publicarPendientes();
+
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate).send(eq("/topic/servicios"), captor.capture());
+        assertEquals("42", SimpMessageHeaderAccessor.wrap(captor.getValue()).getFirstNativeHeader("seq"));
+        verify(eventoOutboxRepository).asignarSecuencia(List.of(7L), 42L);
+        verify(bufferEventosRecientes).registrar("/topic/servicios", 42L, "{\"a\":1}", null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publicarPendientes_idMenorConfirmadoDespues_recibeSecuenciaMayor() {
+        // La transacción con id 9 confirma después de que ya se publicó el 10
+        when(eventoOutboxRepository.findPendientes(any(Pageable.class)))
+                .thenReturn(List.of(evento(10L, "/topic/servicios", "{}")))
+                .thenReturn(List.of(evento(9L, "/topic/servicios", "{}")));
+        when(bufferEventosRecientes.admite("/topic/servicios")).thenReturn(true);
+        when(eventoOutboxRepository.findUltimaSecuencia("/topic/servicios")).thenReturn(100L);
+
+        outboxService.publicarPendientes();
+        outboxService.publicarPendientes();
+
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, times(2)).send(eq("/topic/servicios"), captor.capture());
+        assertEquals("101", SimpMessageHeaderAccessor.wrap(captor.getAllValues().get(0)).getFirstNativeHeader("seq"));
+        assertEquals("102", SimpMessageHeaderAccessor.wrap(captor.getAllValues().get(1)).getFirstNativeHeader("seq"));
+        verify(eventoOutboxRepository, times(1)).findUltimaSecuencia("/topic/servicios");
+    }
+
+    @Test
+    void publicarPendientes_sinSecuenciaPrevia_partenDelReloj() {
+        long antes = System.currentTimeMillis();
+        when(eventoOutboxRepository.findPendientes(any(Pageable.class))).thenReturn(List.of(evento(1L, "/topic/servicios", "{}")));
+        when(bufferEventosRecientes.admite("/topic/servicios")).thenReturn(true);
+        when(eventoOutboxRepository.findUltimaSecuencia("/topic/servicios")).thenReturn(null);
+
+        outboxService.publicarPendientes();
+
+        ArgumentCaptor<Long> seq = ArgumentCaptor.forClass(Long.class);
+        verify(bufferEventosRecientes).registrar(eq("/topic/servicios"), seq.capture(), eq("{}"), isNull());
+        assertTrue(seq.getValue() > antes);
+    }
+
+    @Test
+    void publicarPendientes_sinPendientes_noPublicaNada() {
+        when(eventoOutboxRepository.findPendientes(any(Pageable.class))).thenReturn(List.of());
+
+        assertEquals(0, outboxService.publicarPendientes());
+        verify(messagingTemplate, never()).send(any(String.class), any(Message.class));
+        verify(eventoOutboxRepository, never()).marcarPublicados(anyList(), any());
+    }
+
+    private EventoOutbox evento(Long id, String destino, String payload) {
+        EventoOutbox evento = new EventoOutbox();
+        evento.setId(id);
+        evento.setDestino(destino);
+        evento.setTipoEvento("CREADO");
+        evento.setTipoAgregado(TipoReferencia.SERVICIO);
+        evento.setAgregadoId(id);
+        evento.setPayload(payload);
+        return evento;
+    }
+}
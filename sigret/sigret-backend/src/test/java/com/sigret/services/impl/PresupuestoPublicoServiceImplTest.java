@@ -0,0 +1,132 @@
+package com.sigret.services.impl;
+
+import com.sigret.config.PresupuestoPublicoProperties;
+import com.sigret.dtos.presupuesto.PresupuestoPublicoDto;
+import com.sigret.entities.Cliente;
+import com.sigret.entities.Equipo;
+import com.sigret.entities.Presupuesto;
+import com.sigret.entities.PresupuestoToken;
+import com.sigret.entities.Servicio;
+import com.sigret.enums.EstadoPresupuesto;
+import com.sigret.eventos.PresupuestoRechazado;
+import com.sigret.services.PresupuestoTokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresupuestoPublicoServiceImplTest {
+
+    @Mock
+    private PresupuestoTokenService tokenService;
+
+    @Spy
+    private PresupuestoPublicoProperties properties = new PresupuestoPublicoProperties();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private PresupuestoPublicoServiceImpl presupuestoPublicoService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        presupuestoPublicoService.inicializar();
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocacion ->
+                ((TransactionCallback<Object>) invocacion.getArgument(0)).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    @Test
+    void obtenerPorToken_segundaLectura_seAtiendeDesdeCache() {
+        when(tokenService.validarToken("tok-1")).thenReturn(crearToken(7L, LocalDateTime.now().plusDays(3)));
+
+        PresupuestoPublicoDto primera = presupuestoPublicoService.obtenerPorToken("tok-1");
+        PresupuestoPublicoDto segunda = presupuestoPublicoService.obtenerPorToken("tok-1");
+
+        assertSame(primera, segunda);
+        assertEquals("PRE-0007", segunda.getNumeroPresupuesto());
+        verify(tokenService, times(1)).validarToken("tok-1");
+        // El acierto no abre transacción (ni pide conexión)
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    void invalidar_descartaLasVistasDeTodosLosTokensDelPresupuesto() {
+        when(tokenService.validarToken("aprobar")).thenReturn(crearToken(7L, LocalDateTime.now().plusDays(3)));
+        when(tokenService.validarToken("rechazar")).thenReturn(crearToken(7L, LocalDateTime.now().plusDays(3)));
+        presupuestoPublicoService.obtenerPorToken("aprobar");
+        presupuestoPublicoService.obtenerPorToken("rechazar");
+
+        presupuestoPublicoService.invalidar(7L);
+        presupuestoPublicoService.obtenerPorToken("aprobar");
+        presupuestoPublicoService.obtenerPorToken("rechazar");
+
+        verify(tokenService, times(2)).validarToken("aprobar");
+        verify(tokenService, times(2)).validarToken("rechazar");
+    }
+
+    @Test
+    void obtenerPorToken_tokenVencidoEnCache_vuelveAValidar() {
+        when(tokenService.validarToken("tok-1"))
+                .thenReturn(crearToken(7L, LocalDateTime.now().minusSeconds(1)))
+                .thenThrow(new RuntimeException("Este token ha expirado"));
+        presupuestoPublicoService.obtenerPorToken("tok-1");
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> presupuestoPublicoService.obtenerPorToken("tok-1"));
+
+        assertEquals("Este token ha expirado", error.getMessage());
+    }
+
+    @Test
+    void consumir_eventoDelPresupuesto_invalidaLaVista() {
+        when(tokenService.validarToken("tok-1")).thenReturn(crearToken(7L, LocalDateTime.now().plusDays(3)));
+        presupuestoPublicoService.obtenerPorToken("tok-1");
+        PresupuestoRechazado evento = new PresupuestoRechazado(7L, 3L, "SRV-0003");
+
+        assertTrue(presupuestoPublicoService.admite(evento));
+        presupuestoPublicoService.consumir(evento);
+        presupuestoPublicoService.obtenerPorToken("tok-1");
+
+        verify(tokenService, times(2)).validarToken("tok-1");
+    }
+
+    private PresupuestoToken crearToken(Long presupuestoId, LocalDateTime expiracion) {
+        Servicio servicio = new Servicio();
+        servicio.setCliente(new Cliente());
+        servicio.setEquipo(new Equipo());
+        servicio.setFallaReportada("No enciende");
+
+        Presupuesto presupuesto = new Presupuesto();
+        presupuesto.setId(presupuestoId);
+        presupuesto.setNumeroPresupuesto(String.format("PRE-%04d", presupuestoId));
+        presupuesto.setServicio(servicio);
+        presupuesto.setEstado(EstadoPresupuesto.ENVIADO);
+        presupuesto.setFechaCreacion(LocalDateTime.now());
+        presupuesto.setFechaVencimiento(LocalDate.now().plusDays(3));
+
+        PresupuestoToken token = new PresupuestoToken();
+        token.setPresupuesto(presupuesto);
+        token.setFechaExpiracion(expiracion);
+        return token;
+    }
+}
@@ -4,14 +4,21 @@ import com.sigret.dtos.presupuesto.*;
 import com.sigret.entities.*;
 import com.sigret.enums.EstadoPresupuesto;
 import com.sigret.enums.EstadoServicio;
+import com.sigret.exception.ConflictoConcurrenciaException;
 import com.sigret.exception.PresupuestoNotFoundException;
+import com.sigret.enums.TipoConfirmacion;
+import com.sigret.eventos.EventoDominio;
+import com.sigret.eventos.PresupuestoAprobado;
+import com.sigret.eventos.PresupuestoReenviado;
+import com.sigret.eventos.ServicioEstadoCambiado;
 import com.sigret.repositories.*;
-import com.sigret.services.EmailService;
+import com.sigret.services.BusEventosDominio;
 import com.sigret.services.PresupuestoTokenService;
 import com.sigret.services.WebSocketNotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -26,10 +33,12 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,11 +63,14 @@ class PresupuestoServiceImplTest {
     private WebSocketNotificationService notificationService;
 
     @Mock
-    private EmailService emailService;
+    private BusEventosDominio busEventosDominio;
 
     @Mock
     private PresupuestoTokenService tokenService;
 
+    @Mock
+    private ReintentoConcurrencia reintentoConcurrencia;
+
     @InjectMocks
     private PresupuestoServiceImpl presupuestoService;
 
@@ -124,6 +136,9 @@ class PresupuestoServiceImplTest {
         presupuesto.setFechaCreacion(LocalDateTime.now());
         presupuesto.setDetallePresupuestos(new ArrayList<>());
         presupuesto.setOrdenesTrabajo(new ArrayList<>());
+
+        lenient().when(reintentoConcurrencia.ejecutar(anyString(), any()))
+                .thenAnswer(invocacion -> ((Supplier<?>) invocacion.getArgument(1)).get());
     }
 
     @Test
@@ -299,6 +314,22 @@ class PresupuestoServiceImplTest {
         verify(notificationService).notificarPresupuesto(any(PresupuestoEventDto.class));
     }
 
+    @Test
+    void aprobarPresupuesto_publicaEventosDeServicioYPresupuesto() {
+        servicio.setEstado(EstadoServicio.PRESUPUESTADO);
+        when(presupuestoRepository.findById(1L)).thenReturn(Optional.of(presupuesto));
+        when(presupuestoRepository.save(any(Presupuesto.class))).thenReturn(presupuesto);
+
+        presupuestoService.aprobarPresupuesto(1L, "ORIGINAL");
+
+        ArgumentCaptor<EventoDominio> captor = ArgumentCaptor.forClass(EventoDominio.class);
+        verify(busEventosDominio, times(2)).publicar(captor.capture());
+        ServicioEstadoCambiado cambio = (ServicioEstadoCambiado) captor.getAllValues().get(0);
+        assertEquals(EstadoServicio.PRESUPUESTADO, cambio.getEstadoAnterior());
+        assertEquals(EstadoServicio.APROBADO, cambio.getEstadoNuevo());
+        assertEquals(TipoConfirmacion.ORIGINAL, ((PresupuestoAprobado) captor.getAllValues().get(1)).getTipoConfirmado());
+    }
+
     @Test
     void aprobarPresupuesto_conTipoPrecioAlternativo_guardaTipoConfirmacion() {
         when(presupuestoRepository.findById(1L)).thenReturn(Optional.of(presupuesto));
@@ -323,6 +354,70 @@ class PresupuestoServiceImplTest {
         assertEquals(EstadoServicio.RECHAZADO, servicio.getEstado());
     }
 
+    @Test
+    void aprobarPresupuesto_seEjecutaConReintento() {
+        when(presupuestoRepository.findById(1L)).thenReturn(Optional.of(presupuesto));
+        when(presupuestoRepository.save(any(Presupuesto.class))).thenReturn(presupuesto);
+
+        presupuestoService.aprobarPresupuesto(1L, "ORIGINAL");
+
+        verify(reintentoConcurrencia).ejecutar(eq("aprobar-presupuesto"), any());
+    }
+
+    @Test
+    void aprobarPresupuesto_yaAprobado_respondeSinRepetirEfectos() {
+        presupuesto.setEstado(EstadoPresupuesto.APROBADO);
+        when(presupuestoRepository.findById(1L)).thenReturn(Optional.of(presupuesto));
+
+        PresupuestoResponseDto resultado = presupuestoService.aprobarPresupuesto(1L, "ORIGINAL");
+
+        assertEquals(EstadoPresupuesto.APROBADO, resultado.getEstado());
+        verify(presupuestoRepository, never()).save(any(Presupuesto.class));
+        verifyNoInteractions(busEventosDominio, notificationService);
+    }
+
+    @Test
+    void aprobarPresupuesto_yaRechazado_lanzaConflictoConcurrenciaException() {
+        presupuesto.setEstado(EstadoPresupuesto.RECHAZADO);
+        when(presupuestoRepository.findById(1L)).thenReturn(Optional.of(presupuesto));
+
+        assertThrows(ConflictoConcurrenciaException.class, () -> presupuestoService.aprobarPresupuesto(1L, "ORIGINAL"));
+
+        verify(presupuestoRepository, never()).save(any(Presupuesto.class));
+        verifyNoInteractions(busEventosDominio);
+    }
+
+    @Test
+    void rechazarPresupuesto_yaRechazado_respondeSinRepetirEfectos() {
+        presupuesto.setEstado(EstadoPresupuesto.RECHAZADO);
+        when(presupuestoRepository.findById(1L)).thenReturn(Optional.of(presupuesto));
+
+        presupuestoService.rechazarPresupuesto(1L);
+
+        verify(presupuestoRepository, never()).save(any(Presupuesto.class));
+        verifyNoInteractions(busEventosDominio, notificationService);
+    }
+
+    @Test
+    void rechazarPresupuesto_yaAprobado_lanzaConflictoConcurrenciaException() {
+        presupuesto.setEstado(EstadoPresupuesto.APROBADO);
+        when(presupuestoRepository.findById(1L)).thenReturn(Optional.of(presupuesto));
+
+        assertThrows(ConflictoConcurrenciaException.class, () -> presupuestoService.rechazarPresupuesto(1L));
+    }
+
+    @Test
+    void cambiarEstadoPresupuesto_mismoEstado_esIdempotente() {
+        presupuesto.setEstado(EstadoPresupuesto.LISTO);
+        when(presupuestoRepository.findById(1L)).thenReturn(Optional.of(presupuesto));
+
+        presupuestoService.cambiarEstadoPresupuesto(1L, EstadoPresupuesto.LISTO);
+
+        verify(presupuestoRepository, never()).save(any(Presupuesto.class));
+        verify(servicioRepository, never()).save(any(Servicio.class));
+        verifyNoInteractions(notificationService);
+    }
+
     @Test
     void asignarEmpleado_conDatosValidos_retornaPresupuestoConEmpleado() {
         when(presupuestoRepository.findById(1L)).thenReturn(Optional.of(presupuesto));
@@ -430,7 +525,12 @@ class PresupuestoServiceImplTest {
 
         assertNotNull(resultado);
         verify(tokenService).invalidarTokensAnteriores(1L);
-        verify(emailService).enviarPresupuestoACliente(eq(1L), eq(true), eq(false), eq("Mensaje de prueba"));
+        ArgumentCaptor<PresupuestoReenviado> captor = ArgumentCaptor.forClass(PresupuestoReenviado.class);
+        verify(busEventosDominio).publicar(captor.capture());
+        assertEquals(1L, captor.getValue().getPresupuestoId());
+        assertEquals(true, captor.getValue().getMostrarOriginal());
+        assertEquals(false, captor.getValue().getMostrarAlternativo());
+        assertEquals("Mensaje de prueba", captor.getValue().getMensajeAdicional());
     }
 
     @Test
@@ -4,6 +4,7 @@ import com.sigret.entities.Presupuesto;
 import com.sigret.entities.PresupuestoToken;
 import com.sigret.repositories.PresupuestoRepository;
 import com.sigret.repositories.PresupuestoTokenRepository;
+import com.sigret.services.RetencionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,7 +15,6 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +30,9 @@ class PresupuestoTokenServiceImplTest {
     @Mock
     private PresupuestoRepository presupuestoRepository;
 
+    @Mock
+    private RetencionService retencionService;
+
     @InjectMocks
     private PresupuestoTokenServiceImpl tokenService;
 
@@ -154,24 +157,10 @@ class PresupuestoTokenServiceImplTest {
     }
 
     @Test
-    void limpiarTokensExpirados_conTokensExpirados_eliminaTokens() {
-        PresupuestoToken tokenExpirado = new PresupuestoToken();
-        tokenExpirado.setId(1L);
-        tokenExpirado.setFechaExpiracion(LocalDateTime.now().minusDays(1));
-
-        when(tokenRepository.findExpiredTokens(any(LocalDateTime.class))).thenReturn(List.of(tokenExpirado));
-
-        tokenService.limpiarTokensExpirados();
-
-        verify(tokenRepository).deleteAll(List.of(tokenExpirado));
-    }
-
-    @Test
-    void limpiarTokensExpirados_sinTokensExpirados_noEliminaNada() {
-        when(tokenRepository.findExpiredTokens(any(LocalDateTime.class))).thenReturn(List.of());
-
+    void limpiarTokensExpirados_delegaEnLaPoliticaDeRetencion() {
         tokenService.limpiarTokensExpirados();
 
+        verify(retencionService).purgar(RetencionService.PRESUPUESTO_TOKENS_EXPIRADOS);
         verify(tokenRepository, never()).deleteAll(any());
     }
 
@@ -0,0 +1,108 @@
+package com.sigret.services.impl;
+
+import com.sigret.config.ConcurrenciaProperties;
+import com.sigret.entities.Presupuesto;
+import com.sigret.exception.ConflictoConcurrenciaException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReintentoConcurrenciaTest {
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ConcurrenciaProperties properties = new ConcurrenciaProperties();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ReintentoConcurrencia reintentoConcurrencia;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEsperaBaseMs(0L);
+    }
+
+    @Test
+    void ejecutar_conflictoTransitorio_reintentaEnOtraTransaccion() {
+        ejecutarTransaccion();
+        AtomicInteger intentos = new AtomicInteger();
+
+        String resultado = reintentoConcurrencia.ejecutar("aprobar-presupuesto", () -> {
+            if (intentos.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException(Presupuesto.class, 1L);
+            }
+            return "aprobado";
+        });
+
+        assertEquals("aprobado", resultado);
+        verify(transactionTemplate, times(2)).execute(any());
+        assertEquals(1.0, meterRegistry.counter("sigret.concurrencia.reintentos", "operacion", "aprobar-presupuesto").count());
+    }
+
+    @Test
+    void ejecutar_conflictoPersistente_lanzaConflictoConcurrenciaException() {
+        ejecutarTransaccion();
+
+        ConflictoConcurrenciaException e = assertThrows(ConflictoConcurrenciaException.class,
+                () -> reintentoConcurrencia.ejecutar("rechazar-presupuesto", () -> {
+                    throw new ObjectOptimisticLockingFailureException(Presupuesto.class, 1L);
+                }));
+
+        assertInstanceOf(ObjectOptimisticLockingFailureException.class, e.getCause());
+        verify(transactionTemplate, times(3)).execute(any());
+        assertEquals(1.0, meterRegistry.counter("sigret.concurrencia.conflictos", "operacion", "rechazar-presupuesto").count());
+    }
+
+    @Test
+    void ejecutar_otraExcepcion_noReintenta() {
+        ejecutarTransaccion();
+
+        assertThrows(IllegalStateException.class, () -> reintentoConcurrencia.ejecutar("cambiar-estado-presupuesto", () -> {
+            throw new IllegalStateException("Transición de estado inválida");
+        }));
+
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    void ejecutar_dentroDeUnaTransaccion_noAbreOtraNiReintenta() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(ObjectOptimisticLockingFailureException.class, () -> reintentoConcurrencia.ejecutar("aprobar-presupuesto", () -> {
+                throw new ObjectOptimisticLockingFailureException(Presupuesto.class, 1L);
+            }));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void ejecutarTransaccion() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocacion ->
+                ((TransactionCallback<Object>) invocacion.getArgument(0)).doInTransaction(mock(TransactionStatus.class)));
+    }
+}
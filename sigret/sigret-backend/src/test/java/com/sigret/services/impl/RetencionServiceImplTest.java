@@ -0,0 +1,95 @@
+package com.sigret.services.impl;
+
+import com.sigret.config.RetencionProperties;
+import com.sigret.services.RetencionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetencionServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private RetencionProperties properties = new RetencionProperties();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private RetencionServiceImpl retencionService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setTamanioLote(100);
+        properties.setPausaEntreLotesMs(0L);
+    }
+
+    @Test
+    void purgar_borraEnLotesHastaQueUnoVieneIncompleto() {
+        when(jdbcTemplate.update(contains("DELETE FROM notificaciones WHERE leida = true"), any(Timestamp.class), eq(100)))
+                .thenReturn(100, 100, 37);
+
+        long borradas = retencionService.purgar(RetencionService.NOTIFICACIONES_LEIDAS);
+
+        assertEquals(237, borradas);
+        verify(jdbcTemplate, times(3)).update(contains("ORDER BY id_notificacion LIMIT ?"), any(Timestamp.class), eq(100));
+        assertEquals(237.0, meterRegistry.counter("sigret.retencion.filas", "politica", RetencionService.NOTIFICACIONES_LEIDAS).count());
+        assertEquals(1, meterRegistry.timer("sigret.retencion.duracion", "politica", RetencionService.NOTIFICACIONES_LEIDAS).count());
+    }
+
+    @Test
+    void purgar_respetaElMaximoDeLotesPorPasada() {
+        properties.setMaximoLotesPorPasada(2);
+        when(jdbcTemplate.update(anyString(), any(Timestamp.class), eq(100))).thenReturn(100);
+
+        assertEquals(200, retencionService.purgar(RetencionService.NOTIFICACIONES));
+
+        verify(jdbcTemplate, times(2)).update(anyString(), any(Timestamp.class), eq(100));
+    }
+
+    @Test
+    void purgarTodo_politicaDeshabilitada_noLaEjecuta() {
+        RetencionProperties.Politica deshabilitada = new RetencionProperties.Politica();
+        deshabilitada.setHabilitada(false);
+        properties.getPoliticas().put(RetencionService.PRESUPUESTO_TOKENS_USADOS, deshabilitada);
+        when(jdbcTemplate.update(anyString(), any(Timestamp.class), eq(100))).thenReturn(0);
+
+        Map<String, Long> resultado = retencionService.purgarTodo();
+
+        assertEquals(4, resultado.size());
+        assertFalse(resultado.containsKey(RetencionService.PRESUPUESTO_TOKENS_USADOS));
+        verify(jdbcTemplate, never()).update(contains("usado = true"), any(Timestamp.class), anyInt());
+    }
+
+    @Test
+    void purgar_eventosOutboxPublicados_soloBorraLosYaRelevados() {
+        when(jdbcTemplate.update(anyString(), any(Timestamp.class), eq(100))).thenReturn(12);
+
+        assertEquals(12, retencionService.purgar(RetencionService.EVENTOS_OUTBOX_PUBLICADOS));
+
+        verify(jdbcTemplate).update(eq("DELETE FROM eventos_outbox WHERE publicado = true AND fecha_publicacion < ? " +
+                "ORDER BY id_evento LIMIT ?"), any(Timestamp.class), eq(100));
+    }
+
+    @Test
+    void purgar_politicaDesconocida_lanzaIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> retencionService.purgar("clientes"));
+    }
+}
@@ -5,8 +5,11 @@ import com.sigret.entities.*;
 import com.sigret.enums.EstadoOrdenTrabajo;
 import com.sigret.enums.EstadoServicio;
 import com.sigret.enums.TipoIngreso;
+import com.sigret.eventos.ServicioEstadoCambiado;
 import com.sigret.exception.ServicioNotFoundException;
 import com.sigret.repositories.*;
+import com.sigret.services.ArchivoServicioService;
+import com.sigret.services.BusEventosDominio;
 import com.sigret.services.PresupuestoService;
 import com.sigret.services.WebSocketNotificationService;
 import org.junit.jupiter.api.BeforeEach;
@@ -59,6 +62,12 @@ class ServicioServiceImplTest {
     @Mock
     private PresupuestoService presupuestoService;
 
+    @Mock
+    private BusEventosDominio busEventosDominio;
+
+    @Mock
+    private ArchivoServicioService archivoServicioService;
+
     @InjectMocks
     private ServicioServiceImpl servicioService;
 
@@ -267,6 +276,19 @@ class ServicioServiceImplTest {
         assertThrows(ServicioNotFoundException.class, () -> servicioService.obtenerServicioPorNumero("INEXISTENTE"));
     }
 
+    @Test
+    void obtenerServicioPorNumero_conServicioArchivado_loRestauraYLoDevuelve() {
+        when(servicioRepository.findByNumeroServicio("SRV2400001"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(servicio));
+        when(archivoServicioService.restaurarPorNumero("SRV2400001")).thenReturn(true);
+
+        ServicioResponseDto resultado = servicioService.obtenerServicioPorNumero("SRV2400001");
+
+        assertNotNull(resultado);
+        verify(servicioRepository, times(2)).findByNumeroServicio("SRV2400001");
+    }
+
     @Test
     void actualizarServicio_conDatosValidos_retornaServicioActualizado() {
         ServicioUpdateDto updateDto = new ServicioUpdateDto();
@@ -301,6 +323,7 @@ class ServicioServiceImplTest {
         assertEquals(EstadoServicio.TERMINADO, servicio.getEstado());
         assertNotNull(servicio.getFechaDevolucionReal());
         verify(notificationService).notificarCambioEstado(any(ServicioListDto.class), eq(EstadoServicio.RECIBIDO));
+        verify(busEventosDominio).publicar(any(ServicioEstadoCambiado.class));
     }
 
     @Test
@@ -0,0 +1,173 @@
+package com.sigret.services.impl;
+
+import com.sigret.dtos.contacto.ContactoCreateDto;
+import com.sigret.dtos.direccion.DireccionCreateDto;
+import com.sigret.entities.Contacto;
+import com.sigret.entities.Direccion;
+import com.sigret.entities.Persona;
+import com.sigret.entities.TipoContacto;
+import com.sigret.exception.TipoContactoNotFoundException;
+import com.sigret.repositories.ContactoRepository;
+import com.sigret.repositories.DireccionRepository;
+import com.sigret.repositories.TipoContactoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SincronizadorDatosPersonaTest {
+
+    @Mock
+    private ContactoRepository contactoRepository;
+
+    @Mock
+    private DireccionRepository direccionRepository;
+
+    @Mock
+    private TipoContactoRepository tipoContactoRepository;
+
+    @InjectMocks
+    private SincronizadorDatosPersona sincronizador;
+
+    private Persona persona;
+    private TipoContacto email;
+    private TipoContacto telefono;
+
+    @BeforeEach
+    void setUp() {
+        persona = new Persona();
+        persona.setId(1L);
+
+        email = new TipoContacto();
+        email.setId(1L);
+        email.setDescripcion("Email");
+
+        telefono = new TipoContacto();
+        telefono.setId(2L);
+        telefono.setDescripcion("Teléfono");
+    }
+
+    @Test
+    void sincronizarContactos_sinCambios_noEscribeNada() {
+        when(contactoRepository.findByPersonaId(1L)).thenReturn(List.of(contacto(10L, email, "juan@mail.com")));
+        when(tipoContactoRepository.findAllById(List.of(1L))).thenReturn(List.of(email));
+
+        sincronizador.sincronizarContactos(persona, List.of(contactoDto(null, 1L, " juan@mail.com ")));
+
+        verify(contactoRepository, never()).deleteAllInBatch(anyList());
+        verify(contactoRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void sincronizarContactos_conCambios_actualizaInsertaYBorraSoloLoNecesario() {
+        Contacto aModificar = contacto(10L, email, "viejo@mail.com");
+        Contacto sinCambios = contacto(11L, telefono, "123");
+        Contacto aBorrar = contacto(12L, telefono, "456");
+        when(contactoRepository.findByPersonaId(1L)).thenReturn(List.of(aModificar, sinCambios, aBorrar));
+        when(tipoContactoRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(email, telefono));
+
+        sincronizador.sincronizarContactos(persona, List.of(
+                contactoDto(10L, 1L, "nuevo@mail.com"),
+                contactoDto(null, 2L, "123"),
+                contactoDto(null, 2L, "789")));
+
+        verify(contactoRepository).deleteAllInBatch(List.of(aBorrar));
+        verify(contactoRepository).saveAll(argThat(guardados -> {
+            List<Contacto> lista = (List<Contacto>) guardados;
+            return lista.size() == 2
+                    && lista.get(0) == aModificar
+                    && lista.get(1).getId() == null
+                    && "789".equals(lista.get(1).getDescripcion())
+                    && lista.get(1).getPersona() == persona;
+        }));
+        assertEquals("nuevo@mail.com", aModificar.getDescripcion());
+    }
+
+    @Test
+    void sincronizarContactos_conTipoInexistente_lanzaTipoContactoNotFoundException() {
+        when(contactoRepository.findByPersonaId(1L)).thenReturn(List.of());
+        when(tipoContactoRepository.findAllById(List.of(99L))).thenReturn(List.of());
+
+        List<ContactoCreateDto> contactos = List.of(contactoDto(null, 99L, "x"));
+
+        assertThrows(TipoContactoNotFoundException.class, () -> sincronizador.sincronizarContactos(persona, contactos));
+        verify(contactoRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void sincronizarDirecciones_cambioDePrincipal_actualizaSoloLasDosFilas() {
+        Direccion casa = direccion(20L, "Av. Siempreviva", "742", true);
+        Direccion trabajo = direccion(21L, "Calle Falsa", "123", false);
+        when(direccionRepository.findByPersonaId(1L)).thenReturn(List.of(casa, trabajo));
+
+        sincronizador.sincronizarDirecciones(persona, List.of(
+                direccionDto(20L, "Av. Siempreviva", "742", false),
+                direccionDto(null, "calle falsa", "123", true)));
+
+        assertFalse(casa.getEsPrincipal());
+        assertTrue(trabajo.getEsPrincipal());
+        verify(direccionRepository).saveAllAndFlush(List.of(casa, trabajo));
+        verify(direccionRepository, never()).deleteAllInBatch(anyList());
+        verify(direccionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void sincronizarDirecciones_direccionNueva_borraLaQuitadaEInsertaLaNueva() {
+        Direccion quitada = direccion(20L, "Av. Siempreviva", "742", true);
+        when(direccionRepository.findByPersonaId(1L)).thenReturn(List.of(quitada));
+
+        sincronizador.sincronizarDirecciones(persona, List.of(direccionDto(null, "Calle Falsa", "123", true)));
+
+        verify(direccionRepository).deleteAllInBatch(List.of(quitada));
+        verify(direccionRepository).saveAll(argThat(guardadas -> {
+            Direccion nueva = ((List<Direccion>) guardadas).get(0);
+            return nueva.getId() == null && nueva.getPersona() == persona && nueva.getEsPrincipal();
+        }));
+        verify(direccionRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    private Contacto contacto(Long id, TipoContacto tipo, String descripcion) {
+        Contacto contacto = new Contacto();
+        contacto.setId(id);
+        contacto.setPersona(persona);
+        contacto.setTipoContacto(tipo);
+        contacto.setDescripcion(descripcion);
+        return contacto;
+    }
+
+    private ContactoCreateDto contactoDto(Long id, Long tipoContactoId, String descripcion) {
+        ContactoCreateDto dto = new ContactoCreateDto();
+        dto.setId(id);
+        dto.setTipoContactoId(tipoContactoId);
+        dto.setDescripcion(descripcion);
+        return dto;
+    }
+
+    private Direccion direccion(Long id, String calle, String numero, boolean principal) {
+        Direccion direccion = new Direccion();
+        direccion.setId(id);
+        direccion.setPersona(persona);
+        direccion.setCalle(calle);
+        direccion.setNumero(numero);
+        direccion.setEsPrincipal(principal);
+        return direccion;
+    }
+
+    private DireccionCreateDto direccionDto(Long id, String calle, String numero, boolean principal) {
+        DireccionCreateDto dto = new DireccionCreateDto();
+        dto.setId(id);
+        dto.setCalle(calle);
+        dto.setNumero(numero);
+        dto.setEsPrincipal(principal);
+        return dto;
+    }
+}
@@ -1,7 +1,7 @@
 import { Component, OnInit, OnDestroy, inject, signal, computed } from '@angular/core';
 import { CommonModule, Location } from '@angular/common';
 import { Router } from '@angular/router';
-import { Subscription } from 'rxjs';
+import { Subscription, filter } from 'rxjs';
 import { CdkDragDrop, CdkDrag, CdkDropList, CdkDropListGroup, transferArrayItem } from '@angular/cdk/drag-drop';
 import { PresupuestoService } from '../../services/presupuesto.service';
 import { WebSocketService } from '../../services/websocket.service';
@@ -44,6 +44,7 @@ export class BudgetBoardComponent implements OnInit, OnDestroy {
   private readonly location = inject(Location);
 
   private wsSubscription?: Subscription;
+  private resyncSubscription?: Subscription;
 
   // Signals
   readonly loading = signal<boolean>(true);
@@ -101,6 +102,7 @@ export class BudgetBoardComponent implements OnInit, OnDestroy {
 
   ngOnDestroy(): void {
     this.wsSubscription?.unsubscribe();
+    this.resyncSubscription?.unsubscribe();
   }
 
   loadBudgets(): void {
@@ -155,6 +157,11 @@ export class BudgetBoardComponent implements OnInit, OnDestroy {
     // Limpiar cualquier evento anterior para evitar mostrar notificaciones viejas al entrar
     this.wsService.clearLastPresupuestoEvent();
 
+    // El servidor ya no tiene los eventos perdidos durante la desconexión: recargar todo
+    this.resyncSubscription = this.wsService.resincronizar$
+      .pipe(filter(topic => topic === '/topic/presupuestos'))
+      .subscribe(() => this.loadBudgets());
+
     this.wsSubscription = this.wsService.presupuestoEvent$.subscribe({
       next: (event: PresupuestoEvent | null) => {
         if (event) {
@@ -380,6 +380,7 @@ export class ClientManagementComponent implements OnInit, OnDestroy {
         this.initialAddresses.set(JSON.parse(JSON.stringify(currentAddresses))); // Deep copy for comparison
 
         const currentContactos = (clientDetails.contactos || []).map(c => ({
+          id: c.id,
           tipoContactoId: c.tipoContactoId || this.getTipoContactoIdByName(c.tipoContacto),
           descripcion: c.descripcion
         }));
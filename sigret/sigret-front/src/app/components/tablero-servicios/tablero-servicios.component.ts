@@ -1,7 +1,7 @@
 import { Component, OnInit, OnDestroy, inject, signal, computed } from '@angular/core';
 import { CommonModule, Location } from '@angular/common';
 import { Router } from '@angular/router';
-import { Subscription } from 'rxjs';
+import { Subscription, filter } from 'rxjs';
 import { CdkDragDrop, CdkDrag, CdkDropList, CdkDropListGroup, moveItemInArray, transferArrayItem } from '@angular/cdk/drag-drop';
 import { ServicioService } from '../../services/servicio.service';
 import { WebSocketService } from '../../services/websocket.service';
@@ -44,6 +44,7 @@ export class TableroServiciosComponent implements OnInit, OnDestroy {
   private readonly location = inject(Location);
 
   private wsSubscription?: Subscription;
+  private resyncSubscription?: Subscription;
 
   // Signals
   readonly loading = signal<boolean>(true);
@@ -98,6 +99,7 @@ export class TableroServiciosComponent implements OnInit, OnDestroy {
 
   ngOnDestroy(): void {
     this.wsSubscription?.unsubscribe();
+    this.resyncSubscription?.unsubscribe();
     this.wsService.disconnect();
   }
 
@@ -160,6 +162,11 @@ export class TableroServiciosComponent implements OnInit, OnDestroy {
   private conectarWebSocket(): void {
     this.wsService.connect();
 
+    // El servidor ya no tiene los eventos perdidos durante la desconexión: recargar todo
+    this.resyncSubscription = this.wsService.resincronizar$
+      .pipe(filter(topic => topic === '/topic/servicios'))
+      .subscribe(() => this.cargarServicios());
+
     this.wsSubscription = this.wsService.servicioEvent$.subscribe({
       next: (event: ServicioEvent | null) => {
         if (event) {
@@ -1,7 +1,7 @@
 import { Component, OnInit, OnDestroy, inject, signal, computed } from '@angular/core';
 import { CommonModule, Location } from '@angular/common';
 import { Router } from '@angular/router';
-import { Observable, Subscription } from 'rxjs';
+import { Observable, Subscription, filter } from 'rxjs';
 import { CdkDragDrop, CdkDrag, CdkDropList, CdkDropListGroup, transferArrayItem } from '@angular/cdk/drag-drop';
 import { OrdenTrabajoService } from '../../services/orden-trabajo.service';
 import { WebSocketService } from '../../services/websocket.service';
@@ -44,6 +44,7 @@ export class WorkOrderBoardComponent implements OnInit, OnDestroy {
   private readonly location = inject(Location);
 
   private wsSubscription?: Subscription;
+  private resyncSubscription?: Subscription;
 
   // Signals
   readonly loading = signal<boolean>(true);
@@ -89,6 +90,7 @@ export class WorkOrderBoardComponent implements OnInit, OnDestroy {
 
   ngOnDestroy(): void {
     this.wsSubscription?.unsubscribe();
+    this.resyncSubscription?.unsubscribe();
   }
 
   loadOrders(): void {
@@ -137,6 +139,11 @@ export class WorkOrderBoardComponent implements OnInit, OnDestroy {
   private connectWebSocket(): void {
     this.wsService.connect();
 
+    // El servidor ya no tiene los eventos perdidos durante la desconexión: recargar todo
+    this.resyncSubscription = this.wsService.resincronizar$
+      .pipe(filter(topic => topic === '/topic/ordenes-trabajo'))
+      .subscribe(() => this.loadOrders());
+
     this.wsSubscription = this.wsService.ordenTrabajoEvent$.subscribe({
       next: (event: OrdenTrabajoEvent | null) => {
         if (event) {
@@ -16,6 +16,7 @@ export interface Contacto {
 
 // DTO para crear/actualizar contacto
 export interface ContactoCreateDto {
+  id?: number; // Contacto existente (al editar un cliente/empleado)
   tipoContactoId: number;
   descripcion: string;
 }
@@ -11,3 +11,9 @@ export interface Notificacion {
   icono?: string;
   severidad?: string;
 }
+
+export interface NotificacionPush {
+  tipo: 'NOTIFICACION';
+  notificacion: Notificacion;
+  noLeidas: number;
+}
@@ -1,9 +1,11 @@
-import { Injectable, inject, signal } from '@angular/core';
+import { Injectable, effect, inject, signal } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable, tap } from 'rxjs';
 import { Notificacion, TipoReferencia } from '../models/notificacion.model';
 import { WebSocketService } from './websocket.service';
 
+const MAX_RECIENTES = 20;
+
 @Injectable({
   providedIn: 'root'
 })
@@ -17,9 +19,19 @@ export class NotificacionService {
   readonly isLoading = signal<boolean>(false);
 
   constructor() {
-    this.wsService.notificacionEvent$.subscribe(hasNew => {
-      if (hasNew) {
+    // El servidor envía la notificación y el contador: no hace falta consultar la API en cada evento
+    this.wsService.notificacionEvent$.subscribe(push => {
+      this.notificaciones.update(notifs =>
+        [push.notificacion, ...notifs.filter(n => n.id !== push.notificacion.id)].slice(0, MAX_RECIENTES)
+      );
+      this.unreadCount.set(push.noLeidas);
+    });
+
+    // Al reconectar se resincroniza por REST lo que pudo perderse mientras no había conexión
+    effect(() => {
+      if (this.wsService.isConnected()) {
         this.loadUnreadCount();
+        this.loadRecientes().subscribe();
       }
     });
   }
@@ -1,12 +1,20 @@
 import { Injectable, inject, signal } from '@angular/core';
 import { Client, IMessage } from '@stomp/stompjs';
 import SockJS from 'sockjs-client';
-import { BehaviorSubject, Observable } from 'rxjs';
+import { BehaviorSubject, Observable, Subject } from 'rxjs';
 import { ServicioEvent } from '../models/servicio.model';
 import { PresupuestoEvent } from '../models/presupuesto.model';
 import { OrdenTrabajoEvent } from '../models/orden-trabajo.model';
+import { NotificacionPush } from '../models/notificacion.model';
 import { AuthService } from './auth.service';
 
+// Filtros evaluados en el servidor: solo llegan los eventos que coinciden (varios valores = cualquiera)
+export interface FiltrosSuscripcion {
+  estado?: string[];
+  empleadoId?: number[];
+  clienteId?: number[];
+}
+
 @Injectable({
   providedIn: 'root'
 })
@@ -17,13 +25,22 @@ export class WebSocketService {
   private servicioEventSubject = new BehaviorSubject<ServicioEvent | null>(null);
   private presupuestoEventSubject = new BehaviorSubject<PresupuestoEvent | null>(null);
   private ordenTrabajoEventSubject = new BehaviorSubject<OrdenTrabajoEvent | null>(null);
-  private notificacionEventSubject = new BehaviorSubject<boolean>(false);
+  private notificacionEventSubject = new Subject<NotificacionPush>();
 
   // Observables públicos
   public servicioEvent$: Observable<ServicioEvent | null> = this.servicioEventSubject.asObservable();
   public presupuestoEvent$: Observable<PresupuestoEvent | null> = this.presupuestoEventSubject.asObservable();
   public ordenTrabajoEvent$: Observable<OrdenTrabajoEvent | null> = this.ordenTrabajoEventSubject.asObservable();
-  public notificacionEvent$: Observable<boolean> = this.notificacionEventSubject.asObservable();
+  public notificacionEvent$: Observable<NotificacionPush> = this.notificacionEventSubject.asObservable();
+
+  // Topic cuyo historial no pudo reproducirse tras una reconexión: hay que recargar por REST
+  private resincronizarSubject = new Subject<string>();
+  public resincronizar$: Observable<string> = this.resincronizarSubject.asObservable();
+
+  // Última secuencia recibida por topic, para pedir al reconectar solo lo que se perdió
+  private readonly ultimaSecuencia = new Map<string, number>();
+
+  private readonly filtros = new Map<string, FiltrosSuscripcion>();
 
   public isConnected = signal<boolean>(false);
 
@@ -33,7 +50,10 @@ export class WebSocketService {
 
   private initializeClient(): void {
     this.client = new Client({
-      webSocketFactory: () => new SockJS('http://localhost:8080/ws-servicios'),
+      // WebSocket nativo cuando el navegador lo soporta (no requiere afinidad de sesión); SockJS como respaldo
+      webSocketFactory: () => 'WebSocket' in window
+        ? new WebSocket('ws://localhost:8080/ws')
+        : new SockJS('http://localhost:8080/ws-servicios'),
       debug: (str) => { console.log('STOMP Debug:', str); },
       reconnectDelay: 5000,
       heartbeatIncoming: 4000,
@@ -48,39 +68,49 @@ export class WebSocketService {
       // Suscribirse a servicios
       this.client?.subscribe('/topic/servicios', (message: IMessage) => {
         try {
-          const event: ServicioEvent = JSON.parse(message.body);
-          console.log('📨 Evento Servicio recibido:', event);
-          this.servicioEventSubject.next(event);
+          if (!this.esNuevo('/topic/servicios', message)) return;
+          this.desagrupar<ServicioEvent>(message).forEach(event => {
+            console.log('📨 Evento Servicio recibido:', event);
+            this.servicioEventSubject.next(event);
+          });
         } catch (error) {
           console.error('Error parsing Servicio WebSocket message:', error);
         }
-      });
+      }, this.getSubscribeHeaders('/topic/servicios'));
 
       // Suscribirse a presupuestos
       this.client?.subscribe('/topic/presupuestos', (message: IMessage) => {
         try {
-          const event: PresupuestoEvent = JSON.parse(message.body);
-          console.log('📨 Evento Presupuesto recibido:', event);
-          this.presupuestoEventSubject.next(event);
+          if (!this.esNuevo('/topic/presupuestos', message)) return;
+          this.desagrupar<PresupuestoEvent>(message).forEach(event => {
+            console.log('📨 Evento Presupuesto recibido:', event);
+            this.presupuestoEventSubject.next(event);
+          });
         } catch (error) {
           console.error('Error parsing Presupuesto WebSocket message:', error);
         }
-      });
+      }, this.getSubscribeHeaders('/topic/presupuestos'));
 
       // Suscribirse a órdenes de trabajo
       this.client?.subscribe('/topic/ordenes-trabajo', (message: IMessage) => {
         try {
-          const event: OrdenTrabajoEvent = JSON.parse(message.body);
-          console.log('📨 Evento OrdenTrabajo recibido:', event);
-          this.ordenTrabajoEventSubject.next(event);
+          if (!this.esNuevo('/topic/ordenes-trabajo', message)) return;
+          this.desagrupar<OrdenTrabajoEvent>(message).forEach(event => {
+            console.log('📨 Evento OrdenTrabajo recibido:', event);
+            this.ordenTrabajoEventSubject.next(event);
+          });
         } catch (error) {
           console.error('Error parsing OrdenTrabajo WebSocket message:', error);
         }
-      });
+      }, this.getSubscribeHeaders('/topic/ordenes-trabajo'));
 
-      // Suscribirse a notificaciones
-      this.client?.subscribe('/topic/notificaciones', () => {
-        this.notificacionEventSubject.next(true);
+      // Suscribirse a las notificaciones propias (notificación + contador de no leídas)
+      this.client?.subscribe('/user/queue/notificaciones', (message: IMessage) => {
+        try {
+          this.desagrupar<NotificacionPush>(message).forEach(push => this.notificacionEventSubject.next(push));
+        } catch (error) {
+          console.error('Error parsing Notificacion WebSocket message:', error);
+        }
       });
     };
 
@@ -96,6 +126,54 @@ export class WebSocketService {
     };
   }
 
+  // Descarta frames repetidos del replay y avisa cuando el servidor pide recargar el topic
+  private esNuevo(topic: string, message: IMessage): boolean {
+    const seq = message.headers['seq'] ? Number(message.headers['seq']) : null;
+    if (seq === null) {
+      if (JSON.parse(message.body)?.tipo === 'RESINCRONIZAR') {
+        this.resincronizarSubject.next(topic);
+        return false;
+      }
+      return true;
+    }
+    if (seq <= (this.ultimaSecuencia.get(topic) ?? 0)) {
+      return false;
+    }
+    this.ultimaSecuencia.set(topic, seq);
+    return true;
+  }
+
+  private getSubscribeHeaders(topic: string): Record<string, string> {
+    const headers: Record<string, string> = {};
+    const seq = this.ultimaSecuencia.get(topic);
+    if (seq !== undefined) {
+      headers['desde-seq'] = String(seq);
+    }
+    const filtros = this.filtros.get(topic);
+    if (filtros?.estado?.length) headers['filtro-estado'] = filtros.estado.join(',');
+    if (filtros?.empleadoId?.length) headers['filtro-empleado-id'] = filtros.empleadoId.join(',');
+    if (filtros?.clienteId?.length) headers['filtro-cliente-id'] = filtros.clienteId.join(',');
+    return headers;
+  }
+
+  // Se aplican en la próxima suscripción: llamar antes de connect() o seguido de reconnect()
+  setFiltros(topic: string, filtros: FiltrosSuscripcion | null): void {
+    if (filtros) {
+      this.filtros.set(topic, filtros);
+    } else {
+      this.filtros.delete(topic);
+    }
+  }
+
+  // El servidor agrupa los eventos de una misma ventana en un frame {"tipo":"LOTE","eventos":[...]}
+  private desagrupar<T>(message: IMessage): T[] {
+    const body = JSON.parse(message.body);
+    if (body?.tipo === 'LOTE' && Array.isArray(body.eventos)) {
+      return body.eventos as T[];
+    }
+    return [body as T];
+  }
+
   private getJwtToken(): string | null {
     return this.authService.getToken();
   }